@@ -2,33 +2,50 @@ package BackEnd;
 
 import BackEnd.model.User;
 import BackEnd.repository.UserRepository;
-import org.springframework.boot.CommandLineRunner;
+import BackEnd.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class BackEndApplication {
 
+	private static final Logger log = LoggerFactory.getLogger(BackEndApplication.class);
+
 	public static void main(String[] args) {
 		SpringApplication.run(BackEndApplication.class, args);
 	}
 
+	// Seeds in the background once the app is ready, so startup never waits on the users table
 	@Bean
-	CommandLineRunner seedAdmin(UserRepository userRepository) {
-		return args -> {
-			userRepository.findByEmail("admin@example.com").ifPresentOrElse(
-				u -> {},
-				() -> {
-					User admin = new User();
-					admin.setFullName("Administrator");
-					admin.setEmail("admin@example.com");
-					admin.setPassword("admin123"); // In production, hash this
-					admin.setRole("admin");
-					admin.setStatus("active");
-					userRepository.save(admin);
-				}
-			);
-		};
+	ApplicationListener<ApplicationReadyEvent> seedAdmin(UserRepository userRepository) {
+		return event -> Thread.ofVirtual().name("seed-admin").start(() -> {
+			try {
+				// Runs without a clinic (root tenant); the admin belongs to the default one
+				TenantContext.runAs(TenantContext.DEFAULT_TENANT, () -> createAdminIfMissing(userRepository));
+			} catch (RuntimeException e) {
+				// Retried on the next start
+				log.warn("Could not seed the admin account: {}", e.getMessage());
+			}
+		});
+	}
+
+	private static void createAdminIfMissing(UserRepository userRepository) {
+		userRepository.findByEmail("admin@example.com").ifPresentOrElse(
+			u -> {},
+			() -> {
+				User admin = new User();
+				admin.setFullName("Administrator");
+				admin.setEmail("admin@example.com");
+				admin.setPassword("admin123"); // In production, hash this
+				admin.setRole("admin");
+				admin.setStatus("active");
+				userRepository.save(admin);
+			}
+		);
 	}
 }
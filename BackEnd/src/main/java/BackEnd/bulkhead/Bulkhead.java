@@ -0,0 +1,31 @@
+package BackEnd.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method inside a named bulkhead: at most
+ * {@code healthhub.bulkhead.limits.<name>.max-concurrent} calls at once, callers
+ * beyond that wait up to {@code max-wait-ms} and are then rejected with
+ * {@link BackEnd.exception.BulkheadFullException}. A call made from inside
+ * another bulkhead runs under the outer one's permit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /** Appointment booking, signup and login */
+    String BOOKING = "booking";
+    /** Single-patient and single-doctor reads */
+    String CLINICAL_READS = "clinical-reads";
+    /** Unbounded lists, exports and bulk updates */
+    String BULK = "bulk";
+    /** Scheduled jobs and index rebuilds */
+    String JOBS = "jobs";
+
+    String value();
+}
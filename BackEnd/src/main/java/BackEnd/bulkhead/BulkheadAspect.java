@@ -0,0 +1,46 @@
+package BackEnd.bulkhead;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link Bulkhead}. Ordered ahead of the transaction interceptor so
+ * a caller waits for its permit before a transaction, and with it a
+ * connection, is opened, but behind Spring's ExposeInvocationInterceptor
+ * (HIGHEST_PRECEDENCE + 1), which the annotation argument binding needs.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class BulkheadAspect {
+
+    // Bulkhead the current thread already holds a permit for
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final BulkheadRegistry registry;
+
+    public BulkheadAspect(BulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@annotation(bulkhead)")
+    public Object around(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        if (CURRENT.get() != null) {
+            // Nested calls run under the outer permit; taking a second one could deadlock a full bulkhead
+            return joinPoint.proceed();
+        }
+        BulkheadRegistry.Compartment compartment = registry.get(bulkhead.value());
+        compartment.acquire();
+        CURRENT.set(compartment.getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+            compartment.release();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package BackEnd.bulkhead;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bound from {@code healthhub.bulkhead.limits.<name>.*}. Size the limits so they
+ * add up to no more than the connection pool: then no bulkhead ever waits
+ * for a connection another one is holding.
+ */
+public class BulkheadProperties {
+
+    private Map<String, Limits> limits = new LinkedHashMap<>();
+
+    public static class Limits {
+
+        private int maxConcurrent = 10;
+        private long maxWaitMs = 1000;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+
+    public Map<String, Limits> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<String, Limits> limits) {
+        this.limits = limits;
+    }
+}
@@ -0,0 +1,107 @@
+package BackEnd.bulkhead;
+
+import BackEnd.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The configured bulkheads, each a fair semaphore with a bounded wait.
+ * Exports per bulkhead: calls in flight, the limit, callers queued, the
+ * time spent waiting for a permit and the calls turned away.
+ */
+@Component
+public class BulkheadRegistry {
+
+    public static final class Compartment {
+
+        private final String name;
+        private final int maxConcurrent;
+        private final long maxWaitMs;
+        private final Semaphore permits;
+        private final Timer waits;
+        private final Counter rejected;
+
+        private Compartment(String name, BulkheadProperties.Limits limits, MeterRegistry registry) {
+            this.name = name;
+            this.maxConcurrent = limits.getMaxConcurrent();
+            this.maxWaitMs = limits.getMaxWaitMs();
+            // Fair, so a burst of new callers cannot starve the ones already queued
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.waits = Timer.builder("bulkhead.wait")
+                    .description("Time spent waiting for a bulkhead permit")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            this.rejected = Counter.builder("bulkhead.rejected")
+                    .description("Calls turned away after waiting the full max-wait-ms")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            Gauge.builder("bulkhead.active", this, Compartment::active)
+                    .description("Calls running inside the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            Gauge.builder("bulkhead.max", this, c -> c.maxConcurrent)
+                    .description("Calls the bulkhead admits at once")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            Gauge.builder("bulkhead.queued", permits, Semaphore::getQueueLength)
+                    .description("Callers waiting for a permit")
+                    .tag("bulkhead", name)
+                    .register(registry);
+        }
+
+        void acquire() {
+            long started = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejected.increment();
+                throw new BulkheadFullException(name, maxWaitMs);
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int active() {
+            return maxConcurrent - permits.availablePermits();
+        }
+    }
+
+    private final Map<String, Compartment> compartments = new HashMap<>();
+
+    public BulkheadRegistry(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        properties.getLimits().forEach((name, limits) -> {
+            if (limits.getMaxConcurrent() < 1) {
+                throw new IllegalStateException("healthhub.bulkhead.limits." + name + ".max-concurrent must be positive");
+            }
+            compartments.put(name, new Compartment(name, limits, meterRegistry));
+        });
+    }
+
+    public Compartment get(String name) {
+        Compartment compartment = compartments.get(name);
+        if (compartment == null) {
+            throw new IllegalStateException("No bulkhead configured under healthhub.bulkhead.limits." + name);
+        }
+        return compartment;
+    }
+}
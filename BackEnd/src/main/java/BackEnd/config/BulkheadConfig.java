@@ -0,0 +1,22 @@
+package BackEnd.config;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.bulkhead.BulkheadProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulkheads keep one class of work from taking every pooled connection: a
+ * long export holds at most the {@link Bulkhead#BULK} share, so booking
+ * still finds connections free.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    @ConfigurationProperties("healthhub.bulkhead")
+    public BulkheadProperties bulkheadProperties() {
+        return new BulkheadProperties();
+    }
+}
@@ -0,0 +1,119 @@
+package BackEnd.config;
+
+import BackEnd.datasource.DatabaseEndpoint;
+import BackEnd.datasource.ReadWriteRoutingDataSource;
+import BackEnd.datasource.ReadYourWritesTracker;
+import BackEnd.datasource.Replica;
+import BackEnd.datasource.ReplicaProperties;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantProperties;
+import BackEnd.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection routing, outermost first:
+ * <ol>
+ *   <li>a lazy proxy, so no physical connection is taken until the first
+ *       statement, when the transaction's read-only flag is known;</li>
+ *   <li>{@link TenantRoutingDataSource}: the clinic's dedicated database, or
+ *       the shared one;</li>
+ *   <li>{@link ReadWriteRoutingDataSource}: that database's primary, or a
+ *       healthy replica for read-only transactions.</li>
+ * </ol>
+ * Replaces Boot's pooled DataSource; spring.datasource.* still describes the
+ * shared primary, and spring.datasource.hikari.* applies to every pool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("healthhub.datasource")
+    public ReplicaProperties replicaProperties() {
+        return new ReplicaProperties();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicas) {
+        return new ReadYourWritesTracker(replicas.getReadYourWritesMs());
+    }
+
+    @Bean
+    public TenantRoutingDataSource tenantRoutingDataSource(DataSourceProperties properties, TenantProperties tenants,
+                                                           ReplicaProperties replicaProperties,
+                                                           ReadYourWritesTracker readYourWrites,
+                                                           Environment environment) {
+        String driver = properties.determineDriverClassName();
+        Binder binder = Binder.get(environment);
+        HikariDataSource sharedPrimary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(sharedPrimary));
+        sharedPrimary.setPoolName("shared");
+        DataSource shared = readWrite(TenantRoutingDataSource.SHARED, sharedPrimary,
+                replicas(binder, "shared", driver, replicaProperties.getReplicas()), readYourWrites);
+
+        Map<String, DataSource> dedicated = new LinkedHashMap<>();
+        tenants.getDedicated().forEach((tenant, database) -> {
+            if (!TenantContext.isValid(tenant)) {
+                throw new IllegalStateException("Invalid tenant id in healthhub.tenants.dedicated: " + tenant);
+            }
+            String poolName = "tenant-" + tenant;
+            dedicated.put(tenant, readWrite(tenant, pool(binder, poolName, driver, database, false),
+                    replicas(binder, poolName, driver, database.getReplicas()), readYourWrites));
+        });
+        return new TenantRoutingDataSource(shared, dedicated);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(TenantRoutingDataSource tenantRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(tenantRoutingDataSource);
+    }
+
+    // Not beans themselves, so their targets are resolved here
+    private static ReadWriteRoutingDataSource readWrite(String name, DataSource primary, List<Replica> replicas,
+                                                        ReadYourWritesTracker readYourWrites) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(name, primary, replicas, readYourWrites);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static List<Replica> replicas(Binder binder, String poolName, String driver,
+                                          List<DatabaseEndpoint> endpoints) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            String name = poolName + "-replica-" + (i + 1);
+            replicas.add(new Replica(name, pool(binder, name, driver, endpoints.get(i), true)));
+        }
+        return replicas;
+    }
+
+    private static HikariDataSource pool(Binder binder, String poolName, String driver, DatabaseEndpoint endpoint,
+                                         boolean readOnly) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(driver)
+                .url(endpoint.getUrl())
+                .username(endpoint.getUsername())
+                .password(endpoint.getPassword())
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+}
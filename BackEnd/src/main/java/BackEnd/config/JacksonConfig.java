@@ -0,0 +1,17 @@
+package BackEnd.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter/constructor calls with generated lambdas; Boot registers Module beans
+    // on the shared ObjectMapper, so every controller response goes through it
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,31 @@
+package BackEnd.config;
+
+import BackEnd.ratelimit.JdbcRateLimitStore;
+import BackEnd.ratelimit.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Rate limits for unauthenticated and expensive routes, enforced by
+ * {@link BackEnd.filter.RateLimitFilter}. Limits are per node unless
+ * {@code healthhub.ratelimit.backend=jdbc}, which also keeps the buckets in
+ * the shared database.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConfigurationProperties("healthhub.ratelimit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "healthhub.ratelimit.backend", havingValue = "jdbc")
+    public JdbcRateLimitStore jdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcRateLimitStore(jdbcTemplate);
+    }
+}
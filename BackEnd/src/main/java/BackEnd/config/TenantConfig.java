@@ -0,0 +1,31 @@
+package BackEnd.config;
+
+import BackEnd.tenant.TenantIdentifierResolver;
+import BackEnd.tenant.TenantProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Clinic multi-tenancy. Rows carry a {@code tenant_id} that Hibernate fills
+ * in and filters on ({@code @TenantId}); connections are routed to a clinic's
+ * dedicated database when it has one, and to the shared database otherwise
+ * (see {@link DataSourceConfig}).
+ */
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    @ConfigurationProperties("healthhub.tenants")
+    public TenantProperties tenantProperties() {
+        return new TenantProperties();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer() {
+        TenantIdentifierResolver resolver = new TenantIdentifierResolver();
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, resolver);
+    }
+}
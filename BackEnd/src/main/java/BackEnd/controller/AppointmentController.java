@@ -1,7 +1,11 @@
 package BackEnd.controller;
 
+import BackEnd.dto.DoctorAppointmentView;
+import BackEnd.exception.BulkheadFullException;
 import BackEnd.model.Appointment;
 import BackEnd.service.AppointmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -19,29 +23,25 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class AppointmentController {
 
+    private static final Logger log = LoggerFactory.getLogger(AppointmentController.class);
+
     @Autowired
     private AppointmentService appointmentService;
 
     @GetMapping
     public ResponseEntity<?> getAllAppointments() {
         try {
-            System.out.println("Fetching all appointments...");
             List<Appointment> appointments = appointmentService.getAllAppointments();
-            System.out.println("Found " + appointments.size() + " appointments");
-            
-            // Log first few appointments for debugging
-            int maxToLog = Math.min(3, appointments.size());
-            for (int i = 0; i < maxToLog; i++) {
-                System.out.println("Appointment " + (i+1) + ": " + appointments.get(i).toString());
-            }
+            log.debug("Found {} appointments", appointments.size());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("appointments", appointments);
             return ResponseEntity.ok(response);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error in getAllAppointments: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in getAllAppointments", e);
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -54,7 +54,7 @@ public class AppointmentController {
     @PostMapping(consumes = {"application/json"})
     public ResponseEntity<?> scheduleAppointment(@RequestBody Map<String, Object> requestBody) {
         try {
-            System.out.println("Received request: " + requestBody);
+            log.debug("Schedule appointment request with fields {}", requestBody.keySet());
             
             // Extract and validate patientId
             Long patientId = null;
@@ -125,6 +125,8 @@ public class AppointmentController {
             
             return ResponseEntity.ok(response);
             
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -144,40 +146,13 @@ public class AppointmentController {
         try {
             List<Appointment> appointments = appointmentService.getDoctorAppointments(doctorId);
             
-            // Convert to DTOs with patient details
-            List<Map<String, Object>> response = appointments.stream().map(appointment -> {
-                Map<String, Object> dto = new HashMap<>();
-                dto.put("id", appointment.getId());
-                dto.put("appointmentDate", appointment.getAppointmentDate());
-                dto.put("type", appointment.getType());
-                dto.put("status", appointment.getStatus());
-                dto.put("notes", appointment.getNotes());
-                dto.put("duration", 30); // Default duration
-                dto.put("location", "Main Clinic"); // Default location
-                
-                // Add patient details
-                if (appointment.getPatient() != null) {
-                    Map<String, Object> patient = new HashMap<>();
-                    patient.put("id", appointment.getPatient().getId());
-                    String[] nameParts = appointment.getPatient().getFullName().split(" ", 2);
-                    patient.put("firstName", nameParts[0]);
-                    patient.put("lastName", nameParts.length > 1 ? nameParts[1] : "");
-                    patient.put("email", appointment.getPatient().getEmail());
-                    dto.put("patient", patient);
-                }
-                
-                // Add doctor details
-                if (appointment.getDoctor() != null) {
-                    Map<String, Object> doctor = new HashMap<>();
-                    doctor.put("id", appointment.getDoctor().getId());
-                    doctor.put("name", appointment.getDoctor().getFullName());
-                    dto.put("doctor", doctor);
-                }
-                
-                return dto;
-            }).collect(Collectors.toList());
+            List<DoctorAppointmentView> response = appointments.stream()
+                .map(DoctorAppointmentView::from)
+                .collect(Collectors.toList());
             
             return ResponseEntity.ok(response);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error fetching doctor appointments: " + e.getMessage());
         }
@@ -221,6 +196,8 @@ public class AppointmentController {
             errorResponse.put("success", false);
             errorResponse.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -230,10 +207,16 @@ public class AppointmentController {
     }
 
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<?> getPatientAppointments(@PathVariable Long patientId) {
+    public ResponseEntity<?> getPatientAppointments(@PathVariable Long patientId,
+                                                    @RequestParam(required = false) String fields) {
         try {
-            List<Appointment> appointments = appointmentService.getPatientAppointments(patientId);
+            List<String> selected = AppointmentService.FIELDS.select(fields);
+            List<?> appointments = selected != null
+                ? appointmentService.getPatientAppointments(patientId, selected)
+                : appointmentService.getPatientAppointments(patientId);
             return ResponseEntity.ok(Map.of("success", true, "appointments", appointments));
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                 Map.of("success", false, "message", e.getMessage())
@@ -250,6 +233,8 @@ public class AppointmentController {
         try {
             List<Appointment> schedule = appointmentService.getDoctorSchedule(doctorId, start, end);
             return ResponseEntity.ok(Map.of("success", true, "schedule", schedule));
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                 Map.of("success", false, "message", e.getMessage())
@@ -266,6 +251,8 @@ public class AppointmentController {
                 "success", true,
                 "message", "Appointment deleted successfully"
             ));
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                 Map.of("success", false, "message", e.getMessage())
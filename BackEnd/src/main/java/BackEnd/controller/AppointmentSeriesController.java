@@ -0,0 +1,112 @@
+package BackEnd.controller;
+
+import BackEnd.exception.BulkheadFullException;
+import BackEnd.service.AppointmentSeriesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/appointments/series")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class AppointmentSeriesController {
+
+    private final AppointmentSeriesService seriesService;
+
+    @Autowired
+    public AppointmentSeriesController(AppointmentSeriesService seriesService) {
+        this.seriesService = seriesService;
+    }
+
+    /**
+     * Body: patientId, doctorId, startDate (ISO-8601), rule (e.g.
+     * "FREQ=WEEKLY;COUNT=52"), type, notes and optional skipConflicts.
+     */
+    @PostMapping(consumes = {"application/json"})
+    public ResponseEntity<?> createSeries(@RequestBody Map<String, Object> requestBody) {
+        try {
+            Long patientId = toLong(requestBody.get("patientId"), "patientId");
+            Long doctorId = toLong(requestBody.get("doctorId"), "doctorId");
+            String type = (String) requestBody.get("type");
+            if (type == null || type.trim().isEmpty()) {
+                throw new IllegalArgumentException("Appointment type is required");
+            }
+            Object start = requestBody.get("startDate");
+            if (start == null) {
+                throw new IllegalArgumentException("Start date is required");
+            }
+            LocalDateTime startDate;
+            try {
+                String dateStr = start.toString();
+                startDate = dateStr.endsWith("Z")
+                    ? LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                    : LocalDateTime.parse(dateStr);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid startDate format. Expected ISO-8601 format.");
+            }
+            boolean skipConflicts = Boolean.TRUE.equals(requestBody.get("skipConflicts"));
+
+            Map<String, Object> response = new HashMap<>(seriesService.createSeries(patientId, doctorId, startDate,
+                (String) requestBody.get("rule"), type, (String) requestBody.get("notes"), skipConflicts));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (AppointmentSeriesService.SeriesConflictException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("conflicts", e.getConflicts());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSeries(@PathVariable Long id) {
+        try {
+            Map<String, Object> response = new HashMap<>(seriesService.getSeries(id));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @CrossOrigin(origins = "http://localhost:3000", methods = {RequestMethod.DELETE, RequestMethod.OPTIONS})
+    public ResponseEntity<?> cancelSeries(@PathVariable Long id) {
+        try {
+            int cancelled = seriesService.cancelSeries(id);
+            return ResponseEntity.ok(Map.of("success", true,
+                "message", "Series cancelled, " + cancelled + " upcoming appointments cancelled"));
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    private static Long toLong(Object value, String field) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new IllegalArgumentException("Invalid or missing " + field + ". Must be a number.");
+    }
+}
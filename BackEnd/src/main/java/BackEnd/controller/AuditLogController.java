@@ -0,0 +1,47 @@
+package BackEnd.controller;
+
+import BackEnd.service.AuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class AuditLogController {
+
+    private final AuditService auditService;
+
+    @Autowired
+    public AuditLogController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAuditLogs(
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<Map<String, Object>> logs = auditService.search(entity, action, userId, entityId, from, to, page, size);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("logs", logs.getContent());
+        response.put("page", logs.getNumber());
+        response.put("size", logs.getSize());
+        response.put("totalElements", logs.getTotalElements());
+        response.put("totalPages", logs.getTotalPages());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,32 @@
+package BackEnd.controller;
+
+import BackEnd.service.UserCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class CacheController {
+
+    private final UserCacheService userCacheService;
+
+    @Autowired
+    public CacheController(UserCacheService userCacheService) {
+        this.userCacheService = userCacheService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(userCacheService.getStatistics());
+    }
+
+    @DeleteMapping("/users")
+    public ResponseEntity<?> evictUsers() {
+        userCacheService.evictAllUsers();
+        return ResponseEntity.ok(Map.of("success", true, "message", "User caches evicted"));
+    }
+}
@@ -0,0 +1,57 @@
+package BackEnd.controller;
+
+import BackEnd.service.ChangeOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class ChangeFeedController {
+
+    private final ChangeOutboxService changeOutboxService;
+
+    @Autowired
+    public ChangeFeedController(ChangeOutboxService changeOutboxService) {
+        this.changeOutboxService = changeOutboxService;
+    }
+
+    /**
+     * Committed appointment, prescription, diet plan and user changes for the
+     * clinic, oldest first. Consumers tail it by passing {@code nextAfter}
+     * back as {@code after}, and acknowledge what they have processed so it
+     * can be compacted away.
+     */
+    @GetMapping
+    public ResponseEntity<?> getChanges(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String consumer,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ChangeOutboxService.Page page = changeOutboxService.feed(after, consumer, limit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("changes", page.changes());
+            response.put("nextAfter", page.nextAfter());
+            response.put("hasMore", page.hasMore());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/consumers/{consumer}/ack")
+    public ResponseEntity<?> acknowledge(@PathVariable String consumer, @RequestParam long offset) {
+        try {
+            long acked = changeOutboxService.acknowledge(consumer, offset);
+            return ResponseEntity.ok(Map.of("success", true, "consumer", consumer, "ackedOffset", acked));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+}
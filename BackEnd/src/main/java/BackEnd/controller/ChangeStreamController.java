@@ -0,0 +1,70 @@
+package BackEnd.controller;
+
+import BackEnd.service.ChangeStreamHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class ChangeStreamController {
+
+    private final ChangeStreamHub changeStreamHub;
+
+    @Autowired
+    public ChangeStreamController(ChangeStreamHub changeStreamHub) {
+        this.changeStreamHub = changeStreamHub;
+    }
+
+    /**
+     * Server-sent events for appointment, prescription and diet plan changes
+     * concerning the given doctor, dietitian and/or patient, or to the given
+     * entity types ({@code entity=appointment,appointment_series} for every
+     * appointment, as the front desk needs; {@code all=true} for every
+     * change, as the admin dashboards need). Replaces polling the
+     * list endpoints: clients re-fetch when a {@code change} or
+     * {@code resync} event arrives.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long dietitianId,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) List<String> entity,
+            @RequestParam(defaultValue = "false") boolean all) {
+        List<String> topics = new ArrayList<>();
+        if (all) {
+            topics.add(ChangeStreamHub.TOPIC_ALL);
+        }
+        addTopic(topics, ChangeStreamHub.topic("doctor", doctorId));
+        addTopic(topics, ChangeStreamHub.topic("dietitian", dietitianId));
+        addTopic(topics, ChangeStreamHub.topic("patient", patientId));
+        if (entity != null) {
+            entity.forEach(type -> addTopic(topics, ChangeStreamHub.entityTopic(type)));
+        }
+        if (topics.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("success", false, "message", "Specify doctorId, dietitianId, patientId, entity or all=true"));
+        }
+        return ResponseEntity.ok(changeStreamHub.subscribe(topics));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(Map.of("subscribers", changeStreamHub.subscriberCount()));
+    }
+
+    private static void addTopic(List<String> topics, String topic) {
+        if (topic != null) {
+            topics.add(topic);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package BackEnd.controller;
 
 import BackEnd.dto.DietPlanRequest;
+import BackEnd.exception.BulkheadFullException;
 import BackEnd.model.DietPlan;
 import BackEnd.service.DietPlanService;
+import BackEnd.service.ResourceVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,11 +23,15 @@ import java.util.Map;
     methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class DietPlanController {
 
+    private static final Logger log = LoggerFactory.getLogger(DietPlanController.class);
+
     private final DietPlanService dietPlanService;
+    private final ResourceVersionService resourceVersions;
 
     @Autowired
-    public DietPlanController(DietPlanService dietPlanService) {
+    public DietPlanController(DietPlanService dietPlanService, ResourceVersionService resourceVersions) {
         this.dietPlanService = dietPlanService;
+        this.resourceVersions = resourceVersions;
     }
 
     @PostMapping
@@ -36,30 +45,45 @@ public class DietPlanController {
     }
 
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<?> getDietPlansByPatientId(@PathVariable Long patientId) {
+    public ResponseEntity<?> getDietPlansByPatientId(@PathVariable Long patientId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag())) {
+            return null;
+        }
         try {
             List<DietPlan> dietPlans = dietPlanService.getDietPlansByPatientId(patientId);
             return ResponseEntity.ok(createSuccessResponse(dietPlans));
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return handleException(e);
         }
     }
 
     @GetMapping("/dietitian/{dietitianId}")
-    public ResponseEntity<?> getDietPlansByDietitianId(@PathVariable Long dietitianId) {
+    public ResponseEntity<?> getDietPlansByDietitianId(@PathVariable Long dietitianId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag())) {
+            return null;
+        }
         try {
             List<DietPlan> dietPlans = dietPlanService.getDietPlansByDietitianId(dietitianId);
             return ResponseEntity.ok(createSuccessResponse(dietPlans));
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return handleException(e);
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getDietPlanById(@PathVariable Long id) {
+    public ResponseEntity<?> getDietPlanById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag())) {
+            return null;
+        }
         try {
             DietPlan dietPlan = dietPlanService.getDietPlanById(id);
             return ResponseEntity.ok(createSuccessResponse(dietPlan));
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             return handleException(e);
         }
@@ -68,9 +92,7 @@ public class DietPlanController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateDietPlan(@PathVariable Long id, @RequestBody DietPlanRequest request) {
         try {
-            // Log the incoming request for debugging
-            System.out.println("Updating diet plan with ID: " + id);
-            System.out.println("Request data: " + request);
+            log.debug("Updating diet plan {}", id);
             
             // Validate required fields
             if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
@@ -85,16 +107,12 @@ public class DietPlanController {
                 throw new IllegalArgumentException("Dietitian ID is required");
             }
             
-            // Log before calling service
-            System.out.println("Calling updateDietPlan service method...");
             DietPlan updatedPlan = dietPlanService.updateDietPlan(id, request);
-            System.out.println("Successfully updated diet plan with ID: " + updatedPlan.getId());
+            log.info("Updated diet plan {}", updatedPlan.getId());
             
             return ResponseEntity.ok(createSuccessResponse(updatedPlan));
         } catch (Exception e) {
-            // Log the full stack trace for debugging
-            System.err.println("Error updating diet plan with ID " + id + ":");
-            e.printStackTrace();
+            log.warn("Error updating diet plan {}: {}", id, e.getMessage());
             return handleException(e);
         }
     }
@@ -102,9 +120,8 @@ public class DietPlanController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDietPlan(@PathVariable Long id) {
         try {
-            System.out.println("Deleting diet plan with ID: " + id);
             dietPlanService.deleteDietPlan(id);
-            System.out.println("Successfully deleted diet plan with ID: " + id);
+            log.info("Deleted diet plan {}", id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -113,12 +130,16 @@ public class DietPlanController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error deleting diet plan with ID " + id + ":");
-            e.printStackTrace();
+            log.warn("Error deleting diet plan {}: {}", id, e.getMessage());
             return handleException(e);
         }
     }
 
+    // Plans are serialized with their patient and dietitian, so user changes count too
+    private String etag() {
+        return resourceVersions.etag(ResourceVersionService.DIET_PLANS, ResourceVersionService.USERS);
+    }
+
     private Map<String, Object> createSuccessResponse(Object data) {
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -154,8 +175,7 @@ public class DietPlanController {
             errorResponse.put("causeType", e.getCause().getClass().getName());
         }
         
-        // Log the full stack trace for debugging
-        e.printStackTrace();
+        log.error("Diet plan request failed", e);
         
         return ResponseEntity.status(500).body(errorResponse);
     }
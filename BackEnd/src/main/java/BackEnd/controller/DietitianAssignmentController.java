@@ -1,14 +1,21 @@
 package BackEnd.controller;
 
 import BackEnd.dto.AssignDietitianRequest;
+import BackEnd.dto.BulkAssignDietitianRequest;
+import BackEnd.dto.DietitianCaseload;
+import BackEnd.dto.UserSummary;
+import BackEnd.exception.BulkheadFullException;
 import BackEnd.model.User;
 import BackEnd.service.DietitianAssignmentService;
+import BackEnd.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/patients")
@@ -16,6 +23,7 @@ import java.util.List;
 public class DietitianAssignmentController {
 
     private final DietitianAssignmentService dietitianAssignmentService;
+    private final ResourceVersionService resourceVersions;
 
     @PostMapping("/{patientId}/assign-dietitian")
     public ResponseEntity<?> assignDietitian(
@@ -29,15 +37,51 @@ public class DietitianAssignmentController {
         }
     }
 
+    @PostMapping("/assign-dietitian/bulk")
+    public ResponseEntity<?> assignDietitianInBulk(@Valid @RequestBody BulkAssignDietitianRequest request) {
+        try {
+            int assigned = dietitianAssignmentService.assignDietitianInBulk(request);
+            return ResponseEntity.ok(Map.of("success", true, "assigned", assigned));
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/dietitians/auto-balance")
+    public ResponseEntity<?> autoBalance(@RequestParam(defaultValue = "500") int limit) {
+        try {
+            Map<Long, Integer> assigned = dietitianAssignmentService.autoBalance(limit);
+            return ResponseEntity.ok(Map.of("success", true, "assigned", assigned));
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/dietitians/caseload")
+    public ResponseEntity<List<DietitianCaseload>> getDietitianCaseloads() {
+        return ResponseEntity.ok(dietitianAssignmentService.getDietitianCaseloads());
+    }
+
     @GetMapping("/dietitians")
-    public ResponseEntity<List<User>> getAllDietitians() {
+    public ResponseEntity<List<UserSummary>> getAllDietitians(WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceVersions.etag(ResourceVersionService.USERS))) {
+            return null;
+        }
         List<User> dietitians = dietitianAssignmentService.getAllDietitians();
-        return ResponseEntity.ok(dietitians);
+        return ResponseEntity.ok(toSummaries(dietitians));
     }
 
     @GetMapping("/dietitians/{dietitianId}/patients")
-    public ResponseEntity<List<User>> getPatientsByDietitianId(@PathVariable Long dietitianId) {
+    public ResponseEntity<List<UserSummary>> getPatientsByDietitianId(@PathVariable Long dietitianId) {
         List<User> patients = dietitianAssignmentService.getPatientsByDietitianId(dietitianId);
-        return ResponseEntity.ok(patients);
+        return ResponseEntity.ok(toSummaries(patients));
+    }
+
+    private static List<UserSummary> toSummaries(List<User> users) {
+        return users.stream().map(UserSummary::from).toList();
     }
 }
@@ -1,11 +1,15 @@
 package BackEnd.controller;
 
+import BackEnd.bulkhead.Bulkhead;
 import BackEnd.exception.InventryNotFoundException;
 import BackEnd.model.HealthData;
 import BackEnd.repository.HealthDataRepository;
+import BackEnd.service.ClinicalSearchService;
+import BackEnd.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,12 +21,21 @@ public class HealthDataController {
     @Autowired
     private HealthDataRepository healthDataRepository;
 
+    @Autowired
+    private ClinicalSearchService searchService;
+
+    @Autowired
+    private ResourceVersionService resourceVersions;
+
     @PostMapping
     public HealthData createHealthData(@Valid @RequestBody HealthData newHealthData) {
-        return healthDataRepository.save(newHealthData);
+        HealthData saved = healthDataRepository.save(newHealthData);
+        searchService.indexHealthData(saved);
+        return saved;
     }
 
     @GetMapping
+    @Bulkhead(Bulkhead.BULK)
     public List<HealthData> getAllHealthData() {
         return healthDataRepository.findAll();
     }
@@ -34,7 +47,10 @@ public class HealthDataController {
     }
     
     @GetMapping("/user/{userId}")
-    public List<HealthData> getHealthDataByUserId(@PathVariable Long userId) {
+    public List<HealthData> getHealthDataByUserId(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceVersions.etag(ResourceVersionService.HEALTH_DATA))) {
+            return null;
+        }
         return healthDataRepository.findByUserId(userId);
     }
 
@@ -51,7 +67,9 @@ public class HealthDataController {
                     healthData.setMedicalHistory(updatedHealthData.getMedicalHistory());
                     healthData.setDietaryPreferences(updatedHealthData.getDietaryPreferences());
                     healthData.setHealthGoal(updatedHealthData.getHealthGoal());
-                    return healthDataRepository.save(healthData);
+                    HealthData saved = healthDataRepository.save(healthData);
+                    searchService.indexHealthData(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new InventryNotFoundException(id));
     }
@@ -62,6 +80,7 @@ public class HealthDataController {
             throw new InventryNotFoundException(id);
         }
         healthDataRepository.deleteById(id);
+        searchService.remove(ClinicalSearchService.TYPE_HEALTH_DATA, id);
         return "Health data with id " + id + " has been deleted successfully";
     }
 }
@@ -0,0 +1,45 @@
+package BackEnd.controller;
+
+import BackEnd.service.DrugInteractionIndex;
+import BackEnd.service.DrugInteractionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/interactions")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class InteractionController {
+
+    private final DrugInteractionService interactionService;
+
+    @Autowired
+    public InteractionController(DrugInteractionService interactionService) {
+        this.interactionService = interactionService;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<?> getStatus() {
+        DrugInteractionIndex index = interactionService.currentIndex();
+        return ResponseEntity.ok(Map.of("drugs", index.drugCount(), "interactions", index.pairCount()));
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<?> reload() {
+        try {
+            DrugInteractionIndex index = interactionService.reload();
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Interaction dataset reloaded",
+                "drugs", index.drugCount(),
+                "interactions", index.pairCount()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "message", "Reload failed: " + e.getMessage()));
+        }
+    }
+}
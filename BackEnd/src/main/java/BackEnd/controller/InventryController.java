@@ -1,9 +1,12 @@
 package BackEnd.controller;
 
+import BackEnd.bulkhead.Bulkhead;
 import BackEnd.exception.InventryNotFoundException;
 import BackEnd.model.InventryModel;
 import BackEnd.repository.InventryRepository;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -24,6 +27,8 @@ import java.util.List;
 @RequestMapping("/inventry")
 public class InventryController {
 
+    private static final Logger log = LoggerFactory.getLogger(InventryController.class);
+
     @Autowired
     private InventryRepository inventryRepository;
 
@@ -35,6 +40,7 @@ public class InventryController {
     }
 
     @GetMapping
+    @Bulkhead(Bulkhead.BULK)
     public List<InventryModel> getAllInventry() {
         return inventryRepository.findAll();
     }
@@ -83,7 +89,7 @@ public class InventryController {
 
             return filename;
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Failed to store item image", e);
             return "error";
         }
     }
@@ -0,0 +1,45 @@
+package BackEnd.controller;
+
+import BackEnd.job.MedicationBackfillJob;
+import BackEnd.service.MedicationAutocompleteIndex;
+import BackEnd.service.MedicationCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/medications")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class MedicationController {
+
+    private final MedicationCatalogService catalogService;
+    private final MedicationBackfillJob backfillJob;
+
+    @Autowired
+    public MedicationController(MedicationCatalogService catalogService, MedicationBackfillJob backfillJob) {
+        this.catalogService = catalogService;
+        this.backfillJob = backfillJob;
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<MedicationAutocompleteIndex.Suggestion>> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(catalogService.suggest(query, limit));
+    }
+
+    @GetMapping("/{id}/patients")
+    public ResponseEntity<List<Map<String, Object>>> getActivePatients(@PathVariable Long id) {
+        return ResponseEntity.ok(catalogService.getActivePatients(id));
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill() {
+        int mapped = backfillJob.backfill();
+        catalogService.rebuildIndex();
+        return ResponseEntity.ok(Map.of("success", true, "message", "Mapped " + mapped + " prescription lines"));
+    }
+}
@@ -1,14 +1,24 @@
 package BackEnd.controller;
 
+import BackEnd.dto.PatientPrescriptionSummary;
 import BackEnd.dto.PrescriptionRequest;
 import BackEnd.dto.PrescriptionResponse;
+import BackEnd.dto.PrescriptionSnapshot;
+import BackEnd.exception.BulkheadFullException;
+import BackEnd.service.PrescriptionRevisionService;
 import BackEnd.service.PrescriptionService;
+import BackEnd.service.ResourceVersionService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -17,11 +27,19 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000", allowedHeaders = "*", allowCredentials = "true")
 public class PrescriptionController {
 
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionController.class);
+
     private final PrescriptionService prescriptionService;
+    private final PrescriptionRevisionService revisionService;
+    private final ResourceVersionService resourceVersions;
 
     @Autowired
-    public PrescriptionController(PrescriptionService prescriptionService) {
+    public PrescriptionController(PrescriptionService prescriptionService,
+                                  PrescriptionRevisionService revisionService,
+                                  ResourceVersionService resourceVersions) {
         this.prescriptionService = prescriptionService;
+        this.revisionService = revisionService;
+        this.resourceVersions = resourceVersions;
     }
 
     @PostMapping
@@ -36,20 +54,26 @@ public class PrescriptionController {
     }
 
     @GetMapping("/all-patients")
-    public ResponseEntity<List<Map<String, Object>>> getPatientsWithPrescriptions() {
+    public ResponseEntity<List<PatientPrescriptionSummary>> getPatientsWithPrescriptions() {
         try {
-            List<Map<String, Object>> patients = prescriptionService.getPatientsWithPrescriptions();
+            List<PatientPrescriptionSummary> patients = prescriptionService.getPatientsWithPrescriptions();
             return ResponseEntity.ok(patients);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error in getPatientsWithPrescriptions: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in getPatientsWithPrescriptions", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<PrescriptionResponse>> getPatientPrescriptions(
-            @PathVariable Long patientId) {
+            @PathVariable Long patientId, WebRequest webRequest) {
+        // Responses carry patient and doctor names
+        if (webRequest.checkNotModified(
+                resourceVersions.etag(ResourceVersionService.PRESCRIPTIONS, ResourceVersionService.USERS))) {
+            return null;
+        }
         List<PrescriptionResponse> prescriptions = prescriptionService.getPatientPrescriptions(patientId);
         return ResponseEntity.ok(prescriptions);
     }
@@ -60,6 +84,18 @@ public class PrescriptionController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/prescription/{id}/revisions")
+    public ResponseEntity<List<Map<String, Object>>> getPrescriptionRevisions(@PathVariable Long id) {
+        return ResponseEntity.ok(revisionService.getHistory(id));
+    }
+
+    @GetMapping("/prescription/{id}/as-of")
+    public ResponseEntity<PrescriptionSnapshot> getPrescriptionAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(revisionService.reconstructAt(id, at));
+    }
+    
     @PutMapping("/prescription/{id}")
     public ResponseEntity<PrescriptionResponse> updatePrescription(
             @PathVariable Long id,
@@ -68,8 +104,7 @@ public class PrescriptionController {
             PrescriptionResponse response = prescriptionService.updatePrescription(id, request);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error updating prescription: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating prescription {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -86,8 +121,7 @@ public class PrescriptionController {
             prescriptionService.deletePrescription(id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
-            System.err.println("Error deleting prescription: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error deleting prescription {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -0,0 +1,56 @@
+package BackEnd.controller;
+
+import BackEnd.service.ClinicalSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class SearchController {
+
+    private final ClinicalSearchService searchService;
+
+    @Autowired
+    public SearchController(ClinicalSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/doctor/{doctorId}")
+    public ResponseEntity<?> search(
+            @PathVariable Long doctorId,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Map<String, Object> response = searchService.search(doctorId, query, types, page, size);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(searchService.getStatus());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        try {
+            long documents = searchService.rebuild();
+            return ResponseEntity.ok(Map.of("success", true, "message", "Indexed " + documents + " records"));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "message", "Rebuild failed: " + e.getMessage()));
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package BackEnd.controller;
 
+import BackEnd.bulkhead.Bulkhead;
 import BackEnd.model.User;
 import BackEnd.repository.UserRepository;
+import BackEnd.service.EmailLookupService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,7 +21,11 @@ public class SignupController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailLookupService emailLookupService;
+
     @PostMapping("/signup")
+    @Bulkhead(Bulkhead.BOOKING)
     public ResponseEntity<?> signup(@Valid @RequestBody User newUser) {
         Map<String, Object> response = new HashMap<>();
 
@@ -32,7 +38,7 @@ public class SignupController {
             }
 
             // Check if email already exists
-            if (userRepository.existsByEmail(newUser.getEmail())) {
+            if (emailLookupService.isRegistered(newUser.getEmail())) {
                 response.put("success", false);
                 response.put("message", "Email already registered");
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
@@ -58,6 +64,7 @@ public class SignupController {
 
             // Save user
             User savedUser = userRepository.save(newUser);
+            emailLookupService.add(savedUser.getEmail());
 
             // Remove password from response
             savedUser.setPassword(null);
@@ -76,6 +83,7 @@ public class SignupController {
     }
 
     @PostMapping("/login")
+    @Bulkhead(Bulkhead.BOOKING)
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginData) {
         Map<String, Object> response = new HashMap<>();
 
@@ -130,11 +138,12 @@ public class SignupController {
         }
     }
 
+    // Called on every keystroke/blur of the signup form; most answers come from the Bloom filter
     @GetMapping("/check-email")
     public ResponseEntity<?> checkEmail(@RequestParam String email) {
         Map<String, Object> response = new HashMap<>();
         
-        boolean exists = userRepository.existsByEmail(email);
+        boolean exists = emailLookupService.exists(email);
         response.put("exists", exists);
         
         return ResponseEntity.ok(response);
@@ -1,13 +1,28 @@
 package BackEnd.controller;
 
+import BackEnd.dto.UserListResponse;
+import BackEnd.event.EntityChangeEvent;
+import BackEnd.dto.UserSummary;
+import BackEnd.exception.BulkheadFullException;
 import BackEnd.exception.UserNotFoundException;
 import BackEnd.model.User;
 import BackEnd.repository.UserRepository;
+import BackEnd.service.AuditService;
+import BackEnd.service.EmailLookupService;
+import BackEnd.service.ResourceVersionService;
+import BackEnd.service.UserCacheService;
+import BackEnd.service.UserDeletionService;
+import BackEnd.service.UserDirectoryService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.validation.BindingResult;
 
 import java.util.HashMap;
@@ -22,38 +37,67 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserRepository userRepository;
 
-    // Get all users from database
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ResourceVersionService resourceVersions;
+
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    @Autowired
+    private EmailLookupService emailLookupService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // List users, filtered by role/status/name-or-email prefix or by id, one keyset page at a time
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String status,
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        // 304 straight from the change counter, before any row is loaded
+        if (webRequest.checkNotModified(resourceVersions.etag(ResourceVersionService.USERS))) {
+            return null;
+        }
         try {
-            System.out.println("Fetching all users...");
-            List<User> users = userRepository.findAll();
-            System.out.println("Found " + users.size() + " users");
-            
-            // Create a list of DTOs to avoid lazy loading issues
-            List<Map<String, Object>> userDtos = users.stream().map(user -> {
-                Map<String, Object> dto = new HashMap<>();
-                dto.put("id", user.getId());
-                dto.put("fullName", user.getFullName());
-                dto.put("email", user.getEmail());
-                dto.put("role", user.getRole());
-                dto.put("phone", user.getPhone());
-                dto.put("status", user.getStatus());
-                // Add other non-sensitive fields as needed
-                return dto;
-            }).collect(Collectors.toList());
-            
+            UserDirectoryService.Filter filter = new UserDirectoryService.Filter(role, status, query, ids);
+            List<String> selected = UserDirectoryService.FIELDS.select(fields);
+            UserDirectoryService.Page<?> page = selected != null
+                    ? userDirectoryService.search(filter, afterId, limit, selected)
+                    : userDirectoryService.search(filter, afterId, limit);
+            log.debug("Found {} users after id {}", page.users().size(), afterId);
+            return ResponseEntity.ok(new UserListResponse<>(true, page.users(), page.nextAfterId(), page.total()));
+        } catch (IllegalArgumentException e) {
             Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("users", userDtos);
-            return ResponseEntity.ok(response);
-            
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error fetching users: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching users", e);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -82,9 +126,8 @@ public class UserController {
             }
             
             // In a real application, you would validate the JWT token here
-            // and extract the user ID from it. For now, we'll just log the token
-            // and return the first user as an example.
-            System.out.println("Validating token: " + token.substring(0, Math.min(10, token.length())) + "...");
+            // and extract the user ID from it. For now, we'll just return the
+            // first user as an example.
             
             // Get the first user as an example (replace with actual user lookup from token)
             User user = userRepository.findAll().stream().findFirst()
@@ -110,12 +153,14 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceVersions.etag(ResourceVersionService.USERS))) {
+            return null;
+        }
         try {
             User user = userRepository.findById(id)
                     .orElseThrow(() -> new UserNotFoundException(id));
-            user.setPassword(null);
-            return ResponseEntity.ok(user);
+            return ResponseEntity.ok(UserSummary.from(user));
         } catch (UserNotFoundException e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -132,8 +177,6 @@ public class UserController {
     // Create new user (admin only)
     @PostMapping(consumes = {"application/json"}, produces = {"application/json"})
     public ResponseEntity<?> createUser(@Valid @RequestBody User newUser, BindingResult bindingResult) {
-        System.out.println("=== CREATE USER REQUEST ===");
-        
         Map<String, Object> response = new HashMap<>();
         
         // Handle validation errors
@@ -142,24 +185,19 @@ public class UserController {
                 .map(error -> error.getField() + ": " + error.getDefaultMessage())
                 .collect(Collectors.toList());
             
-            System.out.println("Validation errors: " + errors);
+            log.debug("Create user validation errors: {}", errors);
             response.put("success", false);
             response.put("message", "Validation failed");
             response.put("errors", errors);
             return ResponseEntity.badRequest().body(response);
         }
         
-        // Log the incoming user data
-        System.out.println("Email: " + newUser.getEmail());
-        System.out.println("Name: " + newUser.getFullName());
-        System.out.println("Role: " + newUser.getRole());
-        System.out.println("Incoming user data: " + newUser.toString());
+        log.debug("Create user request for role {}", newUser.getRole());
 
         try {
             // Check if email already exists
-            if (userRepository.existsByEmail(newUser.getEmail())) {
+            if (emailLookupService.isRegistered(newUser.getEmail())) {
                 String errorMsg = "Email " + newUser.getEmail() + " is already registered";
-                System.out.println(errorMsg);
                 response.put("success", false);
                 response.put("message", errorMsg);
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
@@ -170,7 +208,6 @@ public class UserController {
             if (!role.equals("user") && !role.equals("doctor") && 
                 !role.equals("dietitian") && !role.equals("receptionist") && !role.equals("admin")) {
                 String errorMsg = "Invalid role: " + role + ". Must be one of: user, doctor, dietitian, receptionist, admin";
-                System.out.println(errorMsg);
                 response.put("success", false);
                 response.put("message", errorMsg);
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
@@ -179,7 +216,10 @@ public class UserController {
             newUser.setRole(role);
 
             // Save user
-            User savedUser = userRepository.save(newUser);
+            User savedUser = saveAndPublish(newUser, "create");
+            emailLookupService.add(savedUser.getEmail());
+            auditService.record("create", "user", savedUser.getId(),
+                    "Created " + role + " account " + savedUser.getEmail());
             savedUser.setPassword(null);
 
             response.put("success", true);
@@ -203,10 +243,12 @@ public class UserController {
         try {
             User user = userRepository.findById(id)
                     .orElseThrow(() -> new UserNotFoundException(id));
+            String previousRole = user.getRole();
+            String previousStatus = user.getStatus();
 
             // Check if email is being changed and if it already exists
             if (!user.getEmail().equals(updatedUser.getEmail()) && 
-                userRepository.existsByEmail(updatedUser.getEmail())) {
+                emailLookupService.isRegistered(updatedUser.getEmail())) {
                 response.put("success", false);
                 response.put("message", "Email already registered");
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
@@ -226,7 +268,10 @@ public class UserController {
             user.setAge(updatedUser.getAge());
             user.setStatus(updatedUser.getStatus());
 
-            User savedUser = userRepository.save(user);
+            User savedUser = saveAndPublish(user, "update");
+            emailLookupService.add(savedUser.getEmail());
+            userCacheService.evictUser(id);
+            auditService.record("update", "user", id, describeUserUpdate(savedUser, previousRole, previousStatus));
             savedUser.setPassword(null);
 
             response.put("success", true);
@@ -252,11 +297,10 @@ public class UserController {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            if (!userRepository.existsById(id)) {
-                throw new UserNotFoundException(id);
-            }
-
-            userRepository.deleteById(id);
+            int hiddenAppointments = userDeletionService.delete(id);
+            userCacheService.evictUser(id);
+            auditService.record("delete", "user", id,
+                    "Deleted user " + id + " and hid " + hiddenAppointments + " appointments");
 
             response.put("success", true);
             response.put("message", "User with id " + id + " has been deleted successfully");
@@ -267,6 +311,10 @@ public class UserController {
             response.put("success", false);
             response.put("message", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Failed to delete user: " + e.getMessage());
@@ -290,8 +338,12 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
 
+            String previousStatus = user.getStatus();
             user.setStatus(newStatus);
-            User savedUser = userRepository.save(user);
+            User savedUser = saveAndPublish(user, "status_change");
+            userCacheService.evictUser(id);
+            auditService.record("status_change", "user", id,
+                    "Status of " + savedUser.getEmail() + " changed from " + previousStatus + " to " + newStatus);
             savedUser.setPassword(null);
 
             response.put("success", true);
@@ -336,8 +388,12 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
 
+            String previousRole = user.getRole();
             user.setRole(role);
-            User savedUser = userRepository.save(user);
+            User savedUser = saveAndPublish(user, "role_change");
+            userCacheService.evictUser(id);
+            auditService.record("role_change", "user", id,
+                    "Role of " + savedUser.getEmail() + " changed from " + previousRole + " to " + role);
             savedUser.setPassword(null);
 
             response.put("success", true);
@@ -356,4 +412,25 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    // The save and its change feed entry commit together or not at all
+    private User saveAndPublish(User user, String action) {
+        return transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            eventPublisher.publishEvent(new EntityChangeEvent("user", action, saved.getId(),
+                    null, null, null, saved.getStatus()));
+            return saved;
+        });
+    }
+
+    private String describeUserUpdate(User user, String previousRole, String previousStatus) {
+        StringBuilder description = new StringBuilder("Updated user ").append(user.getEmail());
+        if (previousRole != null && !previousRole.equals(user.getRole())) {
+            description.append(", role ").append(previousRole).append(" -> ").append(user.getRole());
+        }
+        if (previousStatus != null && !previousStatus.equals(user.getStatus())) {
+            description.append(", status ").append(previousStatus).append(" -> ").append(user.getStatus());
+        }
+        return description.toString();
+    }
 }
@@ -0,0 +1,35 @@
+package BackEnd.datasource;
+
+/**
+ * JDBC coordinates of one database server, as bound from properties.
+ */
+public class DatabaseEndpoint {
+
+    private String url;
+    private String username;
+    private String password;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
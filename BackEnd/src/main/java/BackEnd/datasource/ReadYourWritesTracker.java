@@ -0,0 +1,120 @@
+package BackEnd.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a short window after its own
+ * write commits, so a replica that has not caught up yet cannot show it
+ * stale data. The request that wrote is pinned for the rest of its life;
+ * later requests are pinned by a short-lived cookie set on the response,
+ * which the browser sends back to whichever node serves them.
+ *
+ * <p>The cookie holds the time the pin ends. A client can only pin or unpin
+ * itself with it, and values beyond one window are ignored.
+ *
+ * <p>Every committed read-write transaction counts as a write. That is
+ * conservative: a read-write transaction that only read pins its client too.
+ */
+public class ReadYourWritesTracker {
+
+    public static final String COOKIE = "hh_primary_until";
+
+    private static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".wrote";
+
+    private final long windowMs;
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Called while a read-write transaction takes its connection; the
+     * caller is pinned once that transaction commits.
+     */
+    void onReadWriteTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (request != null) {
+                    pin(request);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+            }
+        });
+    }
+
+    boolean mustReadFromPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return false;
+        }
+        if (request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        long until = pinnedUntil(request);
+        long now = System.currentTimeMillis();
+        return until > now && until <= now + windowMs;
+    }
+
+    private void pin(RequestAttributes request) {
+        boolean first = request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null;
+        request.setAttribute(REQUEST_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        if (!first || !(request instanceof ServletRequestAttributes servlet)) {
+            return;
+        }
+        HttpServletResponse response = servlet.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        String until = Long.toString(System.currentTimeMillis() + windowMs);
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, until)
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(Duration.ofSeconds((windowMs + 999) / 1000))
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static long pinnedUntil(RequestAttributes request) {
+        if (!(request instanceof ServletRequestAttributes servlet)) {
+            return 0;
+        }
+        HttpServletRequest httpRequest = servlet.getRequest();
+        Cookie[] cookies = httpRequest.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,49 @@
+package BackEnd.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica and what the last health check found. Replicas start out
+ * unusable and only take reads once a check has measured their lag.
+ */
+public class Replica {
+
+    public enum State { UNKNOWN, UP, LAGGING, DOWN }
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile State state = State.UNKNOWN;
+    private volatile long lagMs = -1;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    // -1 until measured, and while the replica is down
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    public boolean isUsable() {
+        return state == State.UP;
+    }
+
+    void update(State state, long lagMs) {
+        this.lagMs = lagMs;
+        this.state = state;
+    }
+}
@@ -0,0 +1,147 @@
+package BackEnd.datasource;
+
+import BackEnd.tenant.TenantRoutingDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures replication lag with a heartbeat row: each check reads the
+ * timestamp every replica holds, compares it with the one last written to
+ * the primary, then writes a fresh one. A replica that answers and is no
+ * further behind than {@code healthhub.datasource.max-lag-ms} takes reads;
+ * one that is behind or unreachable drops out until a later check passes.
+ * Lag is measured in steps of the check interval.
+ */
+@Component
+public class ReplicaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<Database> databases = new ArrayList<>();
+    private final long maxLagMs;
+
+    private static final class Database {
+        final ReadWriteRoutingDataSource routing;
+        final JdbcTemplate primary;
+        final List<JdbcTemplate> replicas = new ArrayList<>();
+        boolean tableReady;
+        long lastBeat = -1;
+
+        Database(ReadWriteRoutingDataSource routing) {
+            this.routing = routing;
+            this.primary = template(routing.getPrimary());
+            for (Replica replica : routing.getReplicas()) {
+                replicas.add(template(replica.getDataSource()));
+            }
+        }
+    }
+
+    public ReplicaMonitor(TenantRoutingDataSource tenantRoutingDataSource,
+                          MeterRegistry meterRegistry,
+                          @Value("${healthhub.datasource.max-lag-ms:2000}") long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+        for (DataSource target : tenantRoutingDataSource.getResolvedDataSources().values()) {
+            if (target instanceof ReadWriteRoutingDataSource routing && !routing.getReplicas().isEmpty()) {
+                databases.add(new Database(routing));
+                register(meterRegistry, routing);
+            }
+        }
+    }
+
+    private static void register(MeterRegistry registry, ReadWriteRoutingDataSource routing) {
+        FunctionCounter.builder("datasource.reads", routing, ReadWriteRoutingDataSource::getReplicaReads)
+                .description("Read-only transactions by where they were served")
+                .tags("database", routing.getName(), "target", "replica")
+                .register(registry);
+        FunctionCounter.builder("datasource.reads", routing, ReadWriteRoutingDataSource::getPrimaryReads)
+                .description("Read-only transactions by where they were served")
+                .tags("database", routing.getName(), "target", "primary")
+                .register(registry);
+        for (Replica replica : routing.getReplicas()) {
+            Gauge.builder("datasource.replica.lag", replica, Replica::getLagMs)
+                    .description("Replication lag at the last check in milliseconds, -1 when unknown")
+                    .tags("database", routing.getName(), "replica", replica.getName())
+                    .register(registry);
+            Gauge.builder("datasource.replica.usable", replica, r -> r.isUsable() ? 1 : 0)
+                    .description("1 while the replica takes reads")
+                    .tags("database", routing.getName(), "replica", replica.getName())
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${healthhub.datasource.replica-check-ms:1000}")
+    public void check() {
+        for (Database database : databases) {
+            check(database);
+        }
+    }
+
+    private void check(Database database) {
+        List<Replica> replicas = database.routing.getReplicas();
+        // Replicas first: the beat written at the end of the previous check has had a full interval to arrive
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            Replica.State previous = replica.getState();
+            measure(replica, database.replicas.get(i), database.lastBeat);
+            if (replica.getState() != previous) {
+                log.info("Replica {} of {} is now {} (lag {} ms)", replica.getName(), database.routing.getName(),
+                        replica.getState(), replica.getLagMs());
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            if (!database.tableReady) {
+                database.primary.execute(CREATE_SQL);
+                database.tableReady = true;
+            }
+            if (database.primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                database.primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+            database.lastBeat = now;
+        } catch (DataAccessException e) {
+            // Without a fresh beat the next check would overstate lag; measure against the last good one
+            log.warn("Could not write replication heartbeat to {}: {}", database.routing.getName(), e.getMessage());
+        }
+    }
+
+    private void measure(Replica replica, JdbcTemplate template, long lastBeat) {
+        if (lastBeat < 0) {
+            return;
+        }
+        try {
+            List<Long> beats = template.queryForList("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                // Not even the first beat has replicated
+                replica.update(Replica.State.LAGGING, -1);
+                return;
+            }
+            long lag = Math.max(0, lastBeat - beats.get(0));
+            replica.update(lag <= maxLagMs ? Replica.State.UP : Replica.State.LAGGING, lag);
+        } catch (DataAccessException e) {
+            replica.update(Replica.State.DOWN, -1);
+        }
+    }
+
+    private static JdbcTemplate template(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        return template;
+    }
+}
@@ -0,0 +1,44 @@
+package BackEnd.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code healthhub.datasource.*}: read replicas of the shared database and
+ * the routing limits that apply to every replica, dedicated clinic databases
+ * included.
+ */
+public class ReplicaProperties {
+
+    private List<DatabaseEndpoint> replicas = new ArrayList<>();
+
+    // A replica further behind the primary than this stops receiving reads
+    private long maxLagMs = 2000;
+
+    // How long a user's reads stay on the primary after they wrote
+    private long readYourWritesMs = 5000;
+
+    public List<DatabaseEndpoint> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<DatabaseEndpoint> replicas) {
+        this.replicas = replicas;
+    }
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    public void setMaxLagMs(long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+    }
+
+    public long getReadYourWritesMs() {
+        return readYourWritesMs;
+    }
+
+    public void setReadYourWritesMs(long readYourWritesMs) {
+        this.readYourWritesMs = readYourWritesMs;
+    }
+}
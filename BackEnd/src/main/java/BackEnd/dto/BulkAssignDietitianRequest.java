@@ -0,0 +1,35 @@
+package BackEnd.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkAssignDietitianRequest {
+    @NotNull(message = "Dietitian ID is required")
+    private Long dietitianId;
+
+    @NotEmpty(message = "At least one patient ID is required")
+    @Size(max = 1000, message = "At most 1000 patients can be assigned per request")
+    private List<Long> patientIds;
+
+    public BulkAssignDietitianRequest() {
+    }
+
+    public Long getDietitianId() {
+        return dietitianId;
+    }
+
+    public void setDietitianId(Long dietitianId) {
+        this.dietitianId = dietitianId;
+    }
+
+    public List<Long> getPatientIds() {
+        return patientIds;
+    }
+
+    public void setPatientIds(List<Long> patientIds) {
+        this.patientIds = patientIds;
+    }
+}
@@ -0,0 +1,11 @@
+package BackEnd.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change as served by the change feed. {@code offset} increases in
+ * commit order and is what consumers pass back as {@code after}.
+ */
+public record ChangeFeedEntry(long offset, String entity, String action, Long entityId, Long patientId,
+                              Long doctorId, Long dietitianId, String status, LocalDateTime occurredAt) {
+}
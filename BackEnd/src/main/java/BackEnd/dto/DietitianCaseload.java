@@ -0,0 +1,50 @@
+package BackEnd.dto;
+
+public class DietitianCaseload {
+    private final Long id;
+    private final String fullName;
+    private final String email;
+    private final String phone;
+    private final String status;
+    private final long assignedPatients;
+    private final long activeDietPlans;
+
+    public DietitianCaseload(Long id, String fullName, String email, String phone, String status,
+                             Long assignedPatients, Long activeDietPlans) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.phone = phone;
+        this.status = status;
+        this.assignedPatients = assignedPatients != null ? assignedPatients : 0L;
+        this.activeDietPlans = activeDietPlans != null ? activeDietPlans : 0L;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getAssignedPatients() {
+        return assignedPatients;
+    }
+
+    public long getActiveDietPlans() {
+        return activeDietPlans;
+    }
+}
@@ -0,0 +1,43 @@
+package BackEnd.dto;
+
+import BackEnd.model.Appointment;
+import BackEnd.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * An appointment as shown on the doctor's schedule.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DoctorAppointmentView(Long id, LocalDateTime appointmentDate, String type, String status, String notes,
+                                    int duration, String location, PatientRef patient, DoctorRef doctor) {
+
+    private static final int DEFAULT_DURATION_MINUTES = 30;
+    private static final String DEFAULT_LOCATION = "Main Clinic";
+
+    public record PatientRef(Long id, String firstName, String lastName, String email) {
+    }
+
+    public record DoctorRef(Long id, String name) {
+    }
+
+    public static DoctorAppointmentView from(Appointment appointment) {
+        return new DoctorAppointmentView(appointment.getId(), appointment.getAppointmentDate(), appointment.getType(),
+                appointment.getStatus(), appointment.getNotes(), DEFAULT_DURATION_MINUTES, DEFAULT_LOCATION,
+                patientRef(appointment.getPatient()), doctorRef(appointment.getDoctor()));
+    }
+
+    private static PatientRef patientRef(User patient) {
+        if (patient == null) {
+            return null;
+        }
+        String[] nameParts = patient.getFullName().split(" ", 2);
+        return new PatientRef(patient.getId(), nameParts[0], nameParts.length > 1 ? nameParts[1] : "",
+                patient.getEmail());
+    }
+
+    private static DoctorRef doctorRef(User doctor) {
+        return doctor != null ? new DoctorRef(doctor.getId(), doctor.getFullName()) : null;
+    }
+}
@@ -0,0 +1,39 @@
+package BackEnd.dto;
+
+public class InteractionWarning {
+    private final String drugA;
+    private final String drugB;
+    private final String severity;
+    private final String description;
+    private final Long conflictingPrescriptionId;
+
+    public InteractionWarning(String drugA, String drugB, String severity, String description,
+                              Long conflictingPrescriptionId) {
+        this.drugA = drugA;
+        this.drugB = drugB;
+        this.severity = severity;
+        this.description = description;
+        this.conflictingPrescriptionId = conflictingPrescriptionId;
+    }
+
+    public String getDrugA() {
+        return drugA;
+    }
+
+    public String getDrugB() {
+        return drugB;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    // Null when both drugs are on the prescription being written
+    public Long getConflictingPrescriptionId() {
+        return conflictingPrescriptionId;
+    }
+}
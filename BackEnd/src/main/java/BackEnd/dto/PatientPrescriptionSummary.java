@@ -0,0 +1,20 @@
+package BackEnd.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A patient with their most recent prescription, for the prescription
+ * overview. The prescription fields are absent for patients whose latest
+ * prescription could not be read.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientPrescriptionSummary(Long id, String fullName, String email, String phone, String status,
+                                         Long prescriptionId, LocalDate prescriptionDate, String diagnosis,
+                                         List<MedicationLine> medications) {
+
+    public record MedicationLine(String name, String dosage, String frequency) {
+    }
+}
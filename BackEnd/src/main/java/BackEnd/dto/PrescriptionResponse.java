@@ -1,5 +1,7 @@
 package BackEnd.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,6 +17,8 @@ public class PrescriptionResponse {
     private LocalDate prescriptionDate;
     private String status;
     private List<MedicationResponse> medications;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<InteractionWarning> interactionWarnings;
 
     // Getters and Setters
     public Long getId() {
@@ -105,6 +109,14 @@ public class PrescriptionResponse {
         this.medications = medications;
     }
 
+    public List<InteractionWarning> getInteractionWarnings() {
+        return interactionWarnings;
+    }
+
+    public void setInteractionWarnings(List<InteractionWarning> interactionWarnings) {
+        this.interactionWarnings = interactionWarnings;
+    }
+
     public static class MedicationResponse {
         private Long id;
         private String name;
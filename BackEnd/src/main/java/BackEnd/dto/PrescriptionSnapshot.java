@@ -0,0 +1,32 @@
+package BackEnd.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full state of a prescription at one revision, as stored in journal
+ * snapshots and returned by point-in-time queries.
+ */
+@Data
+public class PrescriptionSnapshot {
+    private Long id;
+    private int revision;
+    private String diagnosis;
+    private String notes;
+    private LocalDate validUntil;
+    private String status;
+    private List<MedicationSnapshot> medications = new ArrayList<>();
+
+    @Data
+    public static class MedicationSnapshot {
+        private Long id;
+        private String name;
+        private String dosage;
+        private String frequency;
+        private String duration;
+        private String instructions;
+    }
+}
@@ -0,0 +1,52 @@
+package BackEnd.dto;
+
+import java.time.LocalDateTime;
+
+public class ReminderMessage {
+    private final Long appointmentId;
+    private final int offsetMinutes;
+    private final String recipientEmail;
+    private final String recipientName;
+    private final String doctorName;
+    private final String appointmentType;
+    private final LocalDateTime appointmentDate;
+
+    public ReminderMessage(Long appointmentId, int offsetMinutes, String recipientEmail, String recipientName,
+                           String doctorName, String appointmentType, LocalDateTime appointmentDate) {
+        this.appointmentId = appointmentId;
+        this.offsetMinutes = offsetMinutes;
+        this.recipientEmail = recipientEmail;
+        this.recipientName = recipientName;
+        this.doctorName = doctorName;
+        this.appointmentType = appointmentType;
+        this.appointmentDate = appointmentDate;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public int getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public String getRecipientName() {
+        return recipientName;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public String getAppointmentType() {
+        return appointmentType;
+    }
+
+    public LocalDateTime getAppointmentDate() {
+        return appointmentDate;
+    }
+}
@@ -0,0 +1,15 @@
+package BackEnd.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One page of the user directory. {@code nextAfterId} is absent on the last
+ * page; {@code total} is only present on the first page of a filter. Users
+ * are {@link UserSummary}s, or maps of just the fields asked for with
+ * {@code ?fields=}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserListResponse<T>(boolean success, List<T> users, Long nextAfterId, Long total) {
+}
@@ -0,0 +1,29 @@
+package BackEnd.dto;
+
+import BackEnd.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * The user fields the frontend reads. Never carries the password. The
+ * assigned dietitian stays a nested object, as it was when users were
+ * served as entities, so clients keep reading {@code assignedDietitian.id}.
+ */
+public record UserSummary(Long id, String fullName, String email, String role, String phone, Integer age,
+                          String status, DietitianRef assignedDietitian, LocalDateTime createdAt,
+                          LocalDateTime updatedAt) {
+
+    public static UserSummary from(User user) {
+        User dietitian = user.getAssignedDietitian();
+        return new UserSummary(user.getId(), user.getFullName(), user.getEmail(), user.getRole(), user.getPhone(),
+                user.getAge(), user.getStatus(), dietitian != null ? DietitianRef.from(dietitian) : null,
+                user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    public record DietitianRef(Long id, String fullName, String email) {
+
+        static DietitianRef from(User dietitian) {
+            return new DietitianRef(dietitian.getId(), dietitian.getFullName(), dietitian.getEmail());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package BackEnd.event;
+
+import BackEnd.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by services when an appointment, prescription or diet plan
+ * changes. Listeners that must not see rolled-back changes should listen with
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ *
+ * The participant ids say who the change concerns; any of them may be null,
+ * as may the status the entity was left in. The clinic is taken from the
+ * publishing thread.
+ */
+public class EntityChangeEvent {
+
+    private final String entity;
+    private final String action;
+    private final Long entityId;
+    private final Long patientId;
+    private final Long doctorId;
+    private final Long dietitianId;
+    private final String status;
+    private final String tenantId = TenantContext.currentOrDefault();
+    private final LocalDateTime timestamp = LocalDateTime.now();
+
+    public EntityChangeEvent(String entity, String action, Long entityId,
+                             Long patientId, Long doctorId, Long dietitianId) {
+        this(entity, action, entityId, patientId, doctorId, dietitianId, null);
+    }
+
+    public EntityChangeEvent(String entity, String action, Long entityId,
+                             Long patientId, Long doctorId, Long dietitianId, String status) {
+        this.entity = entity;
+        this.action = action;
+        this.entityId = entityId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.dietitianId = dietitianId;
+        this.status = status;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public Long getDietitianId() {
+        return dietitianId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
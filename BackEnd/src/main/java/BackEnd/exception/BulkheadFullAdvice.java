@@ -0,0 +1,24 @@
+package BackEnd.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ControllerAdvice
+public class BulkheadFullAdvice {
+
+    // The wait already happened server-side; a short client back-off is enough
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, String>> exceptionHandler(BulkheadFullException exception) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("errorMessage", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMap);
+    }
+}
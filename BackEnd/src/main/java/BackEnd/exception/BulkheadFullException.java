@@ -0,0 +1,15 @@
+package BackEnd.exception;
+
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead, long waitedMs) {
+        super("Server busy: no capacity in the " + bulkhead + " bulkhead after " + waitedMs + " ms");
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+}
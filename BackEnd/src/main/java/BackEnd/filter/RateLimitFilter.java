@@ -0,0 +1,186 @@
+package BackEnd.filter;
+
+import BackEnd.ratelimit.RateLimiter;
+import BackEnd.tenant.TenantContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RateLimiter} routes before a request reaches a
+ * controller, answering 429 with Retry-After when a bucket is empty. The IP
+ * is checked before the account, so a flood from one client never touches
+ * the accounts it names. The account comes from a request parameter or,
+ * for JSON bodies such as the login form, the named JSON field; the body is
+ * buffered and replayed to the controller. Bodies on these routes are small,
+ * so one over {@value #MAX_BODY_BYTES} bytes, declared or chunked, is
+ * answered 413 rather than let past the account check unread.
+ *
+ * <p>The client IP is the connection's remote address. Behind a proxy set
+ * {@code server.forward-headers-strategy} so that it is the real client.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Route route = rateLimiter.match(request.getMethod(), path);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (route.perIp() != null) {
+            long wait = route.perIp().tryTake(request.getRemoteAddr());
+            if (wait > 0) {
+                reject(response, wait);
+                return;
+            }
+        }
+        if (route.perAccount() != null) {
+            String account = request.getParameter(route.accountField());
+            if (account == null && isJson(request)) {
+                byte[] body = request.getContentLengthLong() <= MAX_BODY_BYTES
+                        ? request.getInputStream().readNBytes(MAX_BODY_BYTES + 1)
+                        : null;
+                if (body == null || body.length > MAX_BODY_BYTES) {
+                    tooLarge(response);
+                    return;
+                }
+                request = new ReplayedBodyRequest(request, body);
+                account = jsonField(body, route.accountField());
+            }
+            if (account != null && !account.isBlank()) {
+                // Accounts are per clinic
+                String key = TenantContext.currentOrDefault() + '/' + account.trim().toLowerCase(Locale.ROOT);
+                long wait = route.perAccount().tryTake(key);
+                if (wait > 0) {
+                    reject(response, wait);
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private String jsonField(byte[] body, String field) {
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are the controller's to reject; only the IP limit applies
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, (TimeUnit.NANOSECONDS.toMillis(waitNanos) + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, retry in " + seconds + " s\"}");
+    }
+
+    private static void tooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Request body over " + MAX_BODY_BYTES + " bytes\"}");
+    }
+
+    // Lets the controller read a body the filter already consumed
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        ReplayedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available and complete at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
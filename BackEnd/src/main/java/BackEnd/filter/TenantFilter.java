@@ -0,0 +1,57 @@
+package BackEnd.filter;
+
+import BackEnd.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the clinic named by X-Tenant-Id to the request thread. Requests
+ * without the header belong to the default clinic. A malformed id is
+ * rejected rather than defaulted, since guessing would read or write another
+ * clinic's records.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Tenant-Id";
+    public static final String MDC_KEY = "tenant";
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String tenant = request.getHeader(HEADER);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!TenantContext.isValid(tenant.trim())) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"message\":\"Invalid " + HEADER + " header\"}");
+            return;
+        } else {
+            tenant = tenant.trim();
+        }
+
+        TenantContext.set(tenant);
+        MDC.put(MDC_KEY, tenant);
+        // Cached GETs (ETags) differ per clinic
+        response.addHeader("Vary", HEADER);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package BackEnd.job;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.model.AppointmentSeries;
+import BackEnd.repository.AppointmentSeriesRepository;
+import BackEnd.service.AppointmentSeriesService;
+import BackEnd.service.JobLockService;
+import BackEnd.tenant.TenantDatabases;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rolls the materialization horizon of active appointment series forward, so
+ * open-ended series only ever have the next horizon's worth of rows. Runs
+ * over the shared database and then each dedicated clinic database.
+ */
+@Component
+public class AppointmentSeriesJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentSeriesJob.class);
+    private static final String LOCK_NAME = "appointment-series";
+
+    private final AppointmentSeriesRepository seriesRepository;
+    private final AppointmentSeriesService seriesService;
+    private final JobLockService jobLockService;
+    private final TenantDatabases tenantDatabases;
+    private final Duration extendAhead;
+
+    public AppointmentSeriesJob(AppointmentSeriesRepository seriesRepository,
+                                AppointmentSeriesService seriesService,
+                                JobLockService jobLockService,
+                                TenantDatabases tenantDatabases,
+                                @Value("${healthhub.appointments.series.horizon-days:366}") int horizonDays,
+                                @Value("${healthhub.appointments.series.extend-ahead-days:30}") int extendAheadDays) {
+        this.seriesRepository = seriesRepository;
+        this.seriesService = seriesService;
+        this.jobLockService = jobLockService;
+        this.tenantDatabases = tenantDatabases;
+        // Extend once less than extend-ahead days of materialized occurrences remain
+        this.extendAhead = Duration.ofDays(Math.max(horizonDays - extendAheadDays, 0));
+    }
+
+    @Scheduled(cron = "${healthhub.appointments.series.cron:0 30 2 * * *}")
+    @Bulkhead(Bulkhead.JOBS)
+    public void run() {
+        if (!jobLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            tenantDatabases.forEachDatabase(this::extendDue);
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private void extendDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AppointmentSeries> due = seriesRepository.findActiveMaterializedBefore(now.plus(extendAhead));
+        int created = 0;
+        for (AppointmentSeries series : due) {
+            try {
+                created += seriesService.extend(series, now);
+            } catch (RuntimeException e) {
+                log.error("Could not extend appointment series {}", series.getId(), e);
+            }
+        }
+        if (!due.isEmpty()) {
+            log.info("Extended {} appointment series, {} appointments created", due.size(), created);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package BackEnd.job;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.service.JobLockService;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes change feed rows nobody needs any more. For each clinic with
+ * registered consumers, everything at or below the lowest acknowledged
+ * offset goes, as a range of {@code idx_outbox_feed} deleted a chunk per
+ * statement. Rows past the retention age go whether acknowledged or not, so
+ * clinics without consumers, and consumers that stopped acknowledging, do
+ * not grow the table forever; such consumers re-sync from the list
+ * endpoints. Only the node that holds the job lock runs, once per database.
+ */
+@Component
+public class ChangeOutboxCompactionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeOutboxCompactionJob.class);
+    private static final String LOCK_NAME = "outbox-compaction";
+
+    private static final String ACKED_SQL =
+            "DELETE FROM change_outbox WHERE tenant_id = ? AND change_offset <= ? ORDER BY change_offset LIMIT ?";
+    private static final String EXPIRED_SQL =
+            "DELETE FROM change_outbox WHERE occurred_at < ? AND change_offset IS NOT NULL LIMIT ?";
+
+    private record Floor(String tenant, long offset) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLockService jobLockService;
+    private final TenantDatabases tenantDatabases;
+    private final int chunkSize;
+    private final Duration retention;
+    private final Counter compactedAcked;
+    private final Counter compactedExpired;
+    private final Counter skippedRuns;
+
+    public ChangeOutboxCompactionJob(JdbcTemplate jdbcTemplate,
+                                     JobLockService jobLockService,
+                                     TenantDatabases tenantDatabases,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${healthhub.outbox.compaction.chunk-size:5000}") int chunkSize,
+                                     @Value("${healthhub.outbox.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLockService = jobLockService;
+        this.tenantDatabases = tenantDatabases;
+        this.chunkSize = chunkSize;
+        this.retention = Duration.ofDays(retentionDays);
+        this.compactedAcked = meterRegistry.counter("outbox.compacted", "reason", "acknowledged");
+        this.compactedExpired = meterRegistry.counter("outbox.compacted", "reason", "expired");
+        this.skippedRuns = Counter.builder("outbox.compaction.skipped")
+                .description("Compactions skipped because another node held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${healthhub.outbox.compaction.interval-ms:300000}",
+               fixedDelayString = "${healthhub.outbox.compaction.interval-ms:300000}")
+    @Bulkhead(Bulkhead.JOBS)
+    public void compact() {
+        if (!jobLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            skippedRuns.increment();
+            return;
+        }
+        try {
+            tenantDatabases.forEachDatabase(this::compactDatabase);
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private void compactDatabase() {
+        String database = TenantContext.current() != null ? TenantContext.current() : "shared";
+        try {
+            List<Floor> floors = jdbcTemplate.query(
+                    "SELECT tenant_id, MIN(acked_offset) FROM change_feed_consumers GROUP BY tenant_id",
+                    (rs, rowNum) -> new Floor(rs.getString(1), rs.getLong(2)));
+            long acked = 0;
+            for (Floor floor : floors) {
+                acked += repeat(ACKED_SQL, floor.tenant(), floor.offset());
+            }
+            long expired = repeat(EXPIRED_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+            compactedAcked.increment(acked);
+            compactedExpired.increment(expired);
+            if (acked + expired > 0) {
+                log.info("Compacted {} acknowledged and {} expired changes ({} database)", acked, expired, database);
+            }
+        } catch (DataAccessException e) {
+            // Whatever was left is picked up by the next run
+            log.warn("Outbox compaction stopped early in {} database: {}", database, e.getMessage());
+        }
+    }
+
+    private long repeat(String chunkedDelete, Object... args) {
+        Object[] withLimit = new Object[args.length + 1];
+        System.arraycopy(args, 0, withLimit, 0, args.length);
+        withLimit[args.length] = chunkSize;
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(chunkedDelete, withLimit);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,111 @@
+package BackEnd.job;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.service.JobLockService;
+import BackEnd.service.MedicationCatalogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps prescription lines written before the catalog existed onto catalog
+ * rows. Walks {@code prescription_medications} in id order one chunk per
+ * transaction, so it can be interrupted and resumed at any point; once every
+ * row is mapped a run is a single indexed query.
+ */
+@Component
+public class MedicationBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MedicationBackfillJob.class);
+    private static final String LOCK_NAME = "medication-backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MedicationCatalogService catalogService;
+    private final JobLockService jobLockService;
+    private final int chunkSize;
+    private final Counter mappedCounter;
+
+    public MedicationBackfillJob(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 MedicationCatalogService catalogService,
+                                 JobLockService jobLockService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${healthhub.medications.backfill.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogService = catalogService;
+        this.jobLockService = jobLockService;
+        this.chunkSize = chunkSize;
+        this.mappedCounter = Counter.builder("medications.backfill.mapped")
+                .description("Prescription lines mapped onto the medication catalog")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${healthhub.medications.backfill.initial-delay-ms:30000}",
+               fixedDelayString = "${healthhub.medications.backfill.interval-ms:3600000}")
+    @Bulkhead(Bulkhead.JOBS)
+    public void run() {
+        if (!jobLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            backfill();
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    public int backfill() {
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, name FROM prescription_medications " +
+                    "WHERE medication_id IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    lastId, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+
+            Integer mapped = transactionTemplate.execute(status -> mapChunk(rows));
+            total += mapped != null ? mapped : 0;
+            if (rows.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            mappedCounter.increment(total);
+            catalogService.markDirty();
+            log.info("Mapped {} prescription lines onto the medication catalog", total);
+        }
+        return total;
+    }
+
+    private int mapChunk(List<Map<String, Object>> rows) {
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Long medicationId = catalogService.resolveId((String) row.get("name"));
+            if (medicationId != null) {
+                updates.add(new Object[]{medicationId, row.get("id")});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE prescription_medications SET medication_id = ? WHERE id = ? AND medication_id IS NULL",
+                updates);
+        return updates.size();
+    }
+}
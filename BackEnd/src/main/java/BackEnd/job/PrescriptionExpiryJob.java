@@ -0,0 +1,96 @@
+package BackEnd.job;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.repository.PrescriptionRepository;
+import BackEnd.service.JobLockService;
+import BackEnd.service.ResourceVersionService;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Marks ACTIVE prescriptions whose validUntil has passed as EXPIRED, using
+ * chunked set-based UPDATEs so no entity is ever loaded. Only the node that
+ * holds the job lock runs a sweep, once per database: every clinic in the
+ * shared database in one pass, then each dedicated clinic database.
+ */
+@Component
+public class PrescriptionExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionExpiryJob.class);
+    private static final String LOCK_NAME = "prescription-expiry";
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final JobLockService jobLockService;
+    private final ResourceVersionService resourceVersions;
+    private final TenantDatabases tenantDatabases;
+    private final int chunkSize;
+    private final Timer runTimer;
+    private final Counter expiredCounter;
+    private final Counter skippedRuns;
+
+    public PrescriptionExpiryJob(PrescriptionRepository prescriptionRepository,
+                                 JobLockService jobLockService,
+                                 ResourceVersionService resourceVersions,
+                                 TenantDatabases tenantDatabases,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${healthhub.prescriptions.expiry.chunk-size:1000}") int chunkSize) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.jobLockService = jobLockService;
+        this.resourceVersions = resourceVersions;
+        this.tenantDatabases = tenantDatabases;
+        this.chunkSize = chunkSize;
+        this.runTimer = Timer.builder("prescriptions.expiry.run")
+                .description("Duration of one prescription expiry sweep")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("prescriptions.expired")
+                .description("Prescriptions transitioned to EXPIRED by the sweeper")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("prescriptions.expiry.skipped")
+                .description("Sweeps skipped because another node held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${healthhub.prescriptions.expiry.cron:0 5 * * * *}")
+    @Bulkhead(Bulkhead.JOBS)
+    public void sweep() {
+        if (!jobLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            skippedRuns.increment();
+            return;
+        }
+        try {
+            runTimer.record(() -> tenantDatabases.forEachDatabase(this::expireAll));
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private void expireAll() {
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        int chunks = 0;
+        int updated;
+        do {
+            updated = prescriptionRepository.expireActiveBefore(today, chunkSize);
+            total += updated;
+            chunks++;
+        } while (updated == chunkSize);
+
+        expiredCounter.increment(total);
+        if (total > 0) {
+            resourceVersions.changed(ResourceVersionService.PRESCRIPTIONS);
+            String database = TenantContext.current() != null ? TenantContext.current() : "shared";
+            log.info("Expired {} prescriptions in {} chunks ({} database)", total, chunks, database);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package BackEnd.job;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.service.ClinicalSearchService;
+import BackEnd.service.JobLockService;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Physically removes what {@link BackEnd.service.UserDeletionService} soft
+ * deleted: hidden appointments (with their reminders and search documents),
+ * the deleted users' series and any health data left from before deletion
+ * removed it, then the user rows once nothing references them. Every step is a chunk of set-based DELETEs in its own short
+ * statement, so no entity is loaded and a long-tenured doctor is removed a
+ * chunk per statement rather than in one request. Only the node that holds
+ * the job lock runs, once per database.
+ */
+@Component
+public class UserPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeJob.class);
+    private static final String LOCK_NAME = "user-purge";
+
+    private static final String DELETED_USERS = "SELECT id FROM users WHERE deleted_at IS NOT NULL";
+    private static final String PURGE_SERIES_SQL = "DELETE FROM appointment_series "
+            + "WHERE patient_id IN (" + DELETED_USERS + ") OR doctor_id IN (" + DELETED_USERS + ") LIMIT ?";
+    // Users still referenced are kept: their rows go on a later run, once the references are gone
+    private static final String PURGE_USERS_SQL = "DELETE FROM users WHERE deleted_at IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM appointments a WHERE a.patient_id = users.id OR a.doctor_id = users.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM appointment_series s WHERE s.patient_id = users.id OR s.doctor_id = users.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM prescriptions p WHERE p.patient_id = users.id OR p.doctor_id = users.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM diet_plans d WHERE d.patient_id = users.id OR d.dietitian_id = users.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM health_data h WHERE h.user_id = users.id) "
+            + "LIMIT ?";
+
+    private record IndexedRow(String tenant, long id) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLockService jobLockService;
+    private final TenantDatabases tenantDatabases;
+    private final ClinicalSearchService searchService;
+    private final int chunkSize;
+    private final Counter purgedUsers;
+    private final Counter purgedAppointments;
+    private final Counter purgedSeries;
+    private final Counter purgedHealthData;
+    private final Counter skippedRuns;
+
+    public UserPurgeJob(JdbcTemplate jdbcTemplate,
+                        JobLockService jobLockService,
+                        TenantDatabases tenantDatabases,
+                        ClinicalSearchService searchService,
+                        MeterRegistry meterRegistry,
+                        @Value("${healthhub.users.purge.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLockService = jobLockService;
+        this.tenantDatabases = tenantDatabases;
+        this.searchService = searchService;
+        this.chunkSize = chunkSize;
+        this.purgedUsers = meterRegistry.counter("users.purged", "table", "users");
+        this.purgedAppointments = meterRegistry.counter("users.purged", "table", "appointments");
+        this.purgedSeries = meterRegistry.counter("users.purged", "table", "appointment_series");
+        this.purgedHealthData = meterRegistry.counter("users.purged", "table", "health_data");
+        this.skippedRuns = Counter.builder("users.purge.skipped")
+                .description("Purges skipped because another node held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${healthhub.users.purge.interval-ms:60000}",
+               fixedDelayString = "${healthhub.users.purge.interval-ms:60000}")
+    @Bulkhead(Bulkhead.JOBS)
+    public void purge() {
+        if (!jobLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            skippedRuns.increment();
+            return;
+        }
+        try {
+            tenantDatabases.forEachDatabase(this::purgeDatabase);
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private void purgeDatabase() {
+        String database = TenantContext.current() != null ? TenantContext.current() : "shared";
+        try {
+            long appointments = purgeIndexed(
+                    "SELECT tenant_id, id FROM appointments WHERE deleted_at IS NOT NULL LIMIT ?",
+                    ClinicalSearchService.TYPE_APPOINTMENT,
+                    "DELETE FROM appointment_reminders WHERE appointment_id IN (%s)",
+                    "DELETE FROM appointments WHERE id IN (%s)");
+            long series = repeat(PURGE_SERIES_SQL);
+            long healthData = purgeIndexed(
+                    "SELECT tenant_id, id FROM health_data WHERE user_id IN (" + DELETED_USERS + ") LIMIT ?",
+                    ClinicalSearchService.TYPE_HEALTH_DATA,
+                    "DELETE FROM health_data WHERE id IN (%s)");
+            long users = repeat(PURGE_USERS_SQL);
+            purgedAppointments.increment(appointments);
+            purgedSeries.increment(series);
+            purgedHealthData.increment(healthData);
+            purgedUsers.increment(users);
+            if (users + appointments + series + healthData > 0) {
+                log.info("Purged {} users, {} appointments, {} series and {} health records ({} database)",
+                        users, appointments, series, healthData, database);
+            }
+        } catch (DataAccessException e) {
+            // Whatever was left is picked up by the next run
+            log.warn("User purge stopped early in {} database: {}", database, e.getMessage());
+        }
+    }
+
+    // Deletes chunks of searchable rows: each delete takes the chunk's ids, then the documents go
+    private long purgeIndexed(String selectChunk, String searchType, String... deletes) {
+        long total = 0;
+        List<IndexedRow> chunk;
+        do {
+            chunk = jdbcTemplate.query(selectChunk,
+                    (rs, rowNum) -> new IndexedRow(rs.getString(1), rs.getLong(2)), chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            Object[] ids = chunk.stream().map(IndexedRow::id).toArray();
+            for (String delete : deletes) {
+                jdbcTemplate.update(delete.formatted(placeholders), ids);
+            }
+            for (IndexedRow row : chunk) {
+                // Search documents are keyed by clinic
+                TenantContext.runAs(row.tenant(), () -> searchService.remove(searchType, row.id()));
+            }
+            total += chunk.size();
+        } while (chunk.size() == chunkSize);
+        return total;
+    }
+
+    private long repeat(String chunkedDelete) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(chunkedDelete, chunkSize);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+}
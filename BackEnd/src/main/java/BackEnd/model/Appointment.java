@@ -4,33 +4,50 @@ import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "appointments")
-@JsonIdentityInfo(
-    generator = ObjectIdGenerators.PropertyGenerator.class,
-    property = "id"
-)
+@Table(name = "appointments", indexes = {
+    @Index(name = "idx_appointment_status_date", columnList = "tenant_id, status, appointment_date"),
+    @Index(name = "idx_appointment_series", columnList = "tenant_id, series_id, appointment_date"),
+    @Index(name = "idx_appointment_doctor_date", columnList = "tenant_id, doctor_id, appointment_date"),
+    @Index(name = "idx_appointment_deleted", columnList = "deleted_at")
+})
+// Hidden along with a deleted patient or doctor until UserPurgeJob removes the row
+@SQLRestriction("deleted_at IS NULL")
+@EntityListeners(ResourceVersionListener.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Appointment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     @JsonIgnoreProperties({"patientAppointments", "doctorAppointments", "assignedPatients", "assignedDietitian"})
+    @ToString.Exclude
     private User patient;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     @JsonIgnoreProperties({"patientAppointments", "doctorAppointments", "assignedPatients", "assignedDietitian"})
+    @ToString.Exclude
     private User doctor;
 
-    @Column(nullable = false)
+    @Column(name = "appointment_date", nullable = false)
     private LocalDateTime appointmentDate;
 
     @Column(length = 50)
@@ -42,12 +59,20 @@ public class Appointment {
     @Column(nullable = false, length = 20)
     private String status;
 
+    // Set when the appointment is an occurrence of an AppointmentSeries
+    @Column(name = "series_id")
+    private Long seriesId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -116,6 +141,14 @@ public class Appointment {
         this.status = status;
     }
 
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -123,4 +156,8 @@ public class Appointment {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 }
@@ -0,0 +1,37 @@
+package BackEnd.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marker for a reminder that has been claimed for delivery. The unique key
+ * makes claiming atomic, so a restart or a second node never sends the same
+ * reminder twice.
+ */
+@Entity
+@Table(name = "appointment_reminders", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_appointment_reminder", columnNames = {"appointment_id", "offset_minutes"})
+})
+public class AppointmentReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    // How long before the appointment this reminder goes out
+    @Column(name = "offset_minutes", nullable = false)
+    private Integer offsetMinutes;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+
+    public AppointmentReminder() {}
+
+    public Long getId() { return id; }
+    public Long getAppointmentId() { return appointmentId; }
+    public Integer getOffsetMinutes() { return offsetMinutes; }
+    public LocalDateTime getSentAt() { return sentAt; }
+}
@@ -0,0 +1,149 @@
+package BackEnd.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+/**
+ * A recurring appointment, stored once as a start time plus an RRULE-style
+ * rule. Occurrences are materialized as ordinary {@link Appointment} rows only
+ * up to {@code materializedUntil}, which a job rolls forward.
+ */
+@Entity
+@Table(name = "appointment_series", indexes = {
+    @Index(name = "idx_series_status_materialized", columnList = "tenant_id, status, materialized_until")
+})
+public class AppointmentSeries {
+
+    public static final String STATUS_ACTIVE = "active";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final String STATUS_CANCELLED = "cancelled";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "patientAppointments", "doctorAppointments", "assignedPatients", "assignedDietitian"})
+    private User patient;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "patientAppointments", "doctorAppointments", "assignedPatients", "assignedDietitian"})
+    private User doctor;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime startDate;
+
+    // e.g. FREQ=WEEKLY;INTERVAL=1;COUNT=52
+    @Column(name = "recurrence_rule", nullable = false)
+    private String recurrenceRule;
+
+    @Column(length = 50)
+    private String type;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(nullable = false, length = 20)
+    private String status = STATUS_ACTIVE;
+
+    // Occurrences before this instant exist as appointment rows
+    @Column(name = "materialized_until", nullable = false)
+    private LocalDateTime materializedUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public User getPatient() {
+        return patient;
+    }
+
+    public void setPatient(User patient) {
+        this.patient = patient;
+    }
+
+    public User getDoctor() {
+        return doctor;
+    }
+
+    public void setDoctor(User doctor) {
+        this.doctor = doctor;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getMaterializedUntil() {
+        return materializedUntil;
+    }
+
+    public void setMaterializedUntil(LocalDateTime materializedUntil) {
+        this.materializedUntil = materializedUntil;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
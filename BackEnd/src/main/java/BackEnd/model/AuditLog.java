@@ -0,0 +1,85 @@
+package BackEnd.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a mutation. Rows are written in batches by
+ * {@link BackEnd.service.AuditService} and never updated.
+ */
+@Entity
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_created", columnList = "tenant_id, created_at, id"),
+    @Index(name = "idx_audit_entity", columnList = "tenant_id, entity, entity_id, created_at"),
+    @Index(name = "idx_audit_action", columnList = "tenant_id, action, created_at"),
+    @Index(name = "idx_audit_actor", columnList = "tenant_id, actor_id, created_at")
+})
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "actor_id", updatable = false)
+    private Long actorId;
+
+    @Column(nullable = false, length = 30, updatable = false)
+    private String action;
+
+    @Column(nullable = false, length = 30, updatable = false)
+    private String entity;
+
+    @Column(name = "entity_id", updatable = false)
+    private Long entityId;
+
+    @Column(length = 500, updatable = false)
+    private String description;
+
+    public AuditLog() {}
+
+    public AuditLog(String tenantId, LocalDateTime createdAt, Long actorId, String action, String entity, Long entityId,
+                    String description) {
+        this.tenantId = tenantId;
+        this.createdAt = createdAt;
+        this.actorId = actorId;
+        this.action = action;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.description = description;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTenantId() { return tenantId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Long getActorId() { return actorId; }
+    public void setActorId(Long actorId) { this.actorId = actorId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getEntity() { return entity; }
+    public void setEntity(String entity) { this.entity = entity; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
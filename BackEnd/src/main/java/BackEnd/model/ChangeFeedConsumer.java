@@ -0,0 +1,40 @@
+package BackEnd.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A downstream system reading a clinic's change feed, and the last offset it
+ * has acknowledged. Outbox rows at or below every consumer's offset are
+ * compacted away by {@link BackEnd.job.ChangeOutboxCompactionJob}.
+ */
+@Entity
+@Table(name = "change_feed_consumers", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_consumer_tenant_name", columnNames = {"tenant_id", "name"})
+})
+public class ChangeFeedConsumer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    @Column(nullable = false, length = 64, updatable = false)
+    private String name;
+
+    @Column(name = "acked_offset", nullable = false)
+    private long ackedOffset;
+
+    @Column(name = "acked_at", nullable = false)
+    private LocalDateTime ackedAt;
+
+    public ChangeFeedConsumer() {}
+
+    public Long getId() { return id; }
+    public String getTenantId() { return tenantId; }
+    public String getName() { return name; }
+    public long getAckedOffset() { return ackedOffset; }
+    public LocalDateTime getAckedAt() { return ackedAt; }
+}
@@ -0,0 +1,68 @@
+package BackEnd.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One committed change, written by {@link BackEnd.service.ChangeOutboxService}
+ * in the transaction that made it. {@code changeOffset} is null until the
+ * sequencer numbers the row after commit; the change feed only serves
+ * numbered rows, in offset order.
+ */
+@Entity
+@Table(name = "change_outbox", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_outbox_offset", columnNames = {"change_offset"})
+}, indexes = {
+    @Index(name = "idx_outbox_feed", columnList = "tenant_id, change_offset"),
+    @Index(name = "idx_outbox_occurred", columnList = "occurred_at")
+})
+public class ChangeOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "change_offset")
+    private Long changeOffset;
+
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    @Column(nullable = false, length = 30, updatable = false)
+    private String entity;
+
+    @Column(nullable = false, length = 30, updatable = false)
+    private String action;
+
+    @Column(name = "entity_id", updatable = false)
+    private Long entityId;
+
+    @Column(name = "patient_id", updatable = false)
+    private Long patientId;
+
+    @Column(name = "doctor_id", updatable = false)
+    private Long doctorId;
+
+    @Column(name = "dietitian_id", updatable = false)
+    private Long dietitianId;
+
+    @Column(length = 30, updatable = false)
+    private String status;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public ChangeOutboxEntry() {}
+
+    public Long getId() { return id; }
+    public Long getChangeOffset() { return changeOffset; }
+    public String getTenantId() { return tenantId; }
+    public String getEntity() { return entity; }
+    public String getAction() { return action; }
+    public Long getEntityId() { return entityId; }
+    public Long getPatientId() { return patientId; }
+    public Long getDoctorId() { return doctorId; }
+    public Long getDietitianId() { return dietitianId; }
+    public String getStatus() { return status; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
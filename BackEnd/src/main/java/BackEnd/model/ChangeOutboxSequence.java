@@ -0,0 +1,27 @@
+package BackEnd.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Single row holding the last change offset handed out in this database.
+ * The sequencer locks it while numbering, so offsets are never reused or
+ * skipped, even after compaction has deleted every outbox row.
+ */
+@Entity
+@Table(name = "change_outbox_sequence")
+public class ChangeOutboxSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_offset", nullable = false)
+    private long lastOffset;
+
+    public ChangeOutboxSequence() {}
+
+    public Integer getId() { return id; }
+    public long getLastOffset() { return lastOffset; }
+}
@@ -1,20 +1,34 @@
 package BackEnd.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "diet_plans")
+@Table(name = "diet_plans", indexes = {
+    @Index(name = "idx_diet_plan_patient", columnList = "tenant_id, patient_id"),
+    @Index(name = "idx_diet_plan_dietitian", columnList = "tenant_id, dietitian_id")
+})
+@EntityListeners(ResourceVersionListener.class)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class DietPlan {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
     @Column(nullable = false)
     private String title;
 
@@ -92,6 +106,10 @@ public class DietPlan {
         return id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -1,19 +1,36 @@
 package BackEnd.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
 @Entity
+@Table(indexes = @Index(name = "idx_health_data_user", columnList = "tenant_id, user_id"))
+@EntityListeners(ResourceVersionListener.class)
 public class HealthData {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
     @NotNull(message = "User ID is required")
+    @Column(name = "user_id")
     private Long userId;
 
     private Integer age;
@@ -51,6 +68,7 @@ public class HealthData {
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public String getTenantId() { return tenantId; }
 
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
@@ -1,19 +1,33 @@
 package BackEnd.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
 @Entity
+@Table(indexes = @Index(name = "idx_inventory_item", columnList = "tenant_id, itemid"))
 public class InventryModel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
     @NotBlank(message = "Item ID is required")
     private String itemid;
     
@@ -43,6 +57,7 @@ public class InventryModel {
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public String getTenantId() { return tenantId; }
     public String getItemid() { return itemid; }
     public void setItemid(String itemid) { this.itemid = itemid; }
     public String getItemName() { return itemName; }
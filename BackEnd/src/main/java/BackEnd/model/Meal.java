@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "meals")
+@EntityListeners(ResourceVersionListener.class)
 public class Meal {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
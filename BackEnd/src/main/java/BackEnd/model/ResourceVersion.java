@@ -0,0 +1,28 @@
+package BackEnd.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Cluster-wide change counter of one collection, kept in the shared database
+ * by {@link BackEnd.service.ResourceVersionService} so every node derives the
+ * same ETags.
+ */
+@Entity
+@Table(name = "resource_versions")
+public class ResourceVersion {
+
+    @Id
+    @Column(length = 32)
+    private String collection;
+
+    @Column(nullable = false)
+    private long version;
+
+    public ResourceVersion() {}
+
+    public String getCollection() { return collection; }
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,49 @@
+package BackEnd.model;
+
+import BackEnd.model.prescription.Prescription;
+import BackEnd.model.prescription.PrescriptionMedication;
+import BackEnd.service.ResourceVersionService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Bumps the {@link ResourceVersionService} counter of the collection an
+ * entity belongs to whenever Hibernate writes it. Instantiated through
+ * Spring's bean container, so the service is injected.
+ */
+public class ResourceVersionListener {
+
+    private final ResourceVersionService resourceVersions;
+
+    @Autowired
+    public ResourceVersionListener(ResourceVersionService resourceVersions) {
+        this.resourceVersions = resourceVersions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        String collection = collectionOf(entity);
+        if (collection != null) {
+            resourceVersions.changed(collection);
+        }
+    }
+
+    private static String collectionOf(Object entity) {
+        if (entity instanceof User) {
+            return ResourceVersionService.USERS;
+        } else if (entity instanceof DietPlan || entity instanceof Meal) {
+            return ResourceVersionService.DIET_PLANS;
+        } else if (entity instanceof HealthData) {
+            return ResourceVersionService.HEALTH_DATA;
+        } else if (entity instanceof Prescription || entity instanceof PrescriptionMedication) {
+            return ResourceVersionService.PRESCRIPTIONS;
+        } else if (entity instanceof Appointment) {
+            return ResourceVersionService.APPOINTMENTS;
+        }
+        return null;
+    }
+}
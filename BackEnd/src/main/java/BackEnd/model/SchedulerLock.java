@@ -0,0 +1,36 @@
+package BackEnd.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Lease row used by {@link BackEnd.service.JobLockService} so a scheduled job
+ * runs on only one node at a time.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    public SchedulerLock() {}
+
+    public String getName() { return name; }
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+    public LocalDateTime getLockedAt() { return lockedAt; }
+    public String getLockedBy() { return lockedBy; }
+}
@@ -7,23 +7,37 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
-import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
 
 @Entity
-@Table(name = "users")
+// InnoDB appends the primary key to every secondary index, so each of these
+// also serves the directory's ORDER BY id keyset scan within its filter
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_tenant_email", columnNames = {"tenant_id", "email"})
+}, indexes = {
+    @Index(name = "idx_user_role", columnList = "tenant_id, role"),
+    @Index(name = "idx_user_role_status", columnList = "tenant_id, role, status"),
+    @Index(name = "idx_user_status", columnList = "tenant_id, status"),
+    @Index(name = "idx_user_full_name", columnList = "tenant_id, full_name"),
+    @Index(name = "idx_user_deleted", columnList = "deleted_at")
+})
+// Soft-deleted users are invisible to every query and association; UserPurgeJob removes the rows
+@SQLRestriction("deleted_at IS NULL")
+@EntityListeners(ResourceVersionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonIdentityInfo(
-  generator = ObjectIdGenerators.PropertyGenerator.class,
-  property = "id"
-)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
@@ -31,13 +45,22 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
     @NotBlank(message = "Full name is required")
     @Size(min = 3, max = 100, message = "Full name must be between 3 and 100 characters")
+    @Column(name = "full_name")
     private String fullName;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Please provide a valid email address")
-    @Column(unique = true)
+    // Unique per clinic (uk_user_tenant_email)
+    @Column(name = "email")
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -61,19 +84,25 @@ public class User {
 
     private LocalDateTime updatedAt;
 
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_dietitian_id")
     private User assignedDietitian;
 
-    @OneToMany(mappedBy = "assignedDietitian", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    // Read-only views: deleting a user unassigns or hides these with bulk statements,
+    // so nothing here is cascaded or loaded just to be deleted
+    @OneToMany(mappedBy = "assignedDietitian", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<User> assignedPatients = new ArrayList<>();
 
-    @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "patient")
     @JsonIgnore
     private List<Appointment> patientAppointments = new ArrayList<>();
 
-    @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "doctor")
     @JsonIgnore
     private List<Appointment> doctorAppointments = new ArrayList<>();
 
@@ -102,6 +131,10 @@ public class User {
         return id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -178,6 +211,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     public User getAssignedDietitian() {
         return assignedDietitian;
     }
@@ -0,0 +1,49 @@
+package BackEnd.model.prescription;
+
+import jakarta.persistence.*;
+
+/**
+ * Catalog entry for a medication. Prescription lines reference it by id so
+ * "who is on drug X" is an indexed lookup instead of a string scan.
+ */
+@Entity
+@Table(name = "medications", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_medication_normalized_name", columnNames = "normalized_name")
+})
+public class Medication {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Display name as first prescribed
+    @Column(nullable = false)
+    private String name;
+
+    // Lower-cased, whitespace-collapsed key used for matching
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
+    public Medication() {}
+
+    public Medication(String name, String normalizedName) {
+        this.name = name;
+        this.normalizedName = normalizedName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+}
@@ -1,18 +1,38 @@
 package BackEnd.model.prescription;
 
+import BackEnd.model.ResourceVersionListener;
 import BackEnd.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "prescriptions")
+// The expiry job scans all clinics at once (root tenant); MySQL skip-scans the tenant prefix
+@Table(name = "prescriptions", indexes = {
+    @Index(name = "idx_prescription_status_valid_until", columnList = "tenant_id, status, valid_until"),
+    @Index(name = "idx_prescription_patient", columnList = "tenant_id, patient_id"),
+    @Index(name = "idx_prescription_doctor", columnList = "tenant_id, doctor_id")
+})
+@EntityListeners(ResourceVersionListener.class)
 public class Prescription {
+
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    public static final String STATUS_EXPIRED = "EXPIRED";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
@@ -35,7 +55,7 @@ public class Prescription {
     private LocalDate prescriptionDate = LocalDate.now();
     
     @Column(nullable = false)
-    private String status = "ACTIVE";
+    private String status = STATUS_ACTIVE;
     
     @OneToMany(mappedBy = "prescription", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PrescriptionMedication> medications = new ArrayList<>();
@@ -45,6 +65,10 @@ public class Prescription {
         return id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -105,6 +129,15 @@ public class Prescription {
         this.status = status;
     }
 
+    // Status as readers should see it: an ACTIVE prescription past its
+    // validUntil date is expired even if the sweeper has not run yet
+    public String getEffectiveStatus() {
+        if (STATUS_ACTIVE.equals(status) && validUntil != null && validUntil.isBefore(LocalDate.now())) {
+            return STATUS_EXPIRED;
+        }
+        return status;
+    }
+
     public List<PrescriptionMedication> getMedications() {
         return medications;
     }
@@ -1,9 +1,13 @@
 package BackEnd.model.prescription;
 
+import BackEnd.model.ResourceVersionListener;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "prescription_medications")
+@Table(name = "prescription_medications", indexes = {
+    @Index(name = "idx_prescription_medication_catalog", columnList = "medication_id")
+})
+@EntityListeners(ResourceVersionListener.class)
 public class PrescriptionMedication {
     
     @Id
@@ -16,6 +20,11 @@ public class PrescriptionMedication {
     
     @Column(nullable = false)
     private String name;
+
+    // Catalog reference; null until the backfill job has mapped older rows
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "medication_id")
+    private Medication medication;
     
     @Column(nullable = false)
     private String dosage;
@@ -54,6 +63,14 @@ public class PrescriptionMedication {
         this.name = name;
     }
 
+    public Medication getMedication() {
+        return medication;
+    }
+
+    public void setMedication(Medication medication) {
+        this.medication = medication;
+    }
+
     public String getDosage() {
         return dosage;
     }
@@ -0,0 +1,95 @@
+package BackEnd.model.prescription;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+/**
+ * One entry in a prescription's append-only revision journal. Most entries
+ * hold a field-level delta against the previous revision; every few revisions
+ * (and the first) hold a full snapshot so reconstruction never replays more
+ * than one snapshot interval of deltas.
+ */
+@Entity
+@Table(name = "prescription_revisions",
+    uniqueConstraints = @UniqueConstraint(name = "uk_prescription_revision",
+        columnNames = {"tenant_id", "prescription_id", "revision"}),
+    indexes = @Index(name = "idx_prescription_revision_time", columnList = "tenant_id, prescription_id, changed_at"))
+public class PrescriptionRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owning clinic: filled in by Hibernate on insert and added to every query
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    @ColumnDefault("'default'")
+    @JsonIgnore
+    private String tenantId;
+
+    @Column(name = "prescription_id", nullable = false, updatable = false)
+    private Long prescriptionId;
+
+    @Column(nullable = false, updatable = false)
+    private int revision;
+
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "changed_by", updatable = false)
+    private Long changedBy;
+
+    @Column(nullable = false, updatable = false)
+    private boolean snapshot;
+
+    @Column(columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String payload;
+
+    public PrescriptionRevision() {
+    }
+
+    public PrescriptionRevision(Long prescriptionId, int revision, LocalDateTime changedAt, Long changedBy,
+                                boolean snapshot, String payload) {
+        this.prescriptionId = prescriptionId;
+        this.revision = revision;
+        this.changedAt = changedAt;
+        this.changedBy = changedBy;
+        this.snapshot = snapshot;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public Long getPrescriptionId() {
+        return prescriptionId;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public Long getChangedBy() {
+        return changedBy;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
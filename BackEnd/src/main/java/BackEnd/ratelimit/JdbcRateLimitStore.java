@@ -0,0 +1,85 @@
+package BackEnd.ratelimit;
+
+import BackEnd.tenant.TenantContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared-state backend, so a limit holds across nodes rather than per node.
+ * The same bucket as {@link TokenBucket}, one row per key in the shared
+ * database, taken with a single conditional UPDATE: two nodes cannot both
+ * take the last token. Times are epoch microseconds from the nodes' clocks,
+ * which are assumed NTP-synced; skew only loosens or tightens a limit
+ * slightly.
+ */
+public class JdbcRateLimitStore {
+
+    static final String CREATE_SQL = "CREATE TABLE IF NOT EXISTS rate_limit_bucket "
+            + "(bucket_key VARCHAR(320) PRIMARY KEY, full_at BIGINT NOT NULL)";
+    private static final String TAKE_SQL = "UPDATE rate_limit_bucket SET full_at = GREATEST(full_at, ?) + ? "
+            + "WHERE bucket_key = ? AND GREATEST(full_at, ?) + ? - ? <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean tableReady;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise nanoseconds until one will be available
+     */
+    public long tryTake(String key, int capacity, Duration period) {
+        // Buckets live in the shared database whichever clinic is asking
+        return TenantContext.callAs(null, () -> take(key, capacity, period));
+    }
+
+    private long take(String key, int capacity, Duration period) {
+        ensureTable();
+        long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        long interval = Math.max(1, TimeUnit.NANOSECONDS.toMicros(period.toNanos()) / capacity);
+        long burst = capacity * interval;
+        if (update(key, now, interval, burst)) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO rate_limit_bucket (bucket_key, full_at) VALUES (?, ?)", key, now + interval);
+            return 0;
+        } catch (DuplicateKeyException e) {
+            // Another node created the bucket between our UPDATE and INSERT
+            if (update(key, now, interval, burst)) {
+                return 0;
+            }
+        }
+        List<Long> fullAt = jdbcTemplate.queryForList("SELECT full_at FROM rate_limit_bucket WHERE bucket_key = ?",
+                Long.class, key);
+        long wait = fullAt.isEmpty() ? interval : Math.max(fullAt.get(0), now) + interval - burst - now;
+        return TimeUnit.MICROSECONDS.toNanos(Math.max(1, wait));
+    }
+
+    private boolean update(String key, long now, long interval, long burst) {
+        return jdbcTemplate.update(TAKE_SQL, now, interval, key, now, interval, burst, now) == 1;
+    }
+
+    private void ensureTable() {
+        if (!tableReady) {
+            jdbcTemplate.execute(CREATE_SQL);
+            tableReady = true;
+        }
+    }
+
+    /** Drops buckets that have been full for a minute; a missing row reads as a full bucket. */
+    @Scheduled(fixedDelayString = "${healthhub.ratelimit.sweep-ms:300000}")
+    public void sweep() {
+        if (!tableReady) {
+            return;
+        }
+        long cutoff = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - 60_000);
+        TenantContext.runAs(null, () -> jdbcTemplate.update("DELETE FROM rate_limit_bucket WHERE full_at < ?", cutoff));
+    }
+}
@@ -0,0 +1,124 @@
+package BackEnd.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bound from {@code healthhub.ratelimit.*}. Each route limits requests per
+ * client IP, per account, or both; a request must pass every limit on the
+ * first route that matches it.
+ */
+public class RateLimitProperties {
+
+    public enum Backend { LOCAL, JDBC }
+
+    private boolean enabled = true;
+    private Backend backend = Backend.LOCAL;
+    private long maxKeys = 100_000;
+    private List<Route> routes = new ArrayList<>();
+
+    public static class Route {
+
+        private String method;
+        private String path;
+        private Limit perIp;
+        private Limit perAccount;
+        private String accountField = "email";
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Limit getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(Limit perIp) {
+            this.perIp = perIp;
+        }
+
+        public Limit getPerAccount() {
+            return perAccount;
+        }
+
+        public void setPerAccount(Limit perAccount) {
+            this.perAccount = perAccount;
+        }
+
+        public String getAccountField() {
+            return accountField;
+        }
+
+        public void setAccountField(String accountField) {
+            this.accountField = accountField;
+        }
+    }
+
+    /** {@code capacity} requests per {@code period}, all of which may arrive at once */
+    public static class Limit {
+
+        private int capacity;
+        private Duration period = Duration.ofMinutes(1);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Backend getBackend() {
+        return backend;
+    }
+
+    public void setBackend(Backend backend) {
+        this.backend = backend;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+}
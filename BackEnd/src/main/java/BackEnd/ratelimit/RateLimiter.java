@@ -0,0 +1,148 @@
+package BackEnd.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The configured routes and their buckets. Buckets are created on first use
+ * and dropped once idle for as long as they take to refill, when they would
+ * be full again anyway; {@code max-keys} caps each limit's bucket count, so a
+ * flood of distinct IPs costs bounded memory.
+ *
+ * <p>With the JDBC backend a request must also get a token from the shared
+ * bucket. The local bucket still answers first, so a client over the limit
+ * is turned away without a database round trip. If the shared store fails
+ * the local answer stands.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    public static final class Route {
+
+        private final String method;
+        private final String path;
+        private final String accountField;
+        private final Limiter perIp;
+        private final Limiter perAccount;
+
+        private Route(int index, RateLimitProperties.Route route, long maxKeys, JdbcRateLimitStore shared,
+                      MeterRegistry registry) {
+            this.method = route.getMethod();
+            this.path = route.getPath();
+            this.accountField = route.getAccountField();
+            this.perIp = route.getPerIp() != null
+                    ? new Limiter(index + ":ip", path, "ip", route.getPerIp(), maxKeys, shared, registry) : null;
+            this.perAccount = route.getPerAccount() != null
+                    ? new Limiter(index + ":account", path, "account", route.getPerAccount(), maxKeys, shared, registry)
+                    : null;
+        }
+
+        public Limiter perIp() {
+            return perIp;
+        }
+
+        public Limiter perAccount() {
+            return perAccount;
+        }
+
+        public String accountField() {
+            return accountField;
+        }
+    }
+
+    public static final class Limiter {
+
+        private final String id;
+        private final int capacity;
+        private final Duration period;
+        private final Cache<String, TokenBucket> buckets;
+        private final JdbcRateLimitStore shared;
+        private final Counter allowed;
+        private final Counter limited;
+        private final Counter sharedErrors;
+
+        private Limiter(String id, String path, String key, RateLimitProperties.Limit limit, long maxKeys,
+                        JdbcRateLimitStore shared, MeterRegistry registry) {
+            this.id = id;
+            this.capacity = limit.getCapacity();
+            this.period = limit.getPeriod();
+            Duration idle = Duration.ofNanos(new TokenBucket(capacity, period, 0).refillNanos());
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(idle)
+                    .maximumSize(maxKeys)
+                    .build();
+            this.shared = shared;
+            this.allowed = registry.counter("ratelimit.requests", "route", path, "key", key, "result", "allowed");
+            this.limited = registry.counter("ratelimit.requests", "route", path, "key", key, "result", "limited");
+            this.sharedErrors = registry.counter("ratelimit.shared.errors", "route", path, "key", key);
+            Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                    .description("Buckets held in memory")
+                    .tags("route", path, "key", key)
+                    .register(registry);
+        }
+
+        /**
+         * @return 0 if the request may proceed, otherwise nanoseconds until it could
+         */
+        public long tryTake(String key) {
+            long now = System.nanoTime();
+            long wait = buckets.get(key, k -> new TokenBucket(capacity, period, now)).tryTake(now);
+            if (wait == 0 && shared != null) {
+                try {
+                    wait = shared.tryTake(id + ':' + key, capacity, period);
+                } catch (DataAccessException e) {
+                    sharedErrors.increment();
+                    log.debug("Shared rate limit store unavailable, using the local bucket: {}", e.getMessage());
+                }
+            }
+            (wait == 0 ? allowed : limited).increment();
+            return wait;
+        }
+    }
+
+    private final boolean enabled;
+    private final List<Route> routes = new ArrayList<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties, ObjectProvider<JdbcRateLimitStore> sharedStore,
+                       MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        JdbcRateLimitStore shared = sharedStore.getIfAvailable();
+        List<RateLimitProperties.Route> configured = properties.getRoutes();
+        for (int i = 0; i < configured.size(); i++) {
+            RateLimitProperties.Route route = configured.get(i);
+            if (route.getPath() == null) {
+                throw new IllegalStateException("healthhub.ratelimit.routes[" + i + "].path is required");
+            }
+            routes.add(new Route(i, route, properties.getMaxKeys(), shared, meterRegistry));
+        }
+    }
+
+    /** First route matching the request, or null when it is not limited */
+    public Route match(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (Route route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(method)) && matcher.match(route.path, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
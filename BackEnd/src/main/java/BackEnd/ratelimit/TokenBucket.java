@@ -0,0 +1,52 @@
+package BackEnd.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of {@code capacity} tokens refilled at capacity per period,
+ * held as one number: the instant the bucket will be full again (the GCRA
+ * formulation). Taking a token pushes that instant one refill interval
+ * later; a take that would push it more than capacity intervals past now is
+ * refused. Takes are a single CAS, so concurrent requests never lock.
+ *
+ * <p>Times are caller-supplied nanoseconds from any fixed origin
+ * ({@link System#nanoTime()} in production).
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, Duration period, long now) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("capacity and period must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise nanoseconds until one will be available
+     */
+    public long tryTake(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - capacity * intervalNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Time for an empty bucket to fill; a bucket idle this long is indistinguishable from a new one. */
+    public long refillNanos() {
+        return capacity * intervalNanos;
+    }
+}
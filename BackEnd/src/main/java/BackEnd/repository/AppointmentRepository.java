@@ -2,8 +2,12 @@ package BackEnd.repository;
 
 import BackEnd.model.Appointment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -13,4 +17,28 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
         Long doctorId, LocalDateTime start, LocalDateTime end);
     boolean existsByDoctorIdAndAppointmentDateBetween(
         Long doctorId, LocalDateTime start, LocalDateTime end);
+
+    // (id, appointmentDate) of scheduled appointments in [from, to), for loading the reminder wheel
+    @Query("SELECT a.id, a.appointmentDate FROM Appointment a " +
+           "WHERE a.status = 'scheduled' AND a.appointmentDate >= :from AND a.appointmentDate < :to")
+    List<Object[]> findScheduledBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Booked slots of a doctor over a whole series range, fetched once for bulk conflict checks
+    @Query("SELECT a.appointmentDate FROM Appointment a WHERE a.doctor.id = :doctorId " +
+           "AND a.appointmentDate BETWEEN :start AND :end AND a.status <> 'cancelled'")
+    List<LocalDateTime> findBookedTimes(@Param("doctorId") Long doctorId,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
+
+    @Query("SELECT a.id, a.appointmentDate FROM Appointment a WHERE a.seriesId = :seriesId ORDER BY a.appointmentDate")
+    List<Object[]> findSeriesOccurrences(@Param("seriesId") Long seriesId);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.id IN :ids")
+    List<Appointment> findWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Hides a deleted user's appointments in one statement; UserPurgeJob removes the rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.deletedAt = :now " +
+           "WHERE (a.patient.id = :userId OR a.doctor.id = :userId) AND a.deletedAt IS NULL")
+    int hideForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
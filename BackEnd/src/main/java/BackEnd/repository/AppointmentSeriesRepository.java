@@ -0,0 +1,25 @@
+package BackEnd.repository;
+
+import BackEnd.model.AppointmentSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AppointmentSeriesRepository extends JpaRepository<AppointmentSeries, Long> {
+
+    @Query("SELECT s FROM AppointmentSeries s JOIN FETCH s.patient JOIN FETCH s.doctor " +
+           "WHERE s.status = 'active' AND s.materializedUntil < :horizon ORDER BY s.id")
+    List<AppointmentSeries> findActiveMaterializedBefore(@Param("horizon") LocalDateTime horizon);
+
+    List<AppointmentSeries> findByPatientIdOrderByStartDateDesc(Long patientId);
+
+    // Stops materializing occurrences for a deleted participant; UserPurgeJob removes the rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSeries s SET s.status = 'cancelled' " +
+           "WHERE (s.patient.id = :userId OR s.doctor.id = :userId) AND s.status = 'active'")
+    int cancelForUser(@Param("userId") Long userId);
+}
@@ -14,6 +14,7 @@ public interface DietPlanRepository extends JpaRepository<DietPlan, Long> {
     List<DietPlan> findByPatientId(Long patientId);
     List<DietPlan> findByDietitianId(Long dietitianId);
     List<DietPlan> findByStatus(String status);
+    boolean existsByPatientIdOrDietitianId(Long patientId, Long dietitianId);
     
     @Query("SELECT dp FROM DietPlan dp " +
            "LEFT JOIN FETCH dp.patient " +
@@ -0,0 +1,97 @@
+package BackEnd.repository;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields a list endpoint lets clients pick with {@code ?fields=}, each
+ * mapped to the entity attribute it is read from. A dotted path reads through
+ * a to-one association: the foreign key for {@code doctor.id}, a join for
+ * {@code doctor.fullName}. Anything not listed here, such as passwords or
+ * tenant ids, cannot be selected.
+ */
+public final class FieldProjection<T> {
+
+    public static final String ID = "id";
+
+    private final Class<T> entity;
+    private final Map<String, String> paths;
+
+    private FieldProjection(Class<T> entity, Map<String, String> paths) {
+        this.entity = entity;
+        this.paths = Collections.unmodifiableMap(paths);
+    }
+
+    public static <T> Builder<T> of(Class<T> entity) {
+        return new Builder<>(entity);
+    }
+
+    public Class<T> entity() {
+        return entity;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter. The id is always
+     * selected, first, since clients key and page on it.
+     *
+     * @return the requested fields in order, or null when none were requested
+     * @throws IllegalArgumentException if a field is not selectable
+     */
+    public List<String> select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<String> selected = new ArrayList<>();
+        selected.add(ID);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || selected.contains(name)) {
+                continue;
+            }
+            if (!paths.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'; available fields: "
+                        + String.join(", ", paths.keySet()));
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    Path<?> path(Root<T> root, String field) {
+        Path<?> path = root;
+        for (String attribute : paths.get(field).split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> entity;
+        private final Map<String, String> paths = new LinkedHashMap<>();
+
+        private Builder(Class<T> entity) {
+            this.entity = entity;
+            paths.put(ID, ID);
+        }
+
+        public Builder<T> field(String name) {
+            return field(name, name);
+        }
+
+        public Builder<T> field(String name, String attributePath) {
+            paths.put(name, attributePath);
+            return this;
+        }
+
+        public FieldProjection<T> build() {
+            return new FieldProjection<>(entity, new LinkedHashMap<>(paths));
+        }
+    }
+}
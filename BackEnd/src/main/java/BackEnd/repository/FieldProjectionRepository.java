@@ -0,0 +1,68 @@
+package BackEnd.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs list queries for sparse fieldsets as Criteria tuple queries, so the
+ * SELECT names only the requested columns: unrequested TEXT columns are never
+ * read, no entity is built or put in the persistence context, and each row
+ * becomes a map that serializes to exactly the requested properties, in the
+ * order asked for. Tenant and soft-delete restrictions apply as they do to
+ * entity queries.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param fields as returned by {@link FieldProjection#select(String)}
+     * @param limit  maximum rows, or null for all of them
+     */
+    public <T> List<Map<String, Object>> findAll(FieldProjection<T> projection, List<String> fields,
+                                                 Specification<T> spec, Sort sort, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(projection.entity());
+
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> projection.path(root, field).alias(field))
+                .toList());
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit != null) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (String field : fields) {
+                        row.put(field, tuple.get(field));
+                    }
+                    return row;
+                })
+                .toList();
+    }
+}
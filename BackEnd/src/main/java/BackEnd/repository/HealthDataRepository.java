@@ -2,9 +2,19 @@ package BackEnd.repository;
 
 import BackEnd.model.HealthData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface HealthDataRepository extends JpaRepository<HealthData, Long> {
     List<HealthData> findByUserId(Long userId);
+
+    @Query("SELECT h.id FROM HealthData h WHERE h.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM HealthData h WHERE h.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
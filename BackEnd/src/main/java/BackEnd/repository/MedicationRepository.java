@@ -0,0 +1,25 @@
+package BackEnd.repository;
+
+import BackEnd.model.prescription.Medication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MedicationRepository extends JpaRepository<Medication, Long> {
+
+    // (id, name, prescription line count) for every catalog entry, used to rank autocomplete
+    @Query("SELECT m.id, m.name, COUNT(pm.id) FROM Medication m " +
+           "LEFT JOIN PrescriptionMedication pm ON pm.medication = m " +
+           "GROUP BY m.id, m.name")
+    List<Object[]> findAllWithPrescribingCounts();
+
+    // Patients with an active prescription for the medication, as (id, fullName) rows
+    @Query("SELECT DISTINCT u.id, u.fullName " +
+           "FROM PrescriptionMedication pm JOIN pm.prescription p JOIN p.patient u " +
+           "WHERE pm.medication.id = :medicationId AND p.status = 'ACTIVE'")
+    List<Object[]> findActivePatients(@Param("medicationId") Long medicationId);
+}
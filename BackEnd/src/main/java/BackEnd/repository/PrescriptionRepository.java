@@ -2,11 +2,16 @@ package BackEnd.repository;
 
 import BackEnd.model.User;
 import BackEnd.model.prescription.Prescription;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +19,15 @@ import java.util.Optional;
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
     List<Prescription> findByPatientId(Long patientId);
     List<Prescription> findByDoctorId(Long doctorId);
+    boolean existsByPatientIdOrDoctorId(Long patientId, Long doctorId);
+
+    // Row lock for edits: concurrent updates of one prescription take turns, so each sees the last one's revision
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Prescription p WHERE p.id = :id")
+    Optional<Prescription> findByIdForUpdate(@Param("id") Long id);
     
-    @Query(value = "SELECT DISTINCT u.* FROM users u " +
-            "INNER JOIN prescriptions p ON u.id = p.patient_id", 
-           nativeQuery = true)
+    // JPQL rather than native SQL so Hibernate adds the tenant restriction
+    @Query("SELECT DISTINCT p.patient FROM Prescription p")
     List<User> findDistinctPatients();
     
     @Query("SELECT p FROM Prescription p WHERE p.patient = :patient ORDER BY p.prescriptionDate DESC")
@@ -25,4 +35,21 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
     
     @Query("SELECT p FROM Prescription p WHERE p.patient = :patient ORDER BY p.prescriptionDate DESC LIMIT 1")
     Optional<Prescription> findTopByPatientOrderByPrescriptionDateDesc(@Param("patient") User patient);
+
+    // Medication names on the patient's other active prescriptions, as (prescriptionId, name) rows
+    @Query("SELECT p.id, m.name FROM PrescriptionMedication m JOIN m.prescription p " +
+           "WHERE p.patient.id = :patientId AND p.status = 'ACTIVE' AND p.validUntil >= :today " +
+           "AND p.id <> :excludeId")
+    List<Object[]> findActiveMedicationNames(@Param("patientId") Long patientId,
+                                             @Param("today") LocalDate today,
+                                             @Param("excludeId") Long excludeId);
+
+    // One bounded chunk per call and transaction; served by idx_prescription_status_valid_until.
+    // Native, so not tenant-filtered: the expiry sweep covers every clinic in the database it runs against
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE prescriptions SET status = 'EXPIRED' " +
+            "WHERE status = 'ACTIVE' AND valid_until < :today LIMIT :limit",
+           nativeQuery = true)
+    int expireActiveBefore(@Param("today") LocalDate today, @Param("limit") int limit);
 }
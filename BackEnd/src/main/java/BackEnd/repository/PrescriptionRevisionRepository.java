@@ -0,0 +1,26 @@
+package BackEnd.repository;
+
+import BackEnd.model.prescription.PrescriptionRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PrescriptionRevisionRepository extends JpaRepository<PrescriptionRevision, Long> {
+
+    List<PrescriptionRevision> findByPrescriptionIdOrderByRevisionAsc(Long prescriptionId);
+
+    @Query("SELECT COALESCE(MAX(r.revision), 0) FROM PrescriptionRevision r WHERE r.prescriptionId = :prescriptionId")
+    int findLatestRevision(@Param("prescriptionId") Long prescriptionId);
+
+    Optional<PrescriptionRevision> findTopByPrescriptionIdAndSnapshotTrueAndChangedAtLessThanEqualOrderByRevisionDesc(
+        Long prescriptionId, LocalDateTime at);
+
+    List<PrescriptionRevision> findByPrescriptionIdAndRevisionGreaterThanAndChangedAtLessThanEqualOrderByRevisionAsc(
+        Long prescriptionId, int revision, LocalDateTime at);
+}
@@ -1,13 +1,25 @@
 package BackEnd.repository;
 
+import BackEnd.dto.DietitianCaseload;
 import BackEnd.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+
+    String ROLE_QUERY_REGION = "query.usersByRole";
     
     Optional<User> findByEmail(String email);
     
@@ -15,9 +27,49 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmailAndPassword(String email, String password);
     
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = ROLE_QUERY_REGION)
+    })
     Optional<User> findByIdAndRole(Long id, String role);
     
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = ROLE_QUERY_REGION)
+    })
     List<User> findByRole(String role);
     
     List<User> findByAssignedDietitianId(Long dietitianId);
+
+    // Patient and active-plan counts per dietitian in a single statement
+    @Query("SELECT new BackEnd.dto.DietitianCaseload(d.id, d.fullName, d.email, d.phone, d.status, " +
+           "(SELECT COUNT(p) FROM User p WHERE p.assignedDietitian = d), " +
+           "(SELECT COUNT(dp) FROM DietPlan dp WHERE dp.dietitian = d AND UPPER(dp.status) = 'ACTIVE')) " +
+           "FROM User d WHERE d.role = 'dietitian' ORDER BY d.fullName")
+    List<DietitianCaseload> findDietitianCaseloads();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.assignedDietitian = :dietitian, u.updatedAt = :now " +
+           "WHERE u.id IN :patientIds AND LOWER(u.role) IN ('user', 'patient')")
+    int assignDietitianInBulk(@Param("dietitian") User dietitian,
+                              @Param("patientIds") Collection<Long> patientIds,
+                              @Param("now") LocalDateTime now);
+
+    // Re-checks that each patient is still unassigned, so an assignment made since they were picked is kept
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.assignedDietitian = :dietitian, u.updatedAt = :now " +
+           "WHERE u.id IN :patientIds AND LOWER(u.role) IN ('user', 'patient') AND u.assignedDietitian IS NULL")
+    int assignUnassignedInBulk(@Param("dietitian") User dietitian,
+                               @Param("patientIds") Collection<Long> patientIds,
+                               @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.id FROM User u WHERE LOWER(u.role) IN ('user', 'patient') " +
+           "AND u.status = 'active' AND u.assignedDietitian IS NULL ORDER BY u.id")
+    List<Long> findUnassignedPatientIds(Pageable pageable);
+
+    // A deleted dietitian's patients go back to the unassigned pool
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.assignedDietitian = null, u.updatedAt = :now " +
+           "WHERE u.assignedDietitian.id = :dietitianId")
+    int unassignDietitian(@Param("dietitianId") Long dietitianId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,49 @@
+package BackEnd.repository;
+
+import BackEnd.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Filters for the user directory. Each one matches a single indexed column
+ * so MySQL can range-scan instead of reading the whole table.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> hasRole(String role) {
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Name or email starting with {@code text}. Prefix-only so both indexes
+     * stay usable; the column collation makes it case-insensitive.
+     */
+    public static Specification<User> nameOrEmailStartsWith(String text) {
+        String pattern = escapeLike(text) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("fullName"), pattern, '\\'),
+                cb.like(root.get("email"), pattern, '\\'));
+    }
+
+    // Primary-key lookups for the people a screen already references
+    public static Specification<User> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Keyset position: rows after the last id of the previous page
+    public static Specification<User> idAfter(Long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,366 @@
+package BackEnd.service;
+
+import BackEnd.dto.ReminderMessage;
+import BackEnd.model.Appointment;
+import BackEnd.repository.AppointmentRepository;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Sends appointment reminders a configured number of minutes before each
+ * scheduled appointment. Upcoming reminders live in a
+ * {@link HierarchicalTimingWheel} that holds the next few hours of
+ * appointments: it is loaded with one range query at startup, topped up by an
+ * hourly horizon extension and kept in sync by {@link AppointmentService}, so
+ * the table is never polled per minute.
+ *
+ * <p>Due reminders are delivered in batches through the configured
+ * {@link ReminderNotifier}. Each reminder is first claimed with a row in
+ * {@code appointment_reminders}; a restart or a second node cannot claim it
+ * again, and a failed delivery releases the claim for a retry.
+ *
+ * <p>The wheel is keyed by appointment id and fed from the shared database,
+ * so clinics with a dedicated database do not get reminders yet.
+ */
+@Service
+public class AppointmentReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentReminderService.class);
+
+    private static final String SCHEDULED = "scheduled";
+
+    record ReminderKey(long appointmentId, int offsetMinutes) {}
+
+    private final AppointmentRepository appointmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantDatabases tenantDatabases;
+    private final ReminderNotifier notifier;
+    private final List<Integer> offsetsMinutes;
+    private final Duration horizon;
+    private final int batchSize;
+    private final long lingerMs;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final HierarchicalTimingWheel<ReminderKey> wheel;
+    private final BlockingQueue<ReminderKey> due = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService ticker;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter skipped;
+
+    private volatile LocalDateTime loadedUntil;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public AppointmentReminderService(AppointmentRepository appointmentRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      TenantDatabases tenantDatabases,
+                                      ReminderNotifier notifier,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${healthhub.reminders.offsets-minutes:1440,60}") List<Integer> offsetsMinutes,
+                                      @Value("${healthhub.reminders.horizon-hours:6}") int horizonHours,
+                                      @Value("${healthhub.reminders.tick-ms:1000}") long tickMs,
+                                      @Value("${healthhub.reminders.batch-size:100}") int batchSize,
+                                      @Value("${healthhub.reminders.linger-ms:500}") long lingerMs) {
+        this.appointmentRepository = appointmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantDatabases = tenantDatabases;
+        this.notifier = notifier;
+        this.offsetsMinutes = List.copyOf(offsetsMinutes);
+        this.horizon = Duration.ofHours(horizonHours);
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, 60, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sent = meterRegistry.counter("reminders.sent");
+        this.failed = meterRegistry.counter("reminders.failed");
+        this.skipped = meterRegistry.counter("reminders.skipped");
+        Gauge.builder("reminders.pending", wheel, HierarchicalTimingWheel::size)
+                .description("Reminders waiting in the timing wheel")
+                .register(meterRegistry);
+        Gauge.builder("reminders.due", due, Queue::size)
+                .description("Due reminders waiting for delivery")
+                .register(meterRegistry);
+
+        ticker.scheduleAtFixedRate(() -> wheel.advance(System.currentTimeMillis(), due::add),
+                tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "reminder-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        loadedUntil = LocalDateTime.now();
+        extendHorizon();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        ticker.shutdownNow();
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Loads reminders for appointments that have come within reach since the
+     * last load. Appointments created or moved inside the horizon are added by
+     * {@link #schedule(Appointment)} instead.
+     */
+    @Scheduled(fixedDelayString = "${healthhub.reminders.extend-interval-ms:3600000}",
+               initialDelayString = "${healthhub.reminders.extend-interval-ms:3600000}")
+    public synchronized void extendHorizon() {
+        if (loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = loadedUntil;
+        // A reminder due within the horizon belongs to an appointment up to the largest offset later
+        LocalDateTime to = now.plus(horizon).plusMinutes(maxOffset());
+
+        // Publish the new bound first so appointments created while loading are scheduled by schedule()
+        loadedUntil = to;
+        List<Object[]> rows = appointmentRepository.findScheduledBetween(now.isAfter(from) ? now : from, to);
+        Set<ReminderKey> alreadySent = findSent(rows.stream().map(row -> (Long) row[0]).collect(Collectors.toSet()));
+        int added = 0;
+        for (Object[] row : rows) {
+            long appointmentId = (Long) row[0];
+            LocalDateTime appointmentDate = (LocalDateTime) row[1];
+            for (int offset : offsetsMinutes) {
+                ReminderKey key = new ReminderKey(appointmentId, offset);
+                if (!alreadySent.contains(key) && add(key, appointmentDate)) {
+                    added++;
+                }
+            }
+        }
+        log.info("Reminder horizon extended to {}: {} reminders added, {} pending", to, added, wheel.size());
+    }
+
+    /**
+     * Schedules (or re-schedules) the reminders of an appointment once the
+     * surrounding transaction commits. Appointments beyond the loaded horizon
+     * are left for the next extension.
+     */
+    public void schedule(Appointment appointment) {
+        if (inDedicatedDatabase()) {
+            return;
+        }
+        Long id = appointment.getId();
+        LocalDateTime appointmentDate = appointment.getAppointmentDate();
+        boolean active = SCHEDULED.equals(appointment.getStatus());
+        afterCommit(() -> {
+            for (int offset : offsetsMinutes) {
+                ReminderKey key = new ReminderKey(id, offset);
+                wheel.cancel(key);
+                LocalDateTime until = loadedUntil;
+                if (active && until != null && appointmentDate.isBefore(until)) {
+                    add(key, appointmentDate);
+                }
+            }
+        });
+    }
+
+    /**
+     * Like {@link #schedule(Appointment)}, for an appointment that moved: its
+     * sent markers are dropped in the caller's transaction so the reminders
+     * go out again for the new time.
+     */
+    public void reschedule(Appointment appointment) {
+        jdbcTemplate.update("DELETE FROM appointment_reminders WHERE appointment_id = ?", appointment.getId());
+        schedule(appointment);
+    }
+
+    public void cancel(Long appointmentId) {
+        if (inDedicatedDatabase()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (int offset : offsetsMinutes) {
+                wheel.cancel(new ReminderKey(appointmentId, offset));
+            }
+        });
+    }
+
+    // Ids from a dedicated clinic database would collide with shared-database appointments on the wheel
+    private boolean inDedicatedDatabase() {
+        return tenantDatabases.isDedicated(TenantContext.current());
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("pending", wheel.size());
+        status.put("due", due.size());
+        status.put("loadedUntil", loadedUntil);
+        status.put("offsetsMinutes", offsetsMinutes);
+        return status;
+    }
+
+    private boolean add(ReminderKey key, LocalDateTime appointmentDate) {
+        LocalDateTime remindAt = appointmentDate.minusMinutes(key.offsetMinutes());
+        LocalDateTime now = LocalDateTime.now();
+        if (!appointmentDate.isAfter(now)) {
+            return false;
+        }
+        if (!remindAt.isAfter(now)) {
+            // Missed (downtime, or booked late): send only the most recent missed reminder
+            for (int offset : offsetsMinutes) {
+                if (offset < key.offsetMinutes() && !appointmentDate.minusMinutes(offset).isAfter(now)) {
+                    return false;
+                }
+            }
+        }
+        if (!wheel.schedule(key, remindAt.atZone(zone).toInstant().toEpochMilli())) {
+            due.add(key);
+        }
+        return true;
+    }
+
+    private int maxOffset() {
+        return offsetsMinutes.stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private Set<ReminderKey> findSent(Collection<Long> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<ReminderKey> sentKeys = new HashSet<>();
+        List<Long> ids = new ArrayList<>(appointmentIds);
+        for (int i = 0; i < ids.size(); i += 1000) {
+            List<Long> chunk = ids.subList(i, Math.min(i + 1000, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(
+                    "SELECT appointment_id, offset_minutes FROM appointment_reminders WHERE appointment_id IN (" + placeholders + ")",
+                    rs -> { sentKeys.add(new ReminderKey(rs.getLong(1), rs.getInt(2))); },
+                    chunk.toArray());
+        }
+        return sentKeys;
+    }
+
+    // ---- delivery ----
+
+    private void dispatchLoop() {
+        List<ReminderKey> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ReminderKey first = due.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Linger briefly so reminders due in the same second share a batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    ReminderKey next = remaining > 0 ? due.poll(remaining, TimeUnit.NANOSECONDS) : due.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Reminder batch of {} failed", batch.size(), e);
+                failed.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<ReminderKey> batch) {
+        Set<Long> ids = batch.stream().map(ReminderKey::appointmentId).collect(Collectors.toSet());
+        Map<Long, Appointment> appointments = appointmentRepository.findWithParticipantsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Appointment::getId, appointment -> appointment));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReminderMessage> messages = new ArrayList<>(batch.size());
+        for (ReminderKey key : batch) {
+            Appointment appointment = appointments.get(key.appointmentId());
+            // The wheel can be stale if a change raced its update; the row has the final say
+            if (appointment == null || !SCHEDULED.equals(appointment.getStatus())
+                    || !appointment.getAppointmentDate().isAfter(now)
+                    || appointment.getAppointmentDate().minusMinutes(key.offsetMinutes()).isAfter(now.plusMinutes(1))) {
+                skipped.increment();
+                continue;
+            }
+            if (!claim(key, now)) {
+                skipped.increment();
+                continue;
+            }
+            messages.add(new ReminderMessage(appointment.getId(), key.offsetMinutes(),
+                    appointment.getPatient().getEmail(), appointment.getPatient().getFullName(),
+                    appointment.getDoctor().getFullName(), appointment.getType(), appointment.getAppointmentDate()));
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<ReminderMessage> undelivered = notifier.send(messages);
+        for (ReminderMessage message : undelivered) {
+            release(new ReminderKey(message.getAppointmentId(), message.getOffsetMinutes()));
+        }
+        sent.increment(messages.size() - undelivered.size());
+        failed.increment(undelivered.size());
+    }
+
+    // Claim with a plain INSERT: only one claimant can create the row
+    private boolean claim(ReminderKey key, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "INSERT IGNORE INTO appointment_reminders (appointment_id, offset_minutes, sent_at) VALUES (?, ?, ?)",
+                key.appointmentId(), key.offsetMinutes(), Timestamp.valueOf(now)) == 1;
+    }
+
+    private void release(ReminderKey key) {
+        jdbcTemplate.update("DELETE FROM appointment_reminders WHERE appointment_id = ? AND offset_minutes = ?",
+                key.appointmentId(), key.offsetMinutes());
+        // Retry on the next minute boundary
+        wheel.schedule(key, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
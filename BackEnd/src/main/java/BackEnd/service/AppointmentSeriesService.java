@@ -0,0 +1,297 @@
+package BackEnd.service;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.event.EntityChangeEvent;
+import BackEnd.model.Appointment;
+import BackEnd.model.AppointmentSeries;
+import BackEnd.model.User;
+import BackEnd.repository.AppointmentRepository;
+import BackEnd.repository.AppointmentSeriesRepository;
+import BackEnd.repository.UserRepository;
+import BackEnd.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Creates and maintains recurring appointment series. Occurrences within the
+ * rolling horizon are written as ordinary appointment rows: conflicts for the
+ * whole window are checked against one range query of the doctor's booked
+ * times, and the rows go in with one JDBC batch INSERT.
+ */
+@Service
+public class AppointmentSeriesService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentSeriesService.class);
+
+    // Same buffer scheduleAppointment enforces around a single appointment
+    private static final Duration BUFFER = Duration.ofMinutes(30);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO appointments (tenant_id, patient_id, doctor_id, appointment_date, type, notes, status, " +
+            "series_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 'scheduled', ?, ?, ?)";
+
+    private final AppointmentSeriesRepository seriesRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditService auditService;
+    private final ClinicalSearchService searchService;
+    private final AppointmentReminderService reminderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersionService resourceVersions;
+    private final Duration horizon;
+
+    public AppointmentSeriesService(AppointmentSeriesRepository seriesRepository,
+                                    AppointmentRepository appointmentRepository,
+                                    UserRepository userRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    AuditService auditService,
+                                    ClinicalSearchService searchService,
+                                    AppointmentReminderService reminderService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ResourceVersionService resourceVersions,
+                                    @Value("${healthhub.appointments.series.horizon-days:366}") int horizonDays) {
+        this.seriesRepository = seriesRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditService = auditService;
+        this.searchService = searchService;
+        this.reminderService = reminderService;
+        this.eventPublisher = eventPublisher;
+        this.resourceVersions = resourceVersions;
+        this.horizon = Duration.ofDays(horizonDays);
+    }
+
+    /**
+     * Thrown when occurrences of a new series collide with existing bookings
+     * and the caller did not ask to skip them.
+     */
+    public static class SeriesConflictException extends RuntimeException {
+        private final List<LocalDateTime> conflicts;
+
+        public SeriesConflictException(List<LocalDateTime> conflicts) {
+            super("Doctor already has appointments near " + conflicts.size() + " occurrence(s) of this series");
+            this.conflicts = conflicts;
+        }
+
+        public List<LocalDateTime> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    /**
+     * @param skipConflicts leave out conflicting occurrences instead of failing
+     * @return the series and the occurrences that were created
+     */
+    @Transactional
+    @Bulkhead(Bulkhead.BOOKING)
+    public Map<String, Object> createSeries(Long patientId, Long doctorId, LocalDateTime startDate, String rule,
+                                            String type, String notes, boolean skipConflicts) {
+        RecurrenceRule recurrence = RecurrenceRule.parse(rule);
+        User patient = userRepository.findById(patientId)
+            .orElseThrow(() -> new RuntimeException("Patient not found"));
+        User doctor = userRepository.findById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found"));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = (startDate.isAfter(now) ? startDate : now).plus(horizon);
+        List<RecurrenceRule.Occurrence> occurrences = recurrence.occurrences(startDate, startDate, windowEnd);
+        if (occurrences.isEmpty()) {
+            throw new IllegalArgumentException("The recurrence rule produces no occurrences");
+        }
+
+        List<LocalDateTime> conflicts = findConflicts(doctorId, occurrences);
+        if (!conflicts.isEmpty() && !skipConflicts) {
+            throw new SeriesConflictException(conflicts);
+        }
+
+        AppointmentSeries series = new AppointmentSeries();
+        series.setPatient(patient);
+        series.setDoctor(doctor);
+        series.setStartDate(startDate);
+        series.setRecurrenceRule(rule.trim());
+        series.setType(type);
+        series.setNotes(notes);
+        series.setMaterializedUntil(windowEnd);
+        if (recurrence.endsBefore(startDate, windowEnd)) {
+            // Every occurrence fits in the first window; nothing left for the job
+            series.setStatus(AppointmentSeries.STATUS_COMPLETED);
+        }
+        AppointmentSeries saved = seriesRepository.save(series);
+
+        List<Appointment> created = insertOccurrences(saved, occurrences, new HashSet<>(conflicts));
+        auditService.record("create", "appointment_series", saved.getId(),
+                "Scheduled " + type + " series (" + saved.getRecurrenceRule() + ") for patient " + patientId
+                + " with doctor " + doctorId + ": " + created.size() + " appointments, "
+                + conflicts.size() + " skipped");
+        publishChange("create", saved);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("series", saved);
+        result.put("appointments", created);
+        result.put("skipped", conflicts);
+        return result;
+    }
+
+    /**
+     * Materializes the occurrences of an active series between its current
+     * horizon and the new one. Conflicting occurrences are skipped, since
+     * nobody is there to confirm them. If the job fell behind, occurrences
+     * that are already in the past are not created; they still count
+     * towards COUNT.
+     *
+     * @return number of appointments created
+     */
+    @Transactional
+    public int extend(AppointmentSeries series, LocalDateTime now) {
+        RecurrenceRule recurrence = RecurrenceRule.parse(series.getRecurrenceRule());
+        LocalDateTime windowEnd = now.plus(horizon);
+        LocalDateTime from = series.getMaterializedUntil().isAfter(now) ? series.getMaterializedUntil() : now;
+        List<RecurrenceRule.Occurrence> occurrences =
+                recurrence.occurrences(series.getStartDate(), from, windowEnd);
+
+        int created = 0;
+        if (!occurrences.isEmpty()) {
+            List<LocalDateTime> conflicts = findConflicts(series.getDoctor().getId(), occurrences);
+            created = insertOccurrences(series, occurrences, new HashSet<>(conflicts)).size();
+            if (!conflicts.isEmpty()) {
+                log.warn("Series {}: skipped {} conflicting occurrences", series.getId(), conflicts.size());
+            }
+        }
+
+        series.setMaterializedUntil(windowEnd);
+        if (recurrence.endsBefore(series.getStartDate(), windowEnd)) {
+            series.setStatus(AppointmentSeries.STATUS_COMPLETED);
+        }
+        seriesRepository.save(series);
+        return created;
+    }
+
+    /**
+     * Cancels a series: no further occurrences are materialized and the
+     * future ones still scheduled are cancelled. Past visits are kept.
+     */
+    @Transactional
+    @Bulkhead(Bulkhead.BOOKING)
+    public int cancelSeries(Long seriesId) {
+        AppointmentSeries series = seriesRepository.findById(seriesId)
+            .orElseThrow(() -> new RuntimeException("Appointment series not found with id: " + seriesId));
+        series.setStatus(AppointmentSeries.STATUS_CANCELLED);
+        seriesRepository.save(series);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> upcoming = new ArrayList<>();
+        for (Object[] row : appointmentRepository.findSeriesOccurrences(seriesId)) {
+            if (((LocalDateTime) row[1]).isAfter(now)) {
+                upcoming.add((Long) row[0]);
+            }
+        }
+        int cancelled = jdbcTemplate.update(
+                "UPDATE appointments SET status = 'cancelled', updated_at = ? " +
+                "WHERE series_id = ? AND appointment_date > ? AND status = 'scheduled'",
+                Timestamp.valueOf(now), seriesId, Timestamp.valueOf(now));
+        upcoming.forEach(reminderService::cancel);
+        resourceVersions.changed(ResourceVersionService.APPOINTMENTS);
+        auditService.record("delete", "appointment_series", seriesId,
+                "Cancelled series " + seriesId + " and " + cancelled + " upcoming appointments");
+        publishChange("delete", series);
+        return cancelled;
+    }
+
+    @Bulkhead(Bulkhead.CLINICAL_READS)
+    public Map<String, Object> getSeries(Long seriesId) {
+        AppointmentSeries series = seriesRepository.findById(seriesId)
+            .orElseThrow(() -> new RuntimeException("Appointment series not found with id: " + seriesId));
+        List<Map<String, Object>> occurrences = new ArrayList<>();
+        for (Object[] row : appointmentRepository.findSeriesOccurrences(seriesId)) {
+            occurrences.add(Map.of("id", row[0], "appointmentDate", row[1]));
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("series", series);
+        result.put("occurrences", occurrences);
+        return result;
+    }
+
+    // One event per series rather than per occurrence; subscribers re-fetch the range they show
+    private void publishChange(String action, AppointmentSeries series) {
+        eventPublisher.publishEvent(new EntityChangeEvent("appointment_series", action, series.getId(),
+                series.getPatient().getId(), series.getDoctor().getId(), null, series.getStatus()));
+    }
+
+    // One range query for the whole window, then a binary search per occurrence
+    private List<LocalDateTime> findConflicts(Long doctorId, List<RecurrenceRule.Occurrence> occurrences) {
+        LocalDateTime first = occurrences.get(0).dateTime();
+        LocalDateTime last = occurrences.get(occurrences.size() - 1).dateTime();
+        TreeSet<LocalDateTime> booked = new TreeSet<>(
+                appointmentRepository.findBookedTimes(doctorId, first.minus(BUFFER), last.plus(BUFFER)));
+
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        for (RecurrenceRule.Occurrence occurrence : occurrences) {
+            LocalDateTime time = occurrence.dateTime();
+            LocalDateTime nearest = booked.ceiling(time.minus(BUFFER));
+            if (nearest != null && !nearest.isAfter(time.plus(BUFFER))) {
+                conflicts.add(time);
+            }
+        }
+        return conflicts;
+    }
+
+    private List<Appointment> insertOccurrences(AppointmentSeries series, List<RecurrenceRule.Occurrence> occurrences,
+                                                Set<LocalDateTime> skip) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Plain JDBC bypasses @TenantId, so occurrences take the series' clinic explicitly
+        String tenant = series.getTenantId() != null ? series.getTenantId() : TenantContext.currentOrDefault();
+        List<Object[]> rows = new ArrayList<>(occurrences.size());
+        for (RecurrenceRule.Occurrence occurrence : occurrences) {
+            if (!skip.contains(occurrence.dateTime())) {
+                rows.add(new Object[]{tenant, series.getPatient().getId(), series.getDoctor().getId(),
+                        Timestamp.valueOf(occurrence.dateTime()), series.getType(), series.getNotes(),
+                        series.getId(), now, now});
+            }
+        }
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // rewriteBatchedStatements turns this into a single multi-row INSERT
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        resourceVersions.changed(ResourceVersionService.APPOINTMENTS);
+
+        // Read back the generated ids in one query so search and reminders can pick the rows up
+        Set<LocalDateTime> inserted = new HashSet<>();
+        for (Object[] row : rows) {
+            inserted.add(((Timestamp) row[3]).toLocalDateTime());
+        }
+        List<Appointment> created = new ArrayList<>(rows.size());
+        for (Object[] row : appointmentRepository.findSeriesOccurrences(series.getId())) {
+            LocalDateTime date = (LocalDateTime) row[1];
+            if (!inserted.contains(date)) {
+                continue;
+            }
+            Appointment appointment = new Appointment();
+            appointment.setId((Long) row[0]);
+            appointment.setTenantId(tenant);
+            appointment.setPatient(series.getPatient());
+            appointment.setDoctor(series.getDoctor());
+            appointment.setAppointmentDate(date);
+            appointment.setType(series.getType());
+            appointment.setNotes(series.getNotes());
+            appointment.setStatus("scheduled");
+            appointment.setSeriesId(series.getId());
+            searchService.indexAppointment(appointment);
+            reminderService.schedule(appointment);
+            created.add(appointment);
+        }
+        return created;
+    }
+}
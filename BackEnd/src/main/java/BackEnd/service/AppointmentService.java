@@ -1,10 +1,19 @@
 package BackEnd.service;
 
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.event.EntityChangeEvent;
 import BackEnd.model.Appointment;
 import BackEnd.model.User;
 import BackEnd.repository.AppointmentRepository;
+import BackEnd.repository.FieldProjection;
+import BackEnd.repository.FieldProjectionRepository;
 import BackEnd.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,16 +25,51 @@ import java.util.Map;
 @Transactional
 public class AppointmentService {
 
+    private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+
+    // Participants are selectable by id (the foreign key) or name (a join)
+    public static final FieldProjection<Appointment> FIELDS = FieldProjection.of(Appointment.class)
+            .field("patientId", "patient.id")
+            .field("patientName", "patient.fullName")
+            .field("doctorId", "doctor.id")
+            .field("doctorName", "doctor.fullName")
+            .field("appointmentDate")
+            .field("type")
+            .field("notes")
+            .field("status")
+            .field("seriesId")
+            .field("createdAt")
+            .field("updatedAt")
+            .build();
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private FieldProjectionRepository projections;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ClinicalSearchService searchService;
+
+    @Autowired
+    private AppointmentReminderService reminderService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.BULK)
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
     }
 
+    @Bulkhead(Bulkhead.BOOKING)
     public Appointment scheduleAppointment(Long patientId, Long doctorId, LocalDateTime appointmentDate, 
                                          String type, String notes) {
         // Validate users exist
@@ -53,78 +97,114 @@ public class AppointmentService {
         appointment.setNotes(notes);
         appointment.setStatus("scheduled");
 
-        return appointmentRepository.save(appointment);
+        Appointment saved = appointmentRepository.save(appointment);
+        auditService.record("create", "appointment", saved.getId(),
+                "Scheduled " + type + " appointment for patient " + patientId + " with doctor " + doctorId
+                + " at " + appointmentDate);
+        searchService.indexAppointment(saved);
+        reminderService.schedule(saved);
+        publishChange("create", saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<Appointment> getDoctorAppointments(Long doctorId) {
         return appointmentRepository.findByDoctorId(doctorId);
     }
 
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<Appointment> getPatientAppointments(Long patientId) {
         return appointmentRepository.findByPatientId(patientId);
     }
 
+    // Only the requested columns (from FIELDS) of each of the patient's appointments
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
+    public List<Map<String, Object>> getPatientAppointments(Long patientId, List<String> fields) {
+        Specification<Appointment> ofPatient = (root, query, cb) -> cb.equal(root.get("patient").get("id"), patientId);
+        return projections.findAll(FIELDS, fields, ofPatient, Sort.by("id"), null);
+    }
+
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<Appointment> getDoctorSchedule(Long doctorId, LocalDateTime start, LocalDateTime end) {
         return appointmentRepository.findByDoctorIdAndAppointmentDateBetween(doctorId, start, end);
     }
     
     @Transactional
+    @Bulkhead(Bulkhead.BOOKING)
     public void deleteAppointment(Long id) {
-        if (!appointmentRepository.existsById(id)) {
-            throw new RuntimeException("Appointment not found with id: " + id);
-        }
-        appointmentRepository.deleteById(id);
+        Appointment appointment = appointmentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        appointmentRepository.delete(appointment);
+        auditService.record("delete", "appointment", id, "Deleted appointment " + id);
+        searchService.remove(ClinicalSearchService.TYPE_APPOINTMENT, id);
+        reminderService.cancel(id);
+        publishChange("delete", appointment);
     }
     
+    @Bulkhead(Bulkhead.BOOKING)
     public Appointment updateAppointment(Long id, Map<String, Object> updates) {
-        System.out.println("Starting update for appointment ID: " + id);
-        System.out.println("Received updates: " + updates);
+        log.debug("Updating appointment {} with fields {}", id, updates.keySet());
         
         Appointment appointment = appointmentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
             
-        System.out.println("Current appointment status: " + appointment.getStatus());
-            
         // Update doctor if provided
         if (updates.containsKey("doctorId")) {
             Long doctorId = ((Number)updates.get("doctorId")).longValue();
             User doctor = userRepository.findById(doctorId)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
             appointment.setDoctor(doctor);
-            System.out.println("Updated doctor to ID: " + doctorId);
         }
         
         // Update appointment date if provided
+        boolean moved = false;
         if (updates.containsKey("appointmentDate")) {
             LocalDateTime appointmentDate = LocalDateTime.parse(updates.get("appointmentDate").toString());
+            moved = !appointmentDate.equals(appointment.getAppointmentDate());
             appointment.setAppointmentDate(appointmentDate);
-            System.out.println("Updated appointment date to: " + appointmentDate);
         }
         
         // Update type if provided
         if (updates.containsKey("type")) {
             String newType = updates.get("type").toString();
             appointment.setType(newType);
-            System.out.println("Updated type to: " + newType);
         }
         
         // Update notes if provided
         if (updates.containsKey("notes")) {
             String newNotes = updates.get("notes").toString();
             appointment.setNotes(newNotes);
-            System.out.println("Updated notes");
         }
         
         // Update status if provided
         if (updates.containsKey("status")) {
             String newStatus = updates.get("status").toString();
-            System.out.println("Updating status from " + appointment.getStatus() + " to " + newStatus);
+            log.debug("Appointment {} status {} -> {}", id, appointment.getStatus(), newStatus);
             appointment.setStatus(newStatus);
-            System.out.println("Status after update: " + appointment.getStatus());
         }
         
         Appointment updatedAppointment = appointmentRepository.save(appointment);
-        System.out.println("Appointment saved successfully. New status: " + updatedAppointment.getStatus());
+        auditService.record("update", "appointment", id,
+                "Updated appointment " + id + " fields " + updates.keySet());
+        searchService.indexAppointment(updatedAppointment);
+        if (moved) {
+            reminderService.reschedule(updatedAppointment);
+        } else {
+            reminderService.schedule(updatedAppointment);
+        }
+        publishChange("update", updatedAppointment);
+        log.info("Appointment {} updated, status={}", id, updatedAppointment.getStatus());
         return updatedAppointment;
     }
+
+    private void publishChange(String action, Appointment appointment) {
+        eventPublisher.publishEvent(new EntityChangeEvent("appointment", action, appointment.getId(),
+            appointment.getPatient() != null ? appointment.getPatient().getId() : null,
+            appointment.getDoctor() != null ? appointment.getDoctor().getId() : null,
+            null, appointment.getStatus()));
+    }
 }
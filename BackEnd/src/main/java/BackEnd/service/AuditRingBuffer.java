@@ -0,0 +1,71 @@
+package BackEnd.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a
+ * sequence with a CAS and publish into the slot; the single consumer drains
+ * published slots in order and frees them. Neither side takes a lock.
+ */
+class AuditRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false when the buffer is full and the element was not added
+     */
+    boolean offer(T element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        slots.set((int) (sequence & mask), element);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code max} published elements into {@code target}. Must only
+     * be called from the consumer thread.
+     */
+    int drainTo(List<T> target, int max) {
+        long current = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (current & mask);
+            T element = slots.get(index);
+            if (element == null) {
+                // Either empty or a producer claimed the slot but has not published yet
+                break;
+            }
+            slots.lazySet(index, null);
+            target.add(element);
+            current++;
+            drained++;
+        }
+        head.set(current);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
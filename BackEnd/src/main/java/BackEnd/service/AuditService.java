@@ -0,0 +1,328 @@
+package BackEnd.service;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.model.AuditLog;
+import BackEnd.model.User;
+import BackEnd.repository.AuditLogRepository;
+import BackEnd.repository.UserRepository;
+import BackEnd.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Records mutations to the audit trail. Callers only enqueue into a lock-free
+ * ring buffer; a background thread drains it and writes rows with a single
+ * JDBC batch INSERT per flush. Events raised inside a transaction are queued
+ * after commit so rolled-back changes never show up in the trail. Each event
+ * keeps the clinic it was raised in and is written to that clinic's database.
+ *
+ * <p>A batch the database refuses is retried with backoff, per event, until
+ * it is taken, so an outage delays the trail rather than losing it. Events
+ * are still lost in two cases: a row the database rejects outright (a
+ * constraint violation, which no retry would fix) and events still
+ * unwritten when the application stops. Rejected rows, and events the
+ * flusher gives up on during shutdown, are logged in full. A caller that
+ * finds the buffer full writes its own event and sees any failure.
+ */
+@Service
+public class AuditService {
+
+    public static final String ACTOR_HEADER = "X-User-Id";
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (tenant_id, created_at, actor_id, action, entity, entity_id, description) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepository auditLogRepository;
+    private final UserRepository userRepository;
+    private final AuditRingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter recorded;
+    private final Counter synchronousFallbacks;
+    private final Counter retries;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AuditService(JdbcTemplate jdbcTemplate,
+                        AuditLogRepository auditLogRepository,
+                        UserRepository userRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${healthhub.audit.buffer-size:8192}") int bufferSize,
+                        @Value("${healthhub.audit.batch-size:256}") int batchSize,
+                        @Value("${healthhub.audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditLogRepository = auditLogRepository;
+        this.userRepository = userRepository;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.recorded = meterRegistry.counter("audit.events.recorded");
+        this.synchronousFallbacks = meterRegistry.counter("audit.events.synchronous");
+        this.retries = meterRegistry.counter("audit.flush.retries");
+        this.rejected = Counter.builder("audit.events.rejected")
+                .description("Events the database refused outright; logged in full instead")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public void record(String action, String entity, Long entityId, String description) {
+        AuditLog event = new AuditLog(TenantContext.currentOrDefault(), LocalDateTime.now(), currentActorId(),
+                action, entity, entityId, truncate(description));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    @Bulkhead(Bulkhead.BULK)
+    public Page<Map<String, Object>> search(String entity, String action, Long actorId, Long entityId,
+                                            LocalDateTime from, LocalDateTime to, int page, int size) {
+        Specification<AuditLog> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (entity != null && !entity.isBlank()) predicates.add(cb.equal(root.get("entity"), entity));
+            if (entityId != null) predicates.add(cb.equal(root.get("entityId"), entityId));
+            if (action != null && !action.isBlank()) predicates.add(cb.equal(root.get("action"), action));
+            if (actorId != null) predicates.add(cb.equal(root.get("actorId"), actorId));
+            if (from != null) predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+            if (to != null) predicates.add(cb.lessThan(root.get("createdAt"), to));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        Page<AuditLog> logs = auditLogRepository.findAll(spec, pageRequest);
+
+        // Resolve actor names for the whole page in one lookup
+        Set<Long> actorIds = logs.stream().map(AuditLog::getActorId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> actorNames = actorIds.isEmpty() ? Collections.emptyMap()
+                : userRepository.findAllById(actorIds).stream()
+                    .collect(Collectors.toMap(User::getId, User::getFullName, (a, b) -> a));
+
+        return logs.map(entry -> {
+            Map<String, Object> dto = new LinkedHashMap<>();
+            dto.put("id", entry.getId());
+            dto.put("timestamp", entry.getCreatedAt());
+            dto.put("userId", entry.getActorId());
+            dto.put("userName", entry.getActorId() != null ? actorNames.get(entry.getActorId()) : null);
+            dto.put("action", entry.getAction());
+            dto.put("entity", entry.getEntity());
+            dto.put("entityId", entry.getEntityId());
+            dto.put("description", entry.getDescription());
+            return dto;
+        });
+    }
+
+    private void enqueue(AuditLog event) {
+        recorded.increment();
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(flusher);
+            }
+            return;
+        }
+        // Buffer is full: write the event on the caller's thread rather than drop it
+        synchronousFallbacks.increment();
+        write(List.of(event));
+    }
+
+    private void flushLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long backoffNanos = 0;
+        while (running || buffer.size() > 0 || !batch.isEmpty()) {
+            if (batch.isEmpty()) {
+                buffer.drainTo(batch, batchSize);
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    // A producer has claimed a slot but not published it yet
+                    Thread.onSpinWait();
+                    continue;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            List<AuditLog> unwritten = writeOrKeep(batch);
+            batch.clear();
+            if (unwritten.isEmpty()) {
+                backoffNanos = 0;
+                continue;
+            }
+            if (!running) {
+                unwritten.forEach(event -> logLost("unwritten at shutdown", event));
+                continue;
+            }
+            // Keep the failed events at the head and wait before trying them again
+            batch.addAll(unwritten);
+            retries.increment();
+            backoffNanos = backoffNanos == 0 ? MIN_BACKOFF_NANOS : Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+            log.warn("Failed to write {} audit events, retrying in {} ms", unwritten.size(),
+                    TimeUnit.NANOSECONDS.toMillis(backoffNanos));
+            sleep(backoffNanos);
+        }
+    }
+
+    // Waits out a backoff; enqueue may unpark the flusher early, so park until the deadline
+    private void sleep(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Writes the batch and returns the events that could not be written yet.
+     * A clinic whose batch fails is retried one event at a time, so a row the
+     * database rejects outright does not hold back the rest.
+     */
+    private List<AuditLog> writeOrKeep(List<AuditLog> batch) {
+        List<AuditLog> unwritten = new ArrayList<>();
+        byTenant(batch).forEach((tenant, events) -> TenantContext.runAs(tenant, () -> {
+            try {
+                insert(events);
+                return;
+            } catch (DataAccessException e) {
+                log.debug("Audit batch for {} failed, writing one by one: {}", tenant, e.getMessage());
+            }
+            for (int i = 0; i < events.size(); i++) {
+                AuditLog event = events.get(i);
+                try {
+                    insert(List.of(event));
+                } catch (DataIntegrityViolationException e) {
+                    rejected.increment();
+                    logLost("rejected: " + e.getMostSpecificCause().getMessage(), event);
+                } catch (DataAccessException e) {
+                    // The database itself is failing; keep this event and the rest for the retry
+                    unwritten.addAll(events.subList(i, events.size()));
+                    return;
+                }
+            }
+        }));
+        return unwritten;
+    }
+
+    private void write(List<AuditLog> batch) {
+        byTenant(batch).forEach((tenant, events) -> TenantContext.runAs(tenant, () -> insert(events)));
+    }
+
+    // One batch per clinic, so rows for a dedicated clinic reach its own database
+    private static Map<String, List<AuditLog>> byTenant(List<AuditLog> batch) {
+        return batch.stream()
+                .collect(Collectors.groupingBy(AuditLog::getTenantId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private static void logLost(String reason, AuditLog event) {
+        log.error("Audit event {}: tenant={} at={} actor={} action={} entity={} entityId={} description={}", reason,
+                event.getTenantId(), event.getCreatedAt(), event.getActorId(), event.getAction(), event.getEntity(),
+                event.getEntityId(), event.getDescription());
+    }
+
+    private void insert(List<AuditLog> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getTenantId());
+            ps.setTimestamp(2, Timestamp.valueOf(event.getCreatedAt()));
+            if (event.getActorId() != null) {
+                ps.setLong(3, event.getActorId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, event.getAction());
+            ps.setString(5, event.getEntity());
+            if (event.getEntityId() != null) {
+                ps.setLong(6, event.getEntityId());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            ps.setString(7, event.getDescription());
+        });
+    }
+
+    /**
+     * Id of the user making the current request, from the {@value #ACTOR_HEADER}
+     * header, or null outside a request or when the header is missing.
+     */
+    public static Long currentActorId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            String header = request.getHeader(ACTOR_HEADER);
+            if (header != null) {
+                try {
+                    return Long.parseLong(header.trim());
+                } catch (NumberFormatException ignored) {
+                    // Unknown actor, record as system
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String truncate(String description) {
+        if (description == null || description.length() <= 500) {
+            return description;
+        }
+        return description.substring(0, 497) + "...";
+    }
+}
@@ -0,0 +1,226 @@
+package BackEnd.service;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.dto.ChangeFeedEntry;
+import BackEnd.event.EntityChangeEvent;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Transactional outbox behind the change feed. Every {@link EntityChangeEvent}
+ * is written as one compact row just before its transaction commits, on the
+ * same connection, so the row exists exactly when the change does.
+ *
+ * <p>Rows are inserted unnumbered. Auto-increment ids are taken at insert but
+ * become visible at commit, so a consumer reading "id > last seen" would skip
+ * a slow transaction's row. Instead a sequencer numbers committed rows under
+ * a lock on the sequence row, giving offsets that only become visible in
+ * increasing order: a consumer that has read up to offset N never sees a
+ * later row appear below N. Offsets are per database and shared by the
+ * clinics in it, so one clinic's feed has gaps but never goes backwards.
+ */
+@Service
+public class ChangeOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeOutboxService.class);
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final String INSERT_SQL = "INSERT INTO change_outbox (tenant_id, entity, action, entity_id, "
+            + "patient_id, doctor_id, dietitian_id, status, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String FEED_SQL = "SELECT change_offset, entity, action, entity_id, patient_id, doctor_id, "
+            + "dietitian_id, status, occurred_at FROM change_outbox "
+            + "WHERE tenant_id = ? AND change_offset > ? ORDER BY change_offset LIMIT ?";
+    private static final String ACK_SQL = "INSERT INTO change_feed_consumers (tenant_id, name, acked_offset, acked_at) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "acked_offset = GREATEST(acked_offset, VALUES(acked_offset)), acked_at = VALUES(acked_at)";
+
+    /**
+     * @param nextAfter pass back as {@code after} for the next page; unchanged when nothing new was found
+     */
+    public record Page(List<ChangeFeedEntry> changes, long nextAfter, boolean hasMore) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantDatabases tenantDatabases;
+    private final int sequenceBatchSize;
+    private final Counter written;
+    private final Counter sequenced;
+
+    public ChangeOutboxService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               TenantDatabases tenantDatabases,
+                               MeterRegistry meterRegistry,
+                               @Value("${healthhub.outbox.sequence-batch-size:500}") int sequenceBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tenantDatabases = tenantDatabases;
+        this.sequenceBatchSize = sequenceBatchSize;
+        this.written = meterRegistry.counter("outbox.changes", "stage", "written");
+        this.sequenced = meterRegistry.counter("outbox.changes", "stage", "sequenced");
+    }
+
+    // Changes made outside a transaction are written straight away (fallbackExecution)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onChange(EntityChangeEvent event) {
+        jdbcTemplate.update(INSERT_SQL, ps -> {
+            ps.setString(1, event.getTenantId());
+            ps.setString(2, event.getEntity());
+            ps.setString(3, event.getAction());
+            setLong(ps, 4, event.getEntityId());
+            setLong(ps, 5, event.getPatientId());
+            setLong(ps, 6, event.getDoctorId());
+            setLong(ps, 7, event.getDietitianId());
+            ps.setString(8, event.getStatus());
+            ps.setTimestamp(9, Timestamp.valueOf(event.getTimestamp()));
+        });
+        written.increment();
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Numbers committed rows in id order. Runs on every node; nodes take turns
+     * on the sequence row lock, and a tick that finds nothing to number does
+     * not take the lock at all.
+     */
+    @Scheduled(fixedDelayString = "${healthhub.outbox.sequence-interval-ms:500}")
+    public void sequence() {
+        tenantDatabases.forEachDatabase(() -> {
+            try {
+                int numbered;
+                do {
+                    numbered = sequenceDatabase();
+                    sequenced.increment(numbered);
+                } while (numbered == sequenceBatchSize);
+            } catch (DataAccessException e) {
+                // Unnumbered rows wait for the next tick
+                log.warn("Outbox sequencing failed in {} database: {}",
+                        TenantContext.current() != null ? TenantContext.current() : "shared", e.getMessage());
+            }
+        });
+    }
+
+    private int sequenceDatabase() {
+        // Served from uk_outbox_offset, where the unnumbered rows sit together in id order
+        if (jdbcTemplate.queryForList("SELECT id FROM change_outbox WHERE change_offset IS NULL LIMIT 1",
+                Long.class).isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.update("INSERT IGNORE INTO change_outbox_sequence (id, last_offset) VALUES (1, 0)");
+        Integer numbered = transactionTemplate.execute(status -> {
+            long last = jdbcTemplate.queryForObject(
+                    "SELECT last_offset FROM change_outbox_sequence WHERE id = 1 FOR UPDATE", Long.class);
+            // Read after the lock is held, so rows numbered by the previous holder are not picked again
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM change_outbox WHERE change_offset IS NULL ORDER BY id LIMIT ?",
+                    Long.class, sequenceBatchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate("UPDATE change_outbox SET change_offset = ? WHERE id = ?",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setLong(1, last + 1 + i);
+                            ps.setLong(2, ids.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return ids.size();
+                        }
+                    });
+            jdbcTemplate.update("UPDATE change_outbox_sequence SET last_offset = ? WHERE id = 1", last + ids.size());
+            return ids.size();
+        });
+        return numbered != null ? numbered : 0;
+    }
+
+    /**
+     * The current clinic's changes after {@code after}, oldest first. With no
+     * {@code after}, a named consumer resumes from its last acknowledgement
+     * and an anonymous one starts from the oldest retained change.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.BULK)
+    public Page feed(Long after, String consumer, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        long from = after != null ? after : consumer != null ? ackedOffset(consumer) : 0L;
+
+        // One extra row tells us whether there is a next page without counting
+        List<ChangeFeedEntry> rows = jdbcTemplate.query(FEED_SQL, (rs, rowNum) -> new ChangeFeedEntry(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, Long.class),
+                rs.getObject(5, Long.class), rs.getObject(6, Long.class), rs.getObject(7, Long.class),
+                rs.getString(8), rs.getTimestamp(9).toLocalDateTime()),
+                TenantContext.currentOrDefault(), from, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<ChangeFeedEntry> changes = hasMore ? rows.subList(0, size) : rows;
+        long nextAfter = changes.isEmpty() ? from : changes.get(changes.size() - 1).offset();
+        return new Page(changes, nextAfter, hasMore);
+    }
+
+    /**
+     * Records that {@code consumer} has processed the current clinic's changes
+     * up to {@code offset}. Acknowledgements never move a consumer backwards.
+     *
+     * @return the consumer's acknowledged offset after this call
+     */
+    @Transactional
+    public long acknowledge(String consumer, long offset) {
+        requireValidName(consumer);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        jdbcTemplate.update(ACK_SQL, TenantContext.currentOrDefault(), consumer, offset,
+                Timestamp.valueOf(LocalDateTime.now()));
+        return ackedOffset(consumer);
+    }
+
+    private long ackedOffset(String consumer) {
+        requireValidName(consumer);
+        List<Long> offsets = jdbcTemplate.queryForList(
+                "SELECT acked_offset FROM change_feed_consumers WHERE tenant_id = ? AND name = ?",
+                Long.class, TenantContext.currentOrDefault(), consumer);
+        return offsets.isEmpty() ? 0L : offsets.get(0);
+    }
+
+    private static void requireValidName(String consumer) {
+        if (consumer == null || !CONSUMER_NAME.matcher(consumer).matches()) {
+            throw new IllegalArgumentException(
+                    "Consumer name must be 1-64 letters, digits, '.', '_' or '-'");
+        }
+    }
+}
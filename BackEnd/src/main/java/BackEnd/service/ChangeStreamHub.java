@@ -0,0 +1,241 @@
+package BackEnd.service;
+
+import BackEnd.event.EntityChangeEvent;
+import BackEnd.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed {@link EntityChangeEvent}s out to server-sent event
+ * subscribers. Subscribers are indexed by topic ("doctor:7", "dietitian:3",
+ * "patient:12", "entity:appointment" or "all"), so publishing touches only
+ * interested connections.
+ * Topics are scoped to the subscriber's clinic: "all" means all of its own
+ * clinic's changes, and ids from another clinic's database never match.
+ *
+ * <p>An idle subscriber costs an {@link SseEmitter} and a small queue; no
+ * thread is parked on it. Each subscriber has a bounded queue drained by a
+ * virtual thread. A subscriber that cannot keep up loses its queued events
+ * and is sent a single {@code resync} event telling it to re-fetch instead.
+ */
+@Service
+public class ChangeStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamHub.class);
+
+    public static final String TOPIC_ALL = "all";
+
+    private static final Object HEARTBEAT = new Object();
+    private static final Object RESYNC = new Object();
+
+    private final Map<String, Set<Subscriber>> subscribersByTopic = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final Counter delivered;
+    private final Counter overflows;
+
+    public ChangeStreamHub(MeterRegistry meterRegistry,
+                           @Value("${healthhub.events.queue-capacity:256}") int queueCapacity,
+                           @Value("${healthhub.events.timeout-ms:1800000}") long timeoutMs) {
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.delivered = meterRegistry.counter("events.stream.delivered");
+        this.overflows = meterRegistry.counter("events.stream.overflows");
+        Gauge.builder("events.stream.subscribers", subscribers, Set::size)
+                .description("Open server-sent event connections")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for the given topics. The emitter times out after the
+     * configured period; EventSource clients reconnect on their own.
+     */
+    public SseEmitter subscribe(Collection<String> topics) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, TenantContext.currentOrDefault(), Set.copyOf(topics),
+                queueCapacity);
+        subscribers.add(subscriber);
+        for (String topic : subscriber.topics) {
+            subscribersByTopic.computeIfAbsent(scoped(subscriber.tenant, topic), key -> ConcurrentHashMap.newKeySet())
+                    .add(subscriber);
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        subscriber.enqueue(SseEmitter.event().name("ready").data(Map.of("topics", subscriber.topics)));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(EntityChangeEvent event) {
+        Set<Subscriber> targets = new HashSet<>();
+        String tenant = event.getTenantId();
+        addTopic(targets, tenant, TOPIC_ALL);
+        addTopic(targets, tenant, topic("doctor", event.getDoctorId()));
+        addTopic(targets, tenant, topic("dietitian", event.getDietitianId()));
+        addTopic(targets, tenant, topic("patient", event.getPatientId()));
+        addTopic(targets, tenant, entityTopic(event.getEntity()));
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        long id = sequence.incrementAndGet();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("entity", event.getEntity());
+        payload.put("action", event.getAction());
+        payload.put("id", event.getEntityId());
+        payload.put("patientId", event.getPatientId());
+        payload.put("doctorId", event.getDoctorId());
+        payload.put("dietitianId", event.getDietitianId());
+        payload.put("status", event.getStatus());
+        payload.put("timestamp", event.getTimestamp().toString());
+
+        for (Subscriber subscriber : targets) {
+            subscriber.enqueue(SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name("change")
+                    .data(payload, MediaType.APPLICATION_JSON));
+            schedule(subscriber);
+        }
+    }
+
+    // Keeps proxies and load balancers from closing idle connections, and detects dead clients
+    @Scheduled(fixedDelayString = "${healthhub.events.heartbeat-ms:20000}")
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.queue.offer(HEARTBEAT);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public static String topic(String kind, Long id) {
+        return id != null ? kind + ":" + id : null;
+    }
+
+    public static String entityTopic(String entity) {
+        return entity != null && !entity.isBlank() ? "entity:" + entity.trim() : null;
+    }
+
+    private static String scoped(String tenant, String topic) {
+        return tenant + "/" + topic;
+    }
+
+    private void addTopic(Set<Subscriber> targets, String tenant, String topic) {
+        if (topic != null) {
+            Set<Subscriber> topicSubscribers = subscribersByTopic.get(scoped(tenant, topic));
+            if (topicSubscribers != null) {
+                targets.addAll(topicSubscribers);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object next;
+            while ((next = subscriber.queue.poll()) != null) {
+                if (next == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (next == RESYNC) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data(Map.of("reason", "overflow")));
+                } else {
+                    subscriber.emitter.send((SseEmitter.SseEventBuilder) next);
+                    delivered.increment();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks also remove it
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            for (String topic : subscriber.topics) {
+                Set<Subscriber> topicSubscribers = subscribersByTopic.get(scoped(subscriber.tenant, topic));
+                // Empty topic sets are kept: removing them could race a concurrent subscribe
+                if (topicSubscribers != null) {
+                    topicSubscribers.remove(subscriber);
+                }
+            }
+            log.debug("Change stream subscriber removed, {} open", subscribers.size());
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final String tenant;
+        final Set<String> topics;
+        final BlockingQueue<Object> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, String tenant, Set<String> topics, int capacity) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+            this.topics = topics;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (!queue.offer(event)) {
+                // Too slow to keep up: drop the backlog and ask the client to re-fetch once
+                overflows.increment();
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+    }
+}
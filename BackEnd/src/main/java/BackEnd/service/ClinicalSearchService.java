@@ -0,0 +1,507 @@
+package BackEnd.service;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.model.Appointment;
+import BackEnd.model.DietPlan;
+import BackEnd.model.HealthData;
+import BackEnd.model.prescription.Prescription;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded Lucene index over the free-text clinical fields: prescription
+ * diagnosis/notes, appointment notes, diet plan title/description/notes and
+ * health data medical history. Services report writes here and the index is
+ * updated after their transaction commits; searches go through a near-real-time
+ * {@link SearcherManager} and are scoped to a doctor's own patients.
+ *
+ * <p>One index serves every clinic: documents carry their clinic, searches
+ * only match the caller's, and a rebuild streams the shared database and each
+ * dedicated clinic database in turn.
+ */
+@Service
+public class ClinicalSearchService {
+
+    public static final String TYPE_PRESCRIPTION = "prescription";
+    public static final String TYPE_APPOINTMENT = "appointment";
+    public static final String TYPE_DIET_PLAN = "diet_plan";
+    public static final String TYPE_HEALTH_DATA = "health_data";
+
+    private static final Logger log = LoggerFactory.getLogger(ClinicalSearchService.class);
+
+    private static final String F_UID = "uid";
+    private static final String F_TENANT = "tenant";
+    private static final String F_TYPE = "type";
+    private static final String F_ID = "id";
+    private static final String F_PATIENT = "patientId";
+    private static final String F_OWNER = "ownerId";
+    private static final String F_TITLE = "title";
+    private static final String F_BODY = "body";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    // Per-type row projections: (tenant, id, patient, owner, title, body)
+    private static final Map<String, String> SELECTS = Map.of(
+            TYPE_PRESCRIPTION, "SELECT tenant_id, id, patient_id, doctor_id, diagnosis, notes FROM prescriptions",
+            TYPE_APPOINTMENT, "SELECT tenant_id, id, patient_id, doctor_id, type, notes FROM appointments WHERE deleted_at IS NULL",
+            TYPE_DIET_PLAN, "SELECT tenant_id, id, patient_id, dietitian_id, title, CONCAT_WS('\\n', description, notes) FROM diet_plans",
+            TYPE_HEALTH_DATA, "SELECT tenant_id, id, user_id, NULL, 'Medical history', medical_history FROM health_data");
+
+    private record IndexedRecord(String tenant, String type, long id, Long patientId, Long ownerId, String title,
+                                 String body) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantDatabases tenantDatabases;
+    private final Path indexPath;
+    private final int batchSize;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private FSDirectory directory;
+    // Replaced when a failed rebuild is rolled back
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    // Held by a rebuild so the scheduled commit cannot make a half-built index durable
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    // uids written incrementally while a rebuild is streaming, replayed from the DB when it ends
+    private volatile Set<String> touchedDuringRebuild;
+
+    public ClinicalSearchService(JdbcTemplate jdbcTemplate,
+                                 TenantDatabases tenantDatabases,
+                                 @Value("${healthhub.search.index-dir:data/search-index}") String indexDir,
+                                 @Value("${healthhub.search.rebuild-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantDatabases = tenantDatabases;
+        this.indexPath = Path.of(indexDir);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(indexPath);
+        directory = FSDirectory.open(indexPath);
+        openWriter();
+        log.info("Opened clinical search index at {} ({} documents)", indexPath.toAbsolutePath(), writer.getDocStats().numDocs);
+    }
+
+    private void openWriter() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // ---- incremental updates from the service layer ----
+
+    public void indexPrescription(Prescription prescription) {
+        index(new IndexedRecord(tenantOf(prescription.getTenantId()), TYPE_PRESCRIPTION, prescription.getId(),
+                prescription.getPatient().getId(), prescription.getDoctor().getId(),
+                prescription.getDiagnosis(), prescription.getNotes()));
+    }
+
+    public void indexAppointment(Appointment appointment) {
+        index(new IndexedRecord(tenantOf(appointment.getTenantId()), TYPE_APPOINTMENT, appointment.getId(),
+                appointment.getPatient() != null ? appointment.getPatient().getId() : null,
+                appointment.getDoctor() != null ? appointment.getDoctor().getId() : null,
+                appointment.getType(), appointment.getNotes()));
+    }
+
+    public void indexDietPlan(DietPlan dietPlan) {
+        index(new IndexedRecord(tenantOf(dietPlan.getTenantId()), TYPE_DIET_PLAN, dietPlan.getId(),
+                dietPlan.getPatient() != null ? dietPlan.getPatient().getId() : null,
+                dietPlan.getDietitian() != null ? dietPlan.getDietitian().getId() : null,
+                dietPlan.getTitle(), join(dietPlan.getDescription(), dietPlan.getNotes())));
+    }
+
+    public void indexHealthData(HealthData healthData) {
+        index(new IndexedRecord(tenantOf(healthData.getTenantId()), TYPE_HEALTH_DATA, healthData.getId(),
+                healthData.getUserId(), null,
+                "Medical history", healthData.getMedicalHistory()));
+    }
+
+    public void remove(String type, Long id) {
+        String uid = uid(TenantContext.currentOrDefault(), type, id);
+        afterCommit(() -> {
+            // Noted first, so a write lost to a rebuild rollback is still replayed
+            noteTouched(uid);
+            writer.deleteDocuments(new Term(F_UID, uid));
+        });
+    }
+
+    private void index(IndexedRecord record) {
+        // Build the document now, while lazy associations are still attached
+        Document document = toDocument(record);
+        String uid = uid(record.tenant(), record.type(), record.id());
+        afterCommit(() -> {
+            noteTouched(uid);
+            writer.updateDocument(new Term(F_UID, uid), document);
+        });
+    }
+
+    private interface IndexOperation {
+        void apply() throws IOException;
+    }
+
+    private void afterCommit(IndexOperation operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private void apply(IndexOperation operation) {
+        try {
+            operation.apply();
+        } catch (IOException | RuntimeException e) {
+            // The DB is the source of truth; a rebuild repairs anything missed here
+            log.error("Clinical search index update failed", e);
+        }
+    }
+
+    private void noteTouched(String uid) {
+        Set<String> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.add(uid);
+        }
+    }
+
+    // Writes become searchable on refresh and durable on commit. Both are
+    // paused while a rebuild runs so searches keep seeing the previous index
+    // and a crash mid-rebuild restarts from it.
+    @Scheduled(fixedDelayString = "${healthhub.search.refresh-ms:1000}")
+    void refresh() throws IOException {
+        if (touchedDuringRebuild == null) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${healthhub.search.commit-ms:30000}")
+    void commit() throws IOException {
+        if (!commitLock.tryLock()) {
+            return;
+        }
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    // ---- queries ----
+
+    /**
+     * Ranked search over the records of a doctor's patients: anything the
+     * doctor wrote, plus anything attached to a patient they have an
+     * appointment or prescription with.
+     *
+     * @param types optional record types to restrict to
+     */
+    public Map<String, Object> search(Long doctorId, String queryText, Collection<String> types, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = Math.max(page, 0) * pageSize;
+        if (offset >= MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Page is beyond the searchable window of " + MAX_RESULT_WINDOW + " results");
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parse(queryText), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(F_TENANT, TenantContext.currentOrDefault())), BooleanClause.Occur.FILTER)
+                .add(doctorScope(doctorId), BooleanClause.Occur.FILTER);
+        if (types != null && !types.isEmpty()) {
+            BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+            for (String type : types) {
+                typeFilter.add(new TermQuery(new Term(F_TYPE, type)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(typeFilter.build(), BooleanClause.Occur.FILTER);
+        }
+
+        SearcherManager manager = searcherManager;
+        IndexSearcher searcher;
+        try {
+            searcher = manager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            TopDocs topDocs = searcher.search(query.build(), offset + pageSize);
+            StoredFields storedFields = searcher.storedFields();
+            List<Map<String, Object>> hits = new ArrayList<>();
+            for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = storedFields.document(scoreDoc.doc);
+                Map<String, Object> hit = new LinkedHashMap<>();
+                hit.put("type", document.get(F_TYPE));
+                hit.put("id", document.getField(F_ID).numericValue().longValue());
+                IndexableField patient = document.getField(F_PATIENT);
+                hit.put("patientId", patient != null ? patient.numericValue().longValue() : null);
+                hit.put("title", document.get(F_TITLE));
+                hit.put("score", scoreDoc.score);
+                hits.add(hit);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", hits);
+            response.put("totalHits", topDocs.totalHits.value);
+            response.put("totalHitsExact", topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+            response.put("page", Math.max(page, 0));
+            response.put("size", pageSize);
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                manager.release(searcher);
+            } catch (IOException e) {
+                log.warn("Could not release searcher", e);
+            }
+        }
+    }
+
+    private Query parse(String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                new String[]{F_TITLE, F_BODY}, analyzer, Map.of(F_TITLE, 2.0f, F_BODY, 1.0f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            // Free text with stray syntax characters: search it literally
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + queryText);
+            }
+        }
+    }
+
+    private Query doctorScope(Long doctorId) {
+        long[] patientIds = jdbcTemplate.queryForList(
+                "SELECT patient_id FROM appointments WHERE doctor_id = ? AND deleted_at IS NULL " +
+                "UNION SELECT patient_id FROM prescriptions WHERE doctor_id = ?",
+                Long.class, doctorId, doctorId).stream()
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray();
+        return new BooleanQuery.Builder()
+                .add(LongPoint.newExactQuery(F_OWNER, doctorId), BooleanClause.Occur.SHOULD)
+                .add(LongPoint.newSetQuery(F_PATIENT, patientIds), BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    // ---- rebuild ----
+
+    /**
+     * Re-creates the index from the database, streaming each table in
+     * id-ordered keyset batches. Searches keep hitting the old documents until
+     * the rebuilt index is refreshed in. If the rebuild fails the writer is
+     * rolled back to the index as it was before.
+     *
+     * @return number of documents indexed
+     */
+    @Bulkhead(Bulkhead.JOBS)
+    public synchronized long rebuild() throws IOException {
+        commitLock.lock();
+        Set<String> touched = ConcurrentHashMap.newKeySet();
+        touchedDuringRebuild = touched;
+        boolean rebuilt = false;
+        try {
+            // The point a failed rebuild rolls back to
+            writer.commit();
+            writer.deleteAll();
+            long[] streamed = new long[1];
+            try {
+                tenantDatabases.forEachDatabase(() -> {
+                    for (String type : List.of(TYPE_PRESCRIPTION, TYPE_APPOINTMENT, TYPE_DIET_PLAN, TYPE_HEALTH_DATA)) {
+                        try {
+                            streamed[0] += stream(type);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long total = streamed[0];
+
+            // Rows written while streaming may have been read before the write; reload them
+            touchedDuringRebuild = null;
+            for (String uid : touched) {
+                reindex(uid);
+            }
+
+            writer.commit();
+            searcherManager.maybeRefresh();
+            rebuilt = true;
+            log.info("Rebuilt clinical search index with {} documents", total);
+            return total;
+        } finally {
+            if (!rebuilt) {
+                rollBackRebuild(touched);
+            }
+            touchedDuringRebuild = null;
+            commitLock.unlock();
+        }
+    }
+
+    // Discards the partial index, reopens on the last commit and replays the writes made meanwhile
+    private void rollBackRebuild(Set<String> touched) {
+        try {
+            SearcherManager previous = searcherManager;
+            writer.rollback();
+            openWriter();
+            previous.close();
+
+            touchedDuringRebuild = null;
+            for (String uid : touched) {
+                reindex(uid);
+            }
+            searcherManager.maybeRefresh();
+            log.warn("Clinical search index rebuild failed; rolled back to the previous index");
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not roll back failed clinical search index rebuild", e);
+        }
+    }
+
+    private long stream(String type) throws IOException {
+        String sql = where(SELECTS.get(type), "id > ?") + " ORDER BY id LIMIT ?";
+        long lastId = 0;
+        long count = 0;
+        while (true) {
+            List<IndexedRecord> batch = jdbcTemplate.query(sql, rowMapper(type), lastId, batchSize);
+            for (IndexedRecord record : batch) {
+                writer.updateDocument(new Term(F_UID, uid(record.tenant(), type, record.id())), toDocument(record));
+            }
+            count += batch.size();
+            if (batch.size() < batchSize) {
+                return count;
+            }
+            lastId = batch.get(batch.size() - 1).id();
+        }
+    }
+
+    private void reindex(String uid) throws IOException {
+        String[] parts = uid.split(":", 3);
+        String tenant = parts[0];
+        String type = parts[1];
+        long id = Long.parseLong(parts[2]);
+        String select = SELECTS.get(type);
+        if (select == null) {
+            throw new IllegalStateException("Unknown search record type " + type);
+        }
+        // Bound to the record's clinic so the lookup reaches the database that holds it
+        List<IndexedRecord> rows = TenantContext.callAs(tenant, () -> jdbcTemplate.query(
+                where(select, "tenant_id = ? AND id = ?"), rowMapper(type), tenant, id));
+        if (rows.isEmpty()) {
+            writer.deleteDocuments(new Term(F_UID, uid));
+        } else {
+            writer.updateDocument(new Term(F_UID, uid), toDocument(rows.get(0)));
+        }
+    }
+
+    // Some SELECTS already filter out soft-deleted rows
+    private static String where(String select, String condition) {
+        return select + (select.contains(" WHERE ") ? " AND " : " WHERE ") + condition;
+    }
+
+    private static RowMapper<IndexedRecord> rowMapper(String type) {
+        return (rs, rowNum) -> new IndexedRecord(rs.getString(1), type, rs.getLong(2), rs.getObject(3, Long.class),
+                rs.getObject(4, Long.class), rs.getString(5), rs.getString(6));
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("path", indexPath.toAbsolutePath().toString());
+        status.put("documents", writer.getDocStats().numDocs);
+        status.put("rebuilding", touchedDuringRebuild != null);
+        return status;
+    }
+
+    private static Document toDocument(IndexedRecord record) {
+        Document document = new Document();
+        document.add(new StringField(F_UID, uid(record.tenant(), record.type(), record.id()), Field.Store.NO));
+        document.add(new StringField(F_TENANT, record.tenant(), Field.Store.NO));
+        document.add(new StringField(F_TYPE, record.type(), Field.Store.YES));
+        document.add(new StoredField(F_ID, record.id()));
+        if (record.patientId() != null) {
+            document.add(new LongPoint(F_PATIENT, record.patientId()));
+            document.add(new StoredField(F_PATIENT, record.patientId()));
+        }
+        if (record.ownerId() != null) {
+            document.add(new LongPoint(F_OWNER, record.ownerId()));
+        }
+        if (record.title() != null) {
+            document.add(new TextField(F_TITLE, record.title(), Field.Store.YES));
+        }
+        if (record.body() != null) {
+            document.add(new TextField(F_BODY, record.body(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    // Ids are only unique within one database, so the clinic is part of the document key
+    private static String uid(String tenant, String type, long id) {
+        return tenant + ":" + type + ":" + id;
+    }
+
+    // Entities not yet flushed have no tenant id; they belong to the calling thread's clinic
+    private static String tenantOf(String tenantId) {
+        return tenantId != null ? tenantId : TenantContext.currentOrDefault();
+    }
+
+    private static String join(String first, String second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first + "\n" + second;
+    }
+}
@@ -1,6 +1,8 @@
 package BackEnd.service;
 
+import BackEnd.bulkhead.Bulkhead;
 import BackEnd.dto.DietPlanRequest;
+import BackEnd.event.EntityChangeEvent;
 import BackEnd.model.DietPlan;
 import BackEnd.model.Meal;
 import BackEnd.model.User;
@@ -8,6 +10,7 @@ import BackEnd.repository.DietPlanRepository;
 import BackEnd.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,11 +22,19 @@ public class DietPlanService {
 
     private final DietPlanRepository dietPlanRepository;
     private final UserRepository userRepository;
+    private final AuditService auditService;
+    private final ClinicalSearchService searchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public DietPlanService(DietPlanRepository dietPlanRepository, UserRepository userRepository) {
+    public DietPlanService(DietPlanRepository dietPlanRepository, UserRepository userRepository,
+                           AuditService auditService, ClinicalSearchService searchService,
+                           ApplicationEventPublisher eventPublisher) {
         this.dietPlanRepository = dietPlanRepository;
         this.userRepository = userRepository;
+        this.auditService = auditService;
+        this.searchService = searchService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -50,6 +61,10 @@ public class DietPlanService {
 
         // Save diet plan first to get an ID
         DietPlan savedDietPlan = dietPlanRepository.save(dietPlan);
+        auditService.record("create", "diet_plan", savedDietPlan.getId(),
+                "Created diet plan '" + savedDietPlan.getTitle() + "' for patient " + patient.getId());
+        searchService.indexDietPlan(savedDietPlan);
+        publishChange("create", savedDietPlan);
 
         // Add meals if present
         if (request.getMeals() != null && !request.getMeals().isEmpty()) {
@@ -71,14 +86,20 @@ public class DietPlanService {
         return savedDietPlan;
     }
 
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<DietPlan> getDietPlansByPatientId(Long patientId) {
         return dietPlanRepository.findByPatientId(patientId);
     }
 
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<DietPlan> getDietPlansByDietitianId(Long dietitianId) {
         return dietPlanRepository.findByDietitianId(dietitianId);
     }
 
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public DietPlan getDietPlanById(Long id) {
         return dietPlanRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Diet plan not found with id: " + id));
@@ -86,12 +107,13 @@ public class DietPlanService {
 
     @Transactional
     public void deleteDietPlan(Long id) {
-        // Check if the diet plan exists
-        if (!dietPlanRepository.existsById(id)) {
-            throw new EntityNotFoundException("Diet plan not found with id: " + id);
-        }
+        DietPlan dietPlan = dietPlanRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Diet plan not found with id: " + id));
         // Delete the diet plan (cascading will handle related meals)
-        dietPlanRepository.deleteById(id);
+        dietPlanRepository.delete(dietPlan);
+        auditService.record("delete", "diet_plan", id, "Deleted diet plan " + id);
+        searchService.remove(ClinicalSearchService.TYPE_DIET_PLAN, id);
+        publishChange("delete", dietPlan);
     }
     
     @Transactional
@@ -139,6 +161,19 @@ public class DietPlanService {
             }
         }
 
-        return dietPlanRepository.save(existingPlan);
+        DietPlan savedPlan = dietPlanRepository.save(existingPlan);
+        auditService.record("update", "diet_plan", id,
+                "Updated diet plan '" + savedPlan.getTitle() + "' (" + savedPlan.getStatus() + ")");
+        searchService.indexDietPlan(savedPlan);
+        publishChange("update", savedPlan);
+        return savedPlan;
+    }
+
+    private void publishChange(String action, DietPlan dietPlan) {
+        eventPublisher.publishEvent(new EntityChangeEvent("diet_plan", action, dietPlan.getId(),
+                dietPlan.getPatient() != null ? dietPlan.getPatient().getId() : null,
+                null,
+                dietPlan.getDietitian() != null ? dietPlan.getDietitian().getId() : null,
+                dietPlan.getStatus()));
     }
 }
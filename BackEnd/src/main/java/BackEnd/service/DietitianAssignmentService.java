@@ -1,19 +1,26 @@
 package BackEnd.service;
 
+import BackEnd.bulkhead.Bulkhead;
 import BackEnd.dto.AssignDietitianRequest;
+import BackEnd.dto.BulkAssignDietitianRequest;
+import BackEnd.dto.DietitianCaseload;
 import BackEnd.model.User;
 import BackEnd.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class DietitianAssignmentService {
     private final UserRepository userRepository;
+    private final AuditService auditService;
+    private final ResourceVersionService resourceVersions;
 
     @Transactional
     public void assignDietitian(Long patientId, AssignDietitianRequest request) {
@@ -36,10 +43,95 @@ public class DietitianAssignmentService {
         userRepository.save(patient);
     }
 
+    /**
+     * Assigns every listed patient to one dietitian with a single UPDATE.
+     * Ids that do not belong to patients are skipped.
+     *
+     * @return the number of patients actually assigned
+     */
+    @Transactional
+    @Bulkhead(Bulkhead.BULK)
+    public int assignDietitianInBulk(BulkAssignDietitianRequest request) {
+        User dietitian = userRepository.findByIdAndRole(request.getDietitianId(), "dietitian")
+                .orElseThrow(() -> new EntityNotFoundException("Dietitian not found with id: " + request.getDietitianId()));
+
+        Set<Long> patientIds = new LinkedHashSet<>(request.getPatientIds());
+        patientIds.remove(null);
+        if (patientIds.isEmpty()) {
+            return 0;
+        }
+
+        int assigned = userRepository.assignDietitianInBulk(dietitian, patientIds, LocalDateTime.now());
+        // Bulk JPQL skips entity callbacks
+        resourceVersions.changed(ResourceVersionService.USERS);
+        auditService.record("update", "user", dietitian.getId(),
+                "Assigned " + assigned + " patients to dietitian " + dietitian.getFullName());
+        return assigned;
+    }
+
+    /**
+     * Hands unassigned active patients to the least-loaded active dietitians,
+     * issuing one bulk UPDATE per dietitian that receives patients. A patient
+     * assigned by someone else in the meantime keeps that assignment.
+     *
+     * @return patients actually assigned, keyed by dietitian id
+     */
+    @Transactional
+    @Bulkhead(Bulkhead.BULK)
+    public Map<Long, Integer> autoBalance(int limit) {
+        List<Long> unassigned = userRepository.findUnassignedPatientIds(PageRequest.of(0, Math.max(limit, 1)));
+        if (unassigned.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        // Least assigned patients first, fewest active plans as the tie-breaker
+        PriorityQueue<long[]> loads = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(load -> load[1]).thenComparingLong(load -> load[2]));
+        for (DietitianCaseload caseload : userRepository.findDietitianCaseloads()) {
+            if ("active".equalsIgnoreCase(caseload.getStatus())) {
+                loads.add(new long[] {caseload.getId(), caseload.getAssignedPatients(), caseload.getActiveDietPlans()});
+            }
+        }
+        if (loads.isEmpty()) {
+            throw new IllegalStateException("No active dietitians available");
+        }
+
+        Map<Long, List<Long>> plan = new LinkedHashMap<>();
+        for (Long patientId : unassigned) {
+            long[] least = loads.poll();
+            plan.computeIfAbsent(least[0], id -> new ArrayList<>()).add(patientId);
+            least[1]++;
+            loads.add(least);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        plan.forEach((dietitianId, patientIds) -> {
+            int assigned = userRepository.assignUnassignedInBulk(
+                    userRepository.getReferenceById(dietitianId), patientIds, now);
+            if (assigned > 0) {
+                result.put(dietitianId, assigned);
+            }
+        });
+        int total = result.values().stream().mapToInt(Integer::intValue).sum();
+        if (total == 0) {
+            return result;
+        }
+        resourceVersions.changed(ResourceVersionService.USERS);
+
+        auditService.record("update", "user", null,
+                "Auto-balanced " + total + " patients across " + result.size() + " dietitians");
+        return result;
+    }
+
     public List<User> getAllDietitians() {
         return userRepository.findByRole("dietitian");
     }
 
+    public List<DietitianCaseload> getDietitianCaseloads() {
+        return userRepository.findDietitianCaseloads();
+    }
+
     public List<User> getPatientsByDietitianId(Long dietitianId) {
         return userRepository.findByAssignedDietitianId(dietitianId);
     }
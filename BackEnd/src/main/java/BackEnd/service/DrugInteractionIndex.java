@@ -0,0 +1,209 @@
+package BackEnd.service;
+
+import java.util.*;
+
+/**
+ * Immutable, primitive-keyed index of drug-drug interactions. Drug names are
+ * normalized and mapped to dense int ids; each unordered pair of ids is packed
+ * into one long and stored in an open-addressing table, so a lookup is a hash,
+ * a few array reads and no allocation.
+ */
+public final class DrugInteractionIndex {
+
+    public enum Severity { MINOR, MODERATE, MAJOR, CONTRAINDICATED }
+
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private final Map<String, Integer> drugIds;
+    private final String[] drugNames;
+    private final long[] keys;
+    private final byte[] severities;
+    private final int[] descriptionIndexes;
+    private final String[] descriptions;
+    private final int mask;
+    private final int pairCount;
+
+    private DrugInteractionIndex(Builder builder) {
+        this.drugIds = Map.copyOf(builder.drugIds);
+        this.drugNames = builder.drugNames.toArray(new String[0]);
+        this.descriptions = builder.descriptions.toArray(new String[0]);
+        this.pairCount = builder.pairKeys.size();
+
+        int capacity = Integer.highestOneBit(Math.max(4, pairCount * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.severities = new byte[capacity];
+        this.descriptionIndexes = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < pairCount; i++) {
+            long key = builder.pairKeys.get(i);
+            int slot = slotFor(key);
+            keys[slot] = key;
+            severities[slot] = builder.pairSeverities.get(i);
+            descriptionIndexes[slot] = builder.pairDescriptions.get(i);
+        }
+    }
+
+    public static String normalize(String drugName) {
+        if (drugName == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(drugName.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < drugName.length(); i++) {
+            char c = Character.toLowerCase(drugName.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * @return the drug id for a (free-text) name, or 0 when unknown. Falls back
+     * to the first word so "Warfarin 5mg" still resolves to warfarin.
+     */
+    public int drugId(String drugName) {
+        String normalized = normalize(drugName);
+        Integer id = drugIds.get(normalized);
+        if (id == null) {
+            int space = normalized.indexOf(' ');
+            if (space > 0) {
+                id = drugIds.get(normalized.substring(0, space));
+            }
+        }
+        return id != null ? id : 0;
+    }
+
+    public String drugName(int drugId) {
+        return drugId > 0 && drugId <= drugNames.length ? drugNames[drugId - 1] : null;
+    }
+
+    /**
+     * @return the severity of the interaction between two drug ids, or null
+     */
+    public Severity severity(int drugA, int drugB) {
+        int slot = find(drugA, drugB);
+        return slot < 0 ? null : SEVERITIES[severities[slot]];
+    }
+
+    public String description(int drugA, int drugB) {
+        int slot = find(drugA, drugB);
+        return slot < 0 ? null : descriptions[descriptionIndexes[slot]];
+    }
+
+    public int drugCount() {
+        return drugNames.length;
+    }
+
+    public int pairCount() {
+        return pairCount;
+    }
+
+    private int find(int drugA, int drugB) {
+        if (drugA <= 0 || drugB <= 0 || drugA == drugB) {
+            return -1;
+        }
+        long key = pairKey(drugA, drugB);
+        int slot = (int) mix(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return slot;
+            }
+            if (existing == 0L) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int slotFor(long key) {
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != 0L && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Ids start at 1, so a packed key is never 0 and 0 can mark empty slots
+    private static long pairKey(int drugA, int drugB) {
+        int low = Math.min(drugA, drugB);
+        int high = Math.max(drugA, drugB);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> drugIds = new HashMap<>();
+        private final List<String> drugNames = new ArrayList<>();
+        private final Map<String, Integer> descriptionIds = new HashMap<>();
+        private final List<String> descriptions = new ArrayList<>();
+        private final Map<Long, Integer> pairPositions = new HashMap<>();
+        private final List<Long> pairKeys = new ArrayList<>();
+        private final List<Byte> pairSeverities = new ArrayList<>();
+        private final List<Integer> pairDescriptions = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String drugA, String drugB, Severity severity, String description) {
+            int idA = intern(drugA);
+            int idB = intern(drugB);
+            if (idA == idB) {
+                return this;
+            }
+            long key = pairKey(idA, idB);
+            int descriptionId = descriptionIds.computeIfAbsent(description != null ? description : "", text -> {
+                descriptions.add(text);
+                return descriptions.size() - 1;
+            });
+
+            Integer position = pairPositions.get(key);
+            if (position == null) {
+                pairPositions.put(key, pairKeys.size());
+                pairKeys.add(key);
+                pairSeverities.add((byte) severity.ordinal());
+                pairDescriptions.add(descriptionId);
+            } else if (severity.ordinal() > pairSeverities.get(position)) {
+                // Keep the most severe entry when the dataset lists a pair twice
+                pairSeverities.set(position, (byte) severity.ordinal());
+                pairDescriptions.set(position, descriptionId);
+            }
+            return this;
+        }
+
+        private int intern(String drugName) {
+            String normalized = normalize(drugName);
+            if (normalized.isEmpty()) {
+                throw new IllegalArgumentException("Drug name is empty");
+            }
+            return drugIds.computeIfAbsent(normalized, name -> {
+                drugNames.add(name);
+                return drugNames.size();
+            });
+        }
+
+        public DrugInteractionIndex build() {
+            return new DrugInteractionIndex(this);
+        }
+    }
+}
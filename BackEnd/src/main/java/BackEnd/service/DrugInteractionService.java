@@ -0,0 +1,179 @@
+package BackEnd.service;
+
+import BackEnd.dto.InteractionWarning;
+import BackEnd.repository.PrescriptionRepository;
+import BackEnd.service.DrugInteractionIndex.Severity;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Checks prescriptions against the drug interaction dataset. The dataset is
+ * a CSV file ({@code drug_a,drug_b,severity,description}) loaded into an
+ * immutable {@link DrugInteractionIndex}; a reload builds a fresh index and
+ * swaps it in, so checks never see a half-loaded dataset.
+ */
+@Service
+public class DrugInteractionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DrugInteractionService.class);
+
+    private final ResourceLoader resourceLoader;
+    private final PrescriptionRepository prescriptionRepository;
+    private final String datasetLocation;
+
+    private volatile DrugInteractionIndex index = DrugInteractionIndex.builder().build();
+    private volatile long loadedLastModified = -1L;
+
+    public DrugInteractionService(ResourceLoader resourceLoader,
+                                  PrescriptionRepository prescriptionRepository,
+                                  @Value("${healthhub.interactions.path:classpath:interactions/drug-interactions.csv}")
+                                  String datasetLocation) {
+        this.resourceLoader = resourceLoader;
+        this.prescriptionRepository = prescriptionRepository;
+        this.datasetLocation = datasetLocation;
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            reload();
+        } catch (IOException e) {
+            log.error("Could not load drug interaction dataset from {}", datasetLocation, e);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the dataset file and swaps it in.
+     *
+     * @return the new index
+     */
+    public synchronized DrugInteractionIndex reload() throws IOException {
+        Resource resource = resourceLoader.getResource(datasetLocation);
+        long lastModified = lastModified(resource);
+        DrugInteractionIndex.Builder builder = DrugInteractionIndex.builder();
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",", 4);
+                if (columns.length < 3) {
+                    log.warn("Skipping malformed interaction line {}: {}", lineNumber, line);
+                    continue;
+                }
+                try {
+                    Severity severity = Severity.valueOf(columns[2].trim().toUpperCase(Locale.ROOT));
+                    builder.add(columns[0], columns[1], severity, columns.length > 3 ? columns[3].trim() : "");
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping interaction line {}: {}", lineNumber, e.getMessage());
+                }
+            }
+        }
+
+        DrugInteractionIndex loaded = builder.build();
+        index = loaded;
+        loadedLastModified = lastModified;
+        log.info("Loaded {} drug interactions across {} drugs from {}",
+                loaded.pairCount(), loaded.drugCount(), datasetLocation);
+        return loaded;
+    }
+
+    // Hot reload: pick up a replaced dataset file without a restart
+    @Scheduled(fixedDelayString = "${healthhub.interactions.reload-check-ms:30000}")
+    void reloadIfChanged() {
+        try {
+            long lastModified = lastModified(resourceLoader.getResource(datasetLocation));
+            if (lastModified > 0 && lastModified != loadedLastModified) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.warn("Drug interaction dataset reload failed, keeping previous index: {}", e.getMessage());
+        }
+    }
+
+    public DrugInteractionIndex currentIndex() {
+        return index;
+    }
+
+    /**
+     * Checks the medications of a prescription against each other and against
+     * the patient's other active prescriptions.
+     *
+     * @param excludePrescriptionId the prescription being edited, or null on create
+     */
+    public List<InteractionWarning> check(Long patientId, Long excludePrescriptionId, Collection<String> medicationNames) {
+        DrugInteractionIndex current = index;
+        if (medicationNames == null || medicationNames.isEmpty() || current.pairCount() == 0) {
+            return Collections.emptyList();
+        }
+
+        int[] newIds = resolve(current, medicationNames);
+        List<InteractionWarning> warnings = new ArrayList<>();
+        for (int i = 0; i < newIds.length; i++) {
+            for (int j = i + 1; j < newIds.length; j++) {
+                addWarning(current, warnings, newIds[i], newIds[j], null);
+            }
+        }
+
+        if (patientId != null) {
+            List<Object[]> active = prescriptionRepository.findActiveMedicationNames(patientId, LocalDate.now(),
+                    excludePrescriptionId != null ? excludePrescriptionId : -1L);
+            for (Object[] row : active) {
+                int existingId = current.drugId((String) row[1]);
+                if (existingId == 0) {
+                    continue;
+                }
+                for (int newId : newIds) {
+                    addWarning(current, warnings, newId, existingId, (Long) row[0]);
+                }
+            }
+        }
+        return warnings;
+    }
+
+    private static int[] resolve(DrugInteractionIndex current, Collection<String> names) {
+        int[] ids = new int[names.size()];
+        int count = 0;
+        for (String name : names) {
+            int id = current.drugId(name);
+            if (id != 0) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static void addWarning(DrugInteractionIndex current, List<InteractionWarning> warnings,
+                                   int drugA, int drugB, Long prescriptionId) {
+        Severity severity = current.severity(drugA, drugB);
+        if (severity != null) {
+            warnings.add(new InteractionWarning(current.drugName(drugA), current.drugName(drugB),
+                    severity.name(), current.description(drugA, drugB), prescriptionId));
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
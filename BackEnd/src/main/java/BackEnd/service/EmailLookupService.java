@@ -0,0 +1,257 @@
+package BackEnd.service;
+
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Answers "is this email registered?" for live signup validation. A Bloom
+ * filter of every normalized email sits in front of the users table lookup:
+ * a definite miss is answered from memory, only possible hits reach MySQL.
+ *
+ * <p>Emails are added as accounts are created or renamed on this node, and a
+ * short catch-up poll adds accounts other nodes created since. Renames on
+ * other nodes, and the rare insert whose id commits behind a later one, are
+ * only picked up by the next rebuild, so a miss is not authoritative: signup
+ * and account writes use {@link #isRegistered}, which always asks the
+ * database, and only the live form check answers from the filter. The
+ * filter cannot forget, so deleted or renamed-away emails stay possible hits
+ * until the next rebuild, which also resizes it as the table grows. Until
+ * the first build finishes every check goes to the database.
+ *
+ * <p>Emails are unique per clinic, so filter entries are clinic-qualified.
+ * The filter covers the shared database only; checks for clinics with a
+ * dedicated database always go to that database.
+ */
+@Service
+public class EmailLookupService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailLookupService.class);
+    private static final int CATCH_UP_BATCH = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantDatabases tenantDatabases;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final boolean deferWarmup;
+    private final Counter definiteMisses;
+    private final Counter possibleHits;
+    private final Counter falsePositives;
+
+    private volatile EmailBloomFilter filter;
+    // Emails added while a rebuild streams the table, replayed onto the new filter
+    private volatile Set<String> addedDuringRebuild;
+    // Highest users.id already in the filter; guarded by the service lock
+    private long lastSeenId;
+
+    public EmailLookupService(JdbcTemplate jdbcTemplate,
+                              TenantDatabases tenantDatabases,
+                              MeterRegistry meterRegistry,
+                              @Value("${healthhub.auth.email-filter.fpp:0.01}") double falsePositiveRate,
+                              @Value("${healthhub.auth.email-filter.min-capacity:100000}") long minCapacity,
+                              @Value("${healthhub.startup.defer-warmup:false}") boolean deferWarmup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantDatabases = tenantDatabases;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.deferWarmup = deferWarmup;
+        this.definiteMisses = meterRegistry.counter("auth.email_filter.checks", "result", "miss");
+        this.possibleHits = meterRegistry.counter("auth.email_filter.checks", "result", "possible_hit");
+        this.falsePositives = Counter.builder("auth.email_filter.false_positives")
+                .description("Possible hits the database did not confirm")
+                .register(meterRegistry);
+        gauge(meterRegistry, "auth.email_filter.bytes", "Memory held by the filter's bit array",
+                EmailBloomFilter::sizeInBytes);
+        gauge(meterRegistry, "auth.email_filter.entries", "Emails in the filter", EmailBloomFilter::entryCount);
+        gauge(meterRegistry, "auth.email_filter.capacity", "Entries the filter was sized for",
+                EmailBloomFilter::expectedEntries);
+        gauge(meterRegistry, "auth.email_filter.estimated_fpp", "False-positive rate implied by the bit density",
+                EmailBloomFilter::estimatedFalsePositiveRate);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description,
+                       ToDoubleFunction<EmailBloomFilter> value) {
+        Gauge.builder(name, this, service -> {
+                    EmailBloomFilter current = service.filter;
+                    return current != null ? value.applyAsDouble(current) : 0;
+                })
+                .description(description)
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (deferWarmup) {
+            // Readiness does not wait for the table scan; checks go to the database meanwhile
+            Thread.ofVirtual().name("email-filter-build").start(this::rebuild);
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds from the users table, sized for twice the current population.
+     * Runs periodically to drop emails that are gone, pick up other nodes'
+     * signups and resize as the table grows.
+     */
+    @Scheduled(initialDelayString = "${healthhub.auth.email-filter.rebuild-ms:600000}",
+               fixedDelayString = "${healthhub.auth.email-filter.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        // Always the shared database, whichever clinic the calling thread is bound to
+        TenantContext.runAs(null, this::rebuildShared);
+    }
+
+    private void rebuildShared() {
+        long started = System.currentTimeMillis();
+        try {
+            Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            long capacity = Math.max(minCapacity, (users != null ? users : 0) * 2);
+            EmailBloomFilter next = new EmailBloomFilter(capacity, falsePositiveRate);
+            // Taken before the scan so catch-up re-reads anything inserted while it streams
+            Long highWater = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+
+            addedDuringRebuild = ConcurrentHashMap.newKeySet();
+            // Fetch size MIN_VALUE makes Connector/J stream rows instead of buffering the table
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT tenant_id, email FROM users",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, row -> {
+                String key = key(row.getString(1), row.getString(2));
+                if (key != null) {
+                    next.add(key);
+                }
+            });
+            addedDuringRebuild.forEach(next::add);
+            filter = next;
+            addedDuringRebuild.forEach(next::add);
+            lastSeenId = highWater != null ? highWater : 0;
+            log.info("Email filter built: {} emails, {} KB, k={} in {} ms", next.entryCount(),
+                    next.sizeInBytes() / 1024, next.hashCount(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // Keep serving from the old filter (or the database) rather than failing checks
+            log.warn("Email filter rebuild failed: {}", e.getMessage());
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Adds accounts created since the last build or poll, whichever node
+     * created them, so the form check stops missing them within one interval.
+     */
+    @Scheduled(fixedDelayString = "${healthhub.auth.email-filter.catch-up-ms:2000}")
+    public synchronized void catchUp() {
+        if (filter == null) {
+            return;
+        }
+        TenantContext.runAs(null, this::catchUpShared);
+    }
+
+    private void catchUpShared() {
+        EmailBloomFilter current = filter;
+        try {
+            jdbcTemplate.query("SELECT id, tenant_id, email FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                    (RowCallbackHandler) row -> {
+                        String key = key(row.getString(2), row.getString(3));
+                        if (key != null) {
+                            current.add(key);
+                        }
+                        lastSeenId = row.getLong(1);
+                    }, lastSeenId, CATCH_UP_BATCH);
+        } catch (DataAccessException e) {
+            log.warn("Email filter catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records an email that now belongs to an account. Safe to call before the
+     * transaction commits: a rolled-back add only costs one extra DB lookup.
+     */
+    public void add(String email) {
+        String tenant = TenantContext.currentOrDefault();
+        String key = key(tenant, email);
+        if (key == null || tenantDatabases.isDedicated(tenant)) {
+            return;
+        }
+        Set<String> pending = addedDuringRebuild;
+        if (pending != null) {
+            pending.add(key);
+        }
+        EmailBloomFilter current = filter;
+        if (current != null) {
+            current.add(key);
+        }
+    }
+
+    /**
+     * Answers from the filter when it can. A miss may be an account another
+     * node created or renamed moments ago, so use this for hints only.
+     */
+    public boolean exists(String email) {
+        String tenant = TenantContext.currentOrDefault();
+        String key = key(tenant, email);
+        if (key == null) {
+            return false;
+        }
+        EmailBloomFilter current = tenantDatabases.isDedicated(tenant) ? null : filter;
+        if (current != null && !current.mightContain(key)) {
+            definiteMisses.increment();
+            return false;
+        }
+        boolean exists = existsIncludingDeleted(tenant, email.trim());
+        if (current != null) {
+            possibleHits.increment();
+            if (!exists) {
+                falsePositives.increment();
+            }
+        }
+        return exists;
+    }
+
+    /**
+     * Authoritative check for paths that create or rename an account: always
+     * the database, never a filter miss.
+     */
+    public boolean isRegistered(String email) {
+        if (email == null || email.isBlank()) {
+            return false;
+        }
+        return existsIncludingDeleted(TenantContext.currentOrDefault(), email.trim());
+    }
+
+    // Soft-deleted accounts keep their email (uk_user_tenant_email) until UserPurgeJob removes the row
+    private boolean existsIncludingDeleted(String tenant, String email) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE tenant_id = ? AND email = ?",
+                Long.class, tenant, email);
+        return count != null && count > 0;
+    }
+
+    // Lowercased to match the case-insensitive collation of users.email; tenant ids cannot contain '/'
+    static String key(String tenant, String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return tenant + '/' + email.trim().toLowerCase(Locale.ROOT);
+    }
+}
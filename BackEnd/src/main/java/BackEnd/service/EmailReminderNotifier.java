@@ -0,0 +1,94 @@
+package BackEnd.service;
+
+import BackEnd.dto.ReminderMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends reminders as plain-text email. A batch goes out in one
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, which reuses a
+ * single SMTP connection for every message in it.
+ */
+@Component
+@ConditionalOnProperty(name = "healthhub.reminders.notifier", havingValue = "email")
+public class EmailReminderNotifier implements ReminderNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailReminderNotifier.class);
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("EEEE d MMMM yyyy 'at' HH:mm");
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public EmailReminderNotifier(JavaMailSender mailSender,
+                                 @Value("${healthhub.reminders.from:no-reply@healthhub.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public List<ReminderMessage> send(List<ReminderMessage> batch) {
+        List<ReminderMessage> deliverable = new ArrayList<>();
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        List<ReminderMessage> failed = new ArrayList<>();
+        for (ReminderMessage reminder : batch) {
+            if (reminder.getRecipientEmail() == null || reminder.getRecipientEmail().isBlank()) {
+                log.warn("No email address for reminder of appointment {}", reminder.getAppointmentId());
+                continue;
+            }
+            deliverable.add(reminder);
+            messages.add(toMail(reminder));
+        }
+        if (messages.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Per-message failures: only those are retried
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                if (failedMessages.containsKey(messages.get(i))) {
+                    failed.add(deliverable.get(i));
+                }
+            }
+            if (failed.isEmpty()) {
+                failed.addAll(deliverable);
+            }
+            log.warn("{} of {} reminder emails failed: {}", failed.size(), messages.size(), e.getMessage());
+        } catch (MailException e) {
+            log.warn("Reminder batch of {} emails failed: {}", messages.size(), e.getMessage());
+            return Collections.unmodifiableList(deliverable);
+        }
+        return failed;
+    }
+
+    private SimpleMailMessage toMail(ReminderMessage reminder) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(reminder.getRecipientEmail());
+        mail.setSubject("Reminder: your " + describe(reminder.getAppointmentType()) + " appointment");
+        mail.setText("Hello " + reminder.getRecipientName() + ",\n\n"
+                + "This is a reminder of your " + describe(reminder.getAppointmentType()) + " appointment with "
+                + reminder.getDoctorName() + " on " + WHEN.format(reminder.getAppointmentDate()) + ".\n\n"
+                + "HealthHub");
+        return mail;
+    }
+
+    private static String describe(String type) {
+        return type != null && !type.isBlank() ? type : "upcoming";
+    }
+}
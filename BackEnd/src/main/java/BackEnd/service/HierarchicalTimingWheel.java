@@ -0,0 +1,188 @@
+package BackEnd.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: O(1) schedule and cancel, and an advance that
+ * only touches the buckets whose time has come. The lowest wheel has
+ * {@code wheelSize} buckets of {@code tickMs}; each overflow wheel's tick is
+ * the full span of the wheel below it, so timers far in the future sit in a
+ * coarse bucket and cascade down as their time approaches. Overflow wheels
+ * are added on demand.
+ *
+ * <p>All methods are synchronized; the wheel is meant to be advanced from a
+ * single ticker thread while other threads schedule and cancel.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private static final class Entry<K> {
+        final K key;
+        final long deadline;
+        Entry<K> prev;
+        Entry<K> next;
+        Bucket<K> bucket;
+
+        Entry(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+
+    // Intrusive doubly-linked list so cancel is O(1)
+    private static final class Bucket<K> {
+        final Entry<K> head = new Entry<>(null, 0);
+
+        Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Entry<K> entry) {
+            entry.bucket = this;
+            entry.prev = head.prev;
+            entry.next = head;
+            head.prev.next = entry;
+            head.prev = entry;
+        }
+
+        void remove(Entry<K> entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = entry.next = null;
+            entry.bucket = null;
+        }
+
+        List<Entry<K>> drain() {
+            List<Entry<K>> drained = new ArrayList<>();
+            for (Entry<K> e = head.next; e != head; ) {
+                Entry<K> next = e.next;
+                remove(e);
+                drained.add(e);
+                e = next;
+            }
+            return drained;
+        }
+    }
+
+    private static final class Level<K> {
+        final long tickMs;
+        final long intervalMs;
+        final Bucket<K>[] buckets;
+        long currentTime;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.intervalMs = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        Bucket<K> bucketFor(long time) {
+            return buckets[(int) ((time / tickMs) % buckets.length)];
+        }
+    }
+
+    private final int wheelSize;
+    private final List<Level<K>> levels = new ArrayList<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.wheelSize = wheelSize;
+        levels.add(new Level<>(tickMs, wheelSize, startMs));
+    }
+
+    /**
+     * Schedules (or reschedules) a key.
+     *
+     * @return false if the deadline is already due; the key is then not stored
+     * and the caller should fire it directly
+     */
+    public synchronized boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+        Entry<K> entry = new Entry<>(key, deadlineMs);
+        if (!place(entry)) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.bucket != null) {
+            entry.bucket.remove(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs}, handing every key whose
+     * deadline has passed to {@code expired}.
+     */
+    public synchronized void advance(long nowMs, Consumer<K> expired) {
+        Level<K> lowest = levels.get(0);
+        while (lowest.currentTime + lowest.tickMs <= nowMs) {
+            tick(0, expired);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    private void tick(int levelIndex, Consumer<K> expired) {
+        Level<K> level = levels.get(levelIndex);
+        level.currentTime += level.tickMs;
+
+        // Crossing a tick of the wheel above: cascade its bucket down first
+        if (levelIndex + 1 < levels.size()) {
+            Level<K> parent = levels.get(levelIndex + 1);
+            if (level.currentTime % parent.tickMs == 0) {
+                tick(levelIndex + 1, expired);
+            }
+        }
+
+        for (Entry<K> entry : level.bucketFor(level.currentTime).drain()) {
+            if (!place(entry)) {
+                entries.remove(entry.key);
+                expired.accept(entry.key);
+            }
+        }
+    }
+
+    private boolean place(Entry<K> entry) {
+        Level<K> lowest = levels.get(0);
+        if (entry.deadline < lowest.currentTime + lowest.tickMs) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<K> top = levels.get(i - 1);
+                levels.add(new Level<>(top.intervalMs, wheelSize, top.currentTime));
+            }
+            Level<K> level = levels.get(i);
+            if (entry.deadline < level.currentTime + level.intervalMs) {
+                level.bucketFor(entry.deadline).add(entry);
+                return true;
+            }
+        }
+    }
+}
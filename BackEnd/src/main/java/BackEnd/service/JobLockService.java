@@ -0,0 +1,57 @@
+package BackEnd.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cluster-wide mutual exclusion for scheduled jobs, based on lease rows in
+ * {@code scheduler_locks}. A lease expires on its own if the holder dies, so
+ * {@code lockAtMostFor} must exceed the longest expected run.
+ */
+@Service
+public class JobLockService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    public JobLockService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean tryLock(String name, Duration lockAtMostFor) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(lockAtMostFor));
+
+        int updated = jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = ?, locked_at = ?, locked_by = ? " +
+                "WHERE name = ? AND locked_until <= ?",
+                until, Timestamp.valueOf(now), nodeId, name, Timestamp.valueOf(now));
+        if (updated == 1) {
+            return true;
+        }
+
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    name, until, Timestamp.valueOf(now), nodeId);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Row exists and its lease is still held by another node
+            return false;
+        }
+    }
+
+    public void unlock(String name) {
+        jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?",
+                Timestamp.valueOf(LocalDateTime.now()), name, nodeId);
+    }
+}
@@ -0,0 +1,30 @@
+package BackEnd.service;
+
+import BackEnd.dto.ReminderMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Default notifier when no delivery channel is configured: reminders are only
+ * logged.
+ */
+@Component
+@ConditionalOnProperty(name = "healthhub.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderNotifier.class);
+
+    @Override
+    public List<ReminderMessage> send(List<ReminderMessage> batch) {
+        for (ReminderMessage reminder : batch) {
+            log.info("Reminder for appointment {} ({} min before) to {}",
+                    reminder.getAppointmentId(), reminder.getOffsetMinutes(), reminder.getRecipientEmail());
+        }
+        return Collections.emptyList();
+    }
+}
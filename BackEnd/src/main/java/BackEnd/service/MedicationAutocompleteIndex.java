@@ -0,0 +1,157 @@
+package BackEnd.service;
+
+import java.util.*;
+
+/**
+ * Immutable prefix trie over medication catalog names. Every node caches the
+ * ids of its {@link #TOP_K} most prescribed completions, so a lookup walks
+ * one node per prefix character and copies out a precomputed list; nothing is
+ * sorted or scanned at query time.
+ */
+public final class MedicationAutocompleteIndex {
+
+    public static final int TOP_K = 10;
+
+    private static final int[] NO_ENTRIES = new int[0];
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    public record Suggestion(long id, String name, long prescriptions) {}
+
+    private final Node root;
+    private final long[] ids;
+    private final String[] names;
+    private final long[] counts;
+
+    private MedicationAutocompleteIndex(Node root, long[] ids, String[] names, long[] counts) {
+        this.root = root;
+        this.ids = ids;
+        this.names = names;
+        this.counts = counts;
+    }
+
+    public static MedicationAutocompleteIndex empty() {
+        return new MedicationAutocompleteIndex(new Node(NO_CHARS, NO_CHILDREN, NO_ENTRIES), new long[0], new String[0], new long[0]);
+    }
+
+    /**
+     * @param id      catalog id
+     * @param name    display name
+     * @param count   number of prescription lines referencing it
+     */
+    public record Entry(long id, String name, long count) {}
+
+    public static MedicationAutocompleteIndex build(Collection<Entry> entries) {
+        int size = entries.size();
+        long[] ids = new long[size];
+        String[] names = new String[size];
+        long[] counts = new long[size];
+
+        MutableNode root = new MutableNode();
+        int i = 0;
+        for (Entry entry : entries) {
+            ids[i] = entry.id();
+            names[i] = entry.name();
+            counts[i] = entry.count();
+            String key = DrugInteractionIndex.normalize(entry.name());
+            MutableNode node = root;
+            for (int c = 0; c < key.length(); c++) {
+                node = node.children.computeIfAbsent(key.charAt(c), k -> new MutableNode());
+            }
+            node.terminals.add(i);
+            i++;
+        }
+        return new MedicationAutocompleteIndex(root.freeze(counts, names), ids, names, counts);
+    }
+
+    /**
+     * @return up to {@code limit} (capped at {@link #TOP_K}) completions of the
+     * prefix, most prescribed first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = DrugInteractionIndex.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        for (int c = 0; c < key.length() && node != null; c++) {
+            node = node.child(key.charAt(c));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        int n = Math.min(limit, node.top.length);
+        List<Suggestion> suggestions = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) {
+            int entry = node.top[j];
+            suggestions.add(new Suggestion(ids[entry], names[entry], counts[entry]));
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    private static final class Node {
+        // Sorted edge labels, searched with binary search
+        final char[] labels;
+        final Node[] children;
+        final int[] top;
+
+        Node(char[] labels, Node[] children, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        Node child(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+    }
+
+    private static final class MutableNode {
+        final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        final List<Integer> terminals = new ArrayList<>(1);
+
+        // Bottom-up: a node's top-k is the best of its own entries and its children's top-k
+        Node freeze(long[] counts, String[] names) {
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int c = 0;
+            for (Map.Entry<Character, MutableNode> child : children.entrySet()) {
+                labels[c] = child.getKey();
+                frozen[c] = child.getValue().freeze(counts, names);
+                c++;
+            }
+
+            Comparator<Integer> rank = Comparator.<Integer>comparingLong(e -> counts[e]).reversed()
+                    .thenComparing(e -> names[e], String.CASE_INSENSITIVE_ORDER);
+            PriorityQueue<Integer> best = new PriorityQueue<>(rank.reversed());
+            for (int terminal : terminals) {
+                offer(best, terminal, rank);
+            }
+            for (Node child : frozen) {
+                for (int entry : child.top) {
+                    offer(best, entry, rank);
+                }
+            }
+
+            int[] top = new int[best.size()];
+            for (int j = top.length - 1; j >= 0; j--) {
+                top[j] = best.poll();
+            }
+            return new Node(labels, frozen, top);
+        }
+
+        private static void offer(PriorityQueue<Integer> best, int entry, Comparator<Integer> rank) {
+            if (best.size() < TOP_K) {
+                best.add(entry);
+            } else if (rank.compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+    }
+}
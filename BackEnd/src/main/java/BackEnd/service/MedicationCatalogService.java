@@ -0,0 +1,154 @@
+package BackEnd.service;
+
+import BackEnd.model.prescription.Medication;
+import BackEnd.repository.MedicationRepository;
+import BackEnd.tenant.TenantContext;
+import BackEnd.tenant.TenantDatabases;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps free-text medication names onto catalog rows and serves autocomplete
+ * from an in-memory {@link MedicationAutocompleteIndex}. The index is rebuilt
+ * in the background when the catalog or prescribing counts have changed, and
+ * swapped in atomically. The catalog table exists in every database; the
+ * autocomplete index is built from the shared one.
+ */
+@Service
+public class MedicationCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(MedicationCatalogService.class);
+
+    private final MedicationRepository medicationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantDatabases tenantDatabases;
+    private final boolean deferWarmup;
+
+    // database + '/' + normalized name -> catalog id. Only committed rows are cached, and catalog rows are
+    // never deleted, so entries never go stale
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    private volatile MedicationAutocompleteIndex index = MedicationAutocompleteIndex.empty();
+    private volatile boolean dirty = true;
+
+    public MedicationCatalogService(MedicationRepository medicationRepository, JdbcTemplate jdbcTemplate,
+                                    TenantDatabases tenantDatabases,
+                                    @Value("${healthhub.startup.defer-warmup:false}") boolean deferWarmup) {
+        this.medicationRepository = medicationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantDatabases = tenantDatabases;
+        this.deferWarmup = deferWarmup;
+    }
+
+    @PostConstruct
+    void init() {
+        if (deferWarmup) {
+            // The index starts dirty, so the first scheduled refresh builds it
+            return;
+        }
+        try {
+            rebuildIndex();
+        } catch (RuntimeException e) {
+            log.warn("Could not build medication autocomplete index at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the catalog entry for a free-text name, created on first use, or
+     * null when the name is blank
+     */
+    @Transactional
+    public Medication resolve(String name) {
+        Long id = resolveId(name);
+        return id != null ? medicationRepository.getReferenceById(id) : null;
+    }
+
+    @Transactional
+    public Long resolveId(String name) {
+        String normalized = DrugInteractionIndex.normalize(name);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        // Each database numbers its own catalog rows
+        String cacheKey = tenantDatabases.databaseOf(TenantContext.current()) + '/' + normalized;
+        Long cached = idsByName.get(cacheKey);
+        if (cached != null) {
+            dirty = true;
+            return cached;
+        }
+
+        // INSERT IGNORE keeps concurrent first uses of a name from failing on the unique key
+        jdbcTemplate.update("INSERT IGNORE INTO medications (name, normalized_name) VALUES (?, ?)",
+                name.trim(), normalized);
+        // A locking read sees a row another transaction committed after our snapshot was taken,
+        // which is exactly the row INSERT IGNORE just skipped over
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM medications WHERE normalized_name = ? FOR SHARE", Long.class, normalized);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Medication catalog row missing for " + normalized);
+        }
+        Long id = ids.get(0);
+        // A row inserted by this transaction is gone if it rolls back, so cache it only once committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    idsByName.put(cacheKey, id);
+                }
+            });
+        } else {
+            idsByName.put(cacheKey, id);
+        }
+        dirty = true;
+        return id;
+    }
+
+    public List<MedicationAutocompleteIndex.Suggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    public List<Map<String, Object>> getActivePatients(Long medicationId) {
+        List<Map<String, Object>> patients = new ArrayList<>();
+        for (Object[] row : medicationRepository.findActivePatients(medicationId)) {
+            patients.add(Map.of("id", row[0], "fullName", row[1] != null ? row[1] : ""));
+        }
+        return patients;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${healthhub.medications.index-refresh-ms:60000}")
+    void refreshIfDirty() {
+        if (dirty) {
+            rebuildIndex();
+        }
+    }
+
+    public synchronized MedicationAutocompleteIndex rebuildIndex() {
+        dirty = false;
+        List<MedicationAutocompleteIndex.Entry> entries = new ArrayList<>();
+        for (Object[] row : TenantContext.callAs(null, medicationRepository::findAllWithPrescribingCounts)) {
+            entries.add(new MedicationAutocompleteIndex.Entry(
+                    ((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).longValue()));
+        }
+        MedicationAutocompleteIndex rebuilt = MedicationAutocompleteIndex.build(entries);
+        index = rebuilt;
+        log.debug("Rebuilt medication autocomplete index with {} entries", rebuilt.size());
+        return rebuilt;
+    }
+}
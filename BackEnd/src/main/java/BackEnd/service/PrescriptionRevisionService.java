@@ -0,0 +1,227 @@
+package BackEnd.service;
+
+import BackEnd.dto.PrescriptionSnapshot;
+import BackEnd.dto.PrescriptionSnapshot.MedicationSnapshot;
+import BackEnd.exception.ResourceNotFoundException;
+import BackEnd.model.prescription.Prescription;
+import BackEnd.model.prescription.PrescriptionMedication;
+import BackEnd.model.prescription.PrescriptionRevision;
+import BackEnd.repository.PrescriptionRevisionRepository;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Maintains the per-prescription revision journal. Updates are stored as
+ * field-level deltas, with a full snapshot every {@code snapshotInterval}
+ * revisions; point-in-time reads start from the nearest earlier snapshot.
+ */
+@Service
+public class PrescriptionRevisionService {
+
+    private final PrescriptionRevisionRepository revisionRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotInterval;
+
+    public PrescriptionRevisionService(PrescriptionRevisionRepository revisionRepository,
+                                       ObjectMapper objectMapper,
+                                       @Value("${healthhub.prescriptions.snapshot-interval:10}") int snapshotInterval) {
+        this.revisionRepository = revisionRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    public PrescriptionSnapshot capture(Prescription prescription) {
+        PrescriptionSnapshot snapshot = new PrescriptionSnapshot();
+        snapshot.setId(prescription.getId());
+        snapshot.setDiagnosis(prescription.getDiagnosis());
+        snapshot.setNotes(prescription.getNotes());
+        snapshot.setValidUntil(prescription.getValidUntil());
+        snapshot.setStatus(prescription.getStatus());
+        if (prescription.getMedications() != null) {
+            for (PrescriptionMedication medication : prescription.getMedications()) {
+                snapshot.getMedications().add(toSnapshot(medication));
+            }
+        }
+        return snapshot;
+    }
+
+    @Transactional
+    public void recordCreated(Prescription prescription) {
+        PrescriptionSnapshot snapshot = capture(prescription);
+        snapshot.setRevision(1);
+        append(prescription.getId(), 1, true, snapshot);
+    }
+
+    /**
+     * Appends the difference between {@code before} and the current state of
+     * the prescription. Nothing is written when nothing changed. The caller
+     * must hold the prescription's row lock, so the next revision number is
+     * not taken by a concurrent edit.
+     */
+    @Transactional
+    public void recordChange(Prescription prescription, PrescriptionSnapshot before) {
+        PrescriptionSnapshot after = capture(prescription);
+        PrescriptionDelta delta = diff(before, after);
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        int revision = revisionRepository.findLatestRevision(prescription.getId()) + 1;
+        if ((revision - 1) % snapshotInterval == 0) {
+            after.setRevision(revision);
+            append(prescription.getId(), revision, true, after);
+        } else {
+            append(prescription.getId(), revision, false, delta);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getHistory(Long prescriptionId) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        for (PrescriptionRevision revision : revisionRepository.findByPrescriptionIdOrderByRevisionAsc(prescriptionId)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("revision", revision.getRevision());
+            entry.put("changedAt", revision.getChangedAt());
+            entry.put("changedBy", revision.getChangedBy());
+            entry.put("snapshot", revision.isSnapshot());
+            entry.put("changes", revision.isSnapshot()
+                    ? read(revision.getPayload(), PrescriptionSnapshot.class)
+                    : read(revision.getPayload(), PrescriptionDelta.class));
+            history.add(entry);
+        }
+        return history;
+    }
+
+    /**
+     * Rebuilds the prescription as it was at {@code at}: the latest snapshot
+     * at or before that time plus the deltas recorded after it.
+     */
+    @Transactional(readOnly = true)
+    public PrescriptionSnapshot reconstructAt(Long prescriptionId, LocalDateTime at) {
+        PrescriptionRevision base = revisionRepository
+                .findTopByPrescriptionIdAndSnapshotTrueAndChangedAtLessThanEqualOrderByRevisionDesc(prescriptionId, at)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No revision of prescription " + prescriptionId + " exists at " + at));
+
+        PrescriptionSnapshot state = read(base.getPayload(), PrescriptionSnapshot.class);
+        for (PrescriptionRevision revision : revisionRepository
+                .findByPrescriptionIdAndRevisionGreaterThanAndChangedAtLessThanEqualOrderByRevisionAsc(
+                        prescriptionId, base.getRevision(), at)) {
+            apply(state, read(revision.getPayload(), PrescriptionDelta.class));
+            state.setRevision(revision.getRevision());
+        }
+        return state;
+    }
+
+    private void append(Long prescriptionId, int revision, boolean snapshot, Object payload) {
+        revisionRepository.save(new PrescriptionRevision(prescriptionId, revision, LocalDateTime.now(),
+                AuditService.currentActorId(), snapshot, write(payload)));
+    }
+
+    static PrescriptionDelta diff(PrescriptionSnapshot before, PrescriptionSnapshot after) {
+        PrescriptionDelta delta = new PrescriptionDelta();
+        putIfChanged(delta, "diagnosis", before.getDiagnosis(), after.getDiagnosis());
+        putIfChanged(delta, "notes", before.getNotes(), after.getNotes());
+        putIfChanged(delta, "validUntil", before.getValidUntil(), after.getValidUntil());
+        putIfChanged(delta, "status", before.getStatus(), after.getStatus());
+
+        Map<Long, MedicationSnapshot> previous = new HashMap<>();
+        for (MedicationSnapshot medication : before.getMedications()) {
+            previous.put(medication.getId(), medication);
+        }
+        for (MedicationSnapshot medication : after.getMedications()) {
+            MedicationSnapshot old = previous.remove(medication.getId());
+            if (!medication.equals(old)) {
+                delta.getUpserted().add(medication);
+            }
+        }
+        delta.getRemoved().addAll(previous.keySet());
+        return delta;
+    }
+
+    static void apply(PrescriptionSnapshot state, PrescriptionDelta delta) {
+        delta.getFields().forEach((field, value) -> {
+            switch (field) {
+                case "diagnosis" -> state.setDiagnosis(value);
+                case "notes" -> state.setNotes(value);
+                case "validUntil" -> state.setValidUntil(value != null ? LocalDate.parse(value) : null);
+                case "status" -> state.setStatus(value);
+                default -> { }
+            }
+        });
+
+        List<MedicationSnapshot> medications = state.getMedications();
+        medications.removeIf(medication -> delta.getRemoved().contains(medication.getId()));
+        for (MedicationSnapshot upserted : delta.getUpserted()) {
+            boolean replaced = false;
+            for (int i = 0; i < medications.size(); i++) {
+                if (Objects.equals(medications.get(i).getId(), upserted.getId())) {
+                    medications.set(i, upserted);
+                    replaced = true;
+                    break;
+                }
+            }
+            if (!replaced) {
+                medications.add(upserted);
+            }
+        }
+    }
+
+    private static void putIfChanged(PrescriptionDelta delta, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            delta.getFields().put(field, after != null ? after.toString() : null);
+        }
+    }
+
+    private static MedicationSnapshot toSnapshot(PrescriptionMedication medication) {
+        MedicationSnapshot snapshot = new MedicationSnapshot();
+        snapshot.setId(medication.getId());
+        snapshot.setName(medication.getName());
+        snapshot.setDosage(medication.getDosage());
+        snapshot.setFrequency(medication.getFrequency());
+        snapshot.setDuration(medication.getDuration());
+        snapshot.setInstructions(medication.getInstructions());
+        return snapshot;
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize prescription revision", e);
+        }
+    }
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt prescription revision payload", e);
+        }
+    }
+
+    /**
+     * Field-level change set between two consecutive revisions. Scalar
+     * fields carry their new value; medications are replaced by id.
+     */
+    @Data
+    public static class PrescriptionDelta {
+        private Map<String, String> fields = new LinkedHashMap<>();
+        private List<MedicationSnapshot> upserted = new ArrayList<>();
+        private List<Long> removed = new ArrayList<>();
+
+        @JsonIgnore
+        public boolean isEmpty() {
+            return fields.isEmpty() && upserted.isEmpty() && removed.isEmpty();
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package BackEnd.service;
 
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.dto.InteractionWarning;
+import BackEnd.dto.PatientPrescriptionSummary;
 import BackEnd.dto.PrescriptionRequest;
 import BackEnd.dto.PrescriptionResponse;
+import BackEnd.dto.PrescriptionSnapshot;
+import BackEnd.event.EntityChangeEvent;
 import BackEnd.exception.ResourceNotFoundException;
 import BackEnd.model.User;
 import BackEnd.model.prescription.Prescription;
 import BackEnd.model.prescription.PrescriptionMedication;
 import BackEnd.repository.PrescriptionRepository;
 import BackEnd.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,14 +26,34 @@ import java.util.stream.Collectors;
 @Service
 public class PrescriptionService {
 
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionService.class);
+
     private final PrescriptionRepository prescriptionRepository;
     private final UserRepository userRepository;
+    private final AuditService auditService;
+    private final PrescriptionRevisionService revisionService;
+    private final DrugInteractionService interactionService;
+    private final MedicationCatalogService catalogService;
+    private final ClinicalSearchService searchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public PrescriptionService(PrescriptionRepository prescriptionRepository, 
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             AuditService auditService,
+                             PrescriptionRevisionService revisionService,
+                             DrugInteractionService interactionService,
+                             MedicationCatalogService catalogService,
+                             ClinicalSearchService searchService,
+                             ApplicationEventPublisher eventPublisher) {
         this.prescriptionRepository = prescriptionRepository;
         this.userRepository = userRepository;
+        this.auditService = auditService;
+        this.revisionService = revisionService;
+        this.interactionService = interactionService;
+        this.catalogService = catalogService;
+        this.searchService = searchService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -50,6 +78,7 @@ public class PrescriptionService {
             for (PrescriptionRequest.MedicationDto medDto : request.getMedications()) {
                 PrescriptionMedication medication = new PrescriptionMedication();
                 medication.setName(medDto.getName());
+                medication.setMedication(catalogService.resolve(medDto.getName()));
                 medication.setDosage(medDto.getDosage());
                 medication.setFrequency(medDto.getFrequency());
                 medication.setDuration(medDto.getDuration());
@@ -59,12 +88,21 @@ public class PrescriptionService {
         }
         
         // Save prescription
-        Prescription savedPrescription = prescriptionRepository.save(prescription);
+        Prescription savedPrescription = prescriptionRepository.saveAndFlush(prescription);
+        revisionService.recordCreated(savedPrescription);
+        auditService.record("create", "prescription", savedPrescription.getId(),
+                "Issued prescription for patient " + patient.getId() + ": " + savedPrescription.getDiagnosis());
+        searchService.indexPrescription(savedPrescription);
+        publishChange("create", savedPrescription);
         
         // Convert to response DTO
-        return convertToResponse(savedPrescription);
+        PrescriptionResponse response = convertToResponse(savedPrescription);
+        response.setInteractionWarnings(checkInteractions(savedPrescription));
+        return response;
     }
     
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<PrescriptionResponse> getPatientPrescriptions(Long patientId) {
         User patient = userRepository.findById(patientId)
             .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + patientId));
@@ -76,9 +114,10 @@ public class PrescriptionService {
     
     @Transactional
     public PrescriptionResponse updatePrescription(Long id, PrescriptionRequest request) {
-        // Find the existing prescription with its medications
-        Prescription prescription = prescriptionRepository.findById(id)
+        // Locked until commit: the revision number and the before-snapshot must not race another edit
+        Prescription prescription = prescriptionRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new ResourceNotFoundException("Prescription not found with id: " + id));
+        PrescriptionSnapshot before = revisionService.capture(prescription);
         
         // Update basic prescription fields
         if (request.getDiagnosis() != null) {
@@ -93,127 +132,122 @@ public class PrescriptionService {
             prescription.setValidUntil(request.getValidUntil());
         }
         
-        // Handle medications update
+        // Handle medications update in place: rows are only touched when their
+        // content changes, and only medications missing from the request are removed
         if (request.getMedications() != null && !request.getMedications().isEmpty()) {
-            // Create a map of existing medications by ID for quick lookup
             Map<Long, PrescriptionMedication> existingMeds = prescription.getMedications().stream()
                 .collect(Collectors.toMap(PrescriptionMedication::getId, med -> med));
+            Set<Long> retainedIds = new HashSet<>();
             
-            // Clear the existing medications collection
-            prescription.getMedications().clear();
-            
-            // Process each medication from the request
             for (PrescriptionRequest.MedicationDto medDto : request.getMedications()) {
-                PrescriptionMedication medication;
-                
-                // If the medication has an ID, it's an existing one that needs to be updated
-                if (medDto.getId() != null && existingMeds.containsKey(medDto.getId())) {
-                    medication = existingMeds.get(medDto.getId());
+                PrescriptionMedication existing = medDto.getId() != null ? existingMeds.get(medDto.getId()) : null;
+                if (existing != null) {
+                    retainedIds.add(existing.getId());
+                    if (!sameContent(existing, medDto)) {
+                        applyMedication(existing, medDto);
+                    }
                 } else {
-                    // It's a new medication
-                    medication = new PrescriptionMedication();
-                    medication.setPrescription(prescription);
+                    PrescriptionMedication medication = new PrescriptionMedication();
+                    applyMedication(medication, medDto);
+                    prescription.addMedication(medication);
                 }
-                
-                // Update medication details
-                medication.setName(medDto.getName());
-                medication.setDosage(medDto.getDosage());
-                medication.setFrequency(medDto.getFrequency());
-                medication.setInstructions(medDto.getInstructions());
-                
-                // Add to the prescription's medications
-                prescription.getMedications().add(medication);
             }
+            
+            prescription.getMedications().removeIf(
+                med -> med.getId() != null && !retainedIds.contains(med.getId()));
         }
         
         // Save the prescription (cascades to medications)
-        Prescription updatedPrescription = prescriptionRepository.save(prescription);
-        return convertToResponse(updatedPrescription);
+        Prescription updatedPrescription = prescriptionRepository.saveAndFlush(prescription);
+        revisionService.recordChange(updatedPrescription, before);
+        auditService.record("update", "prescription", id, "Updated prescription " + id);
+        searchService.indexPrescription(updatedPrescription);
+        publishChange("update", updatedPrescription);
+        PrescriptionResponse response = convertToResponse(updatedPrescription);
+        response.setInteractionWarnings(checkInteractions(updatedPrescription));
+        return response;
     }
     
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getPatientsWithPrescriptions() {
+    @Bulkhead(Bulkhead.BULK)
+    public List<PatientPrescriptionSummary> getPatientsWithPrescriptions() {
         try {
-            System.out.println("Fetching distinct patients with prescriptions...");
-            
             // Get distinct patients who have prescriptions
             List<User> patients = null;
             try {
                 patients = prescriptionRepository.findDistinctPatients();
-                System.out.println("Found " + (patients != null ? patients.size() : 0) + " patients with prescriptions");
+                log.debug("Found {} patients with prescriptions", patients != null ? patients.size() : 0);
             } catch (Exception e) {
-                System.err.println("Error in findDistinctPatients: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error in findDistinctPatients", e);
                 throw e;
             }
             
             if (patients == null || patients.isEmpty()) {
-                System.out.println("No patients found with prescriptions");
                 return Collections.emptyList();
             }
             
             return patients.stream()
                 .filter(Objects::nonNull)
-                .map(patient -> {
-                    Map<String, Object> patientData = new HashMap<>();
-                    patientData.put("id", patient.getId());
-                    patientData.put("fullName", patient.getFullName() != null ? patient.getFullName() : "");
-                    patientData.put("email", patient.getEmail() != null ? patient.getEmail() : "");
-                    patientData.put("phone", patient.getPhone() != null ? patient.getPhone() : "");
-                    patientData.put("status", patient.getStatus() != null ? patient.getStatus() : "");
-                    
-                    // Get latest prescription for the patient
-                    try {
-                        Optional<Prescription> latestPrescription = prescriptionRepository
-                            .findTopByPatientOrderByPrescriptionDateDesc(patient);
-                            
-                        latestPrescription.ifPresent(prescription -> {
-                            patientData.put("prescriptionId", prescription.getId());
-                            patientData.put("prescriptionDate", prescription.getPrescriptionDate());
-                            patientData.put("diagnosis", prescription.getDiagnosis() != null ? prescription.getDiagnosis() : "");
-                            patientData.put("status", prescription.getStatus() != null ? prescription.getStatus().toString() : "");
-                            
-                            // Get medications
-                            if (prescription.getMedications() != null) {
-                                List<Map<String, Object>> medications = prescription.getMedications().stream()
-                                    .map(med -> {
-                                        Map<String, Object> medMap = new HashMap<>();
-                                        medMap.put("name", med.getName() != null ? med.getName() : "");
-                                        medMap.put("dosage", med.getDosage() != null ? med.getDosage() : "");
-                                        medMap.put("frequency", med.getFrequency() != null ? med.getFrequency() : "");
-                                        return medMap;
-                                    })
-                                    .collect(Collectors.toList());
-                                patientData.put("medications", medications);
-                            } else {
-                                patientData.put("medications", Collections.emptyList());
-                            }
-                        });
-                    } catch (Exception e) {
-                        // Log error and continue with next patient
-                        System.err.println("Error processing patient " + patient.getId() + ": " + e.getMessage());
-                    }
-                    return patientData;
-                })
+                .map(this::toPatientSummary)
                 .collect(Collectors.toList());
         } catch (Exception e) {
-            System.err.println("Error in getPatientsWithPrescriptions: " + e.getMessage());
+            log.error("Error in getPatientsWithPrescriptions", e);
             return Collections.emptyList();
         }
     }
+
+    private PatientPrescriptionSummary toPatientSummary(User patient) {
+        String fullName = patient.getFullName() != null ? patient.getFullName() : "";
+        String email = patient.getEmail() != null ? patient.getEmail() : "";
+        String phone = patient.getPhone() != null ? patient.getPhone() : "";
+        String status = patient.getStatus() != null ? patient.getStatus() : "";
+
+        // Get latest prescription for the patient
+        try {
+            Optional<Prescription> latestPrescription = prescriptionRepository
+                .findTopByPatientOrderByPrescriptionDateDesc(patient);
+            if (latestPrescription.isPresent()) {
+                Prescription prescription = latestPrescription.get();
+                List<PatientPrescriptionSummary.MedicationLine> medications = prescription.getMedications() == null
+                    ? Collections.emptyList()
+                    : prescription.getMedications().stream()
+                        .map(med -> new PatientPrescriptionSummary.MedicationLine(
+                            med.getName() != null ? med.getName() : "",
+                            med.getDosage() != null ? med.getDosage() : "",
+                            med.getFrequency() != null ? med.getFrequency() : ""))
+                        .collect(Collectors.toList());
+                return new PatientPrescriptionSummary(patient.getId(), fullName, email, phone,
+                    prescription.getEffectiveStatus() != null ? prescription.getEffectiveStatus() : "",
+                    prescription.getId(), prescription.getPrescriptionDate(),
+                    prescription.getDiagnosis() != null ? prescription.getDiagnosis() : "",
+                    medications);
+            }
+        } catch (Exception e) {
+            // Log error and continue with next patient
+            log.warn("Error processing patient {}: {}", patient.getId(), e.getMessage());
+        }
+        return new PatientPrescriptionSummary(patient.getId(), fullName, email, phone, status,
+            null, null, null, null);
+    }
     
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public List<PrescriptionResponse> getDoctorPrescriptions(Long doctorId) {
         return prescriptionRepository.findByDoctorId(doctorId).stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.BULK)
     public List<PrescriptionResponse> getAllPrescriptions() {
         return prescriptionRepository.findAll().stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
     public PrescriptionResponse getPrescriptionById(Long id) {
         Prescription prescription = prescriptionRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Prescription not found with id: " + id));
@@ -228,6 +262,50 @@ public class PrescriptionService {
         
         // The CascadeType.ALL on medications will handle the deletion of related medications
         prescriptionRepository.delete(prescription);
+        auditService.record("delete", "prescription", id, "Deleted prescription " + id);
+        searchService.remove(ClinicalSearchService.TYPE_PRESCRIPTION, id);
+        publishChange("delete", prescription);
+    }
+    
+    private void publishChange(String action, Prescription prescription) {
+        eventPublisher.publishEvent(new EntityChangeEvent("prescription", action, prescription.getId(),
+            prescription.getPatient().getId(), prescription.getDoctor().getId(), null,
+            prescription.getStatus()));
+    }
+
+    // Warnings are advisory: the prescription is saved either way and the prescriber decides
+    private List<InteractionWarning> checkInteractions(Prescription prescription) {
+        List<String> names = prescription.getMedications().stream()
+            .map(PrescriptionMedication::getName)
+            .filter(Objects::nonNull)
+            .toList();
+        List<InteractionWarning> warnings = interactionService.check(
+            prescription.getPatient().getId(), prescription.getId(), names);
+        if (!warnings.isEmpty()) {
+            log.info("Prescription {} has {} drug interaction warning(s)", prescription.getId(), warnings.size());
+        }
+        return warnings;
+    }
+
+    private static boolean sameContent(PrescriptionMedication medication, PrescriptionRequest.MedicationDto dto) {
+        return Objects.equals(medication.getName(), dto.getName())
+            && Objects.equals(medication.getDosage(), dto.getDosage())
+            && Objects.equals(medication.getFrequency(), dto.getFrequency())
+            && (dto.getDuration() == null || Objects.equals(medication.getDuration(), dto.getDuration()))
+            && Objects.equals(medication.getInstructions(), dto.getInstructions());
+    }
+    
+    private void applyMedication(PrescriptionMedication medication, PrescriptionRequest.MedicationDto dto) {
+        if (medication.getMedication() == null || !Objects.equals(medication.getName(), dto.getName())) {
+            medication.setMedication(catalogService.resolve(dto.getName()));
+        }
+        medication.setName(dto.getName());
+        medication.setDosage(dto.getDosage());
+        medication.setFrequency(dto.getFrequency());
+        if (dto.getDuration() != null) {
+            medication.setDuration(dto.getDuration());
+        }
+        medication.setInstructions(dto.getInstructions());
     }
     
     private PrescriptionResponse convertToResponse(Prescription prescription) {
@@ -239,7 +317,7 @@ public class PrescriptionService {
         response.setNotes(prescription.getNotes());
         response.setValidUntil(prescription.getValidUntil());
         response.setPrescriptionDate(prescription.getPrescriptionDate());
-        response.setStatus(prescription.getStatus());
+        response.setStatus(prescription.getEffectiveStatus());
         
         // Set patient name if available
         if (prescription.getPatient() != null) {
@@ -260,6 +338,7 @@ public class PrescriptionService {
                     medResponse.setName(med.getName());
                     medResponse.setDosage(med.getDosage());
                     medResponse.setFrequency(med.getFrequency());
+                    medResponse.setDuration(med.getDuration());
                     medResponse.setInstructions(med.getInstructions());
                     return medResponse;
                 })
@@ -0,0 +1,190 @@
+package BackEnd.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Subset of the iCalendar RRULE grammar used for appointment series:
+ * {@code FREQ=DAILY|WEEKLY|MONTHLY}, {@code INTERVAL}, {@code COUNT},
+ * {@code UNTIL} (yyyyMMdd or yyyyMMdd'T'HHmmss) and, for weekly rules,
+ * {@code BYDAY=MO,WE,...}. Example: {@code FREQ=WEEKLY;INTERVAL=1;COUNT=52}.
+ *
+ * <p>Monthly rules keep the day of month of the first occurrence, clamped to
+ * the end of shorter months (the 31st becomes the 30th or 28th/29th).
+ * A rule without COUNT or UNTIL never ends on its own.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    // Largest COUNT accepted. Open-ended rules have no cap: each expansion stops at the
+    // end of the window asked for, so they run until UNTIL or until cancelled
+    public static final int MAX_COUNT = 1000;
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final List<DayOfWeek> byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, List<DayOfWeek> byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rule is malformed or unsupported
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        List<DayOfWeek> byDay = new ArrayList<>();
+        for (String part : text.split(";")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+            String name = pair[0].trim().toUpperCase(Locale.ROOT);
+            String value = pair[1].trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    case "UNTIL" -> until = parseUntil(value);
+                    case "BYDAY" -> {
+                        for (String day : value.split(",")) {
+                            DayOfWeek dayOfWeek = DAYS.get(day.trim());
+                            if (dayOfWeek == null) {
+                                throw new IllegalArgumentException("Invalid BYDAY value: " + day);
+                            }
+                            byDay.add(dayOfWeek);
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + pair[1]);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs FREQ");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("INTERVAL must be at least 1");
+        }
+        if (count != null && (count < 1 || count > MAX_COUNT)) {
+            throw new IllegalArgumentException("COUNT must be between 1 and " + MAX_COUNT);
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot both be set");
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        byDay.sort(Comparator.naturalOrder());
+        return new RecurrenceRule(frequency, interval, count, until, List.copyOf(new LinkedHashSet<>(byDay)));
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        if (value.length() == 8) {
+            // Date-only UNTIL includes the whole day
+            return LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE).atTime(23, 59, 59);
+        }
+        return LocalDateTime.parse(value.replace("Z", ""), DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss"));
+    }
+
+    /**
+     * Expands the rule from {@code start} and returns the occurrences that
+     * fall in {@code [from, to)}, paired with their 0-based position in the
+     * series so COUNT is honoured across several materialization windows.
+     */
+    public List<Occurrence> occurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        int index = 0;
+        for (int period = 0; ; period++) {
+            List<LocalDateTime> candidates = candidates(start, period);
+            if (candidates.isEmpty() || candidates.get(0).isAfter(limit(to))) {
+                break;
+            }
+            for (LocalDateTime candidate : candidates) {
+                if (candidate.isBefore(start)) {
+                    continue;
+                }
+                if ((count != null && index >= count) || (until != null && candidate.isAfter(until))
+                        || !candidate.isBefore(to)) {
+                    return occurrences;
+                }
+                if (!candidate.isBefore(from)) {
+                    occurrences.add(new Occurrence(index, candidate));
+                }
+                index++;
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * @return true if no occurrence can fall at or after {@code time}
+     */
+    public boolean endsBefore(LocalDateTime start, LocalDateTime time) {
+        if (until != null && until.isBefore(time)) {
+            return true;
+        }
+        // Ended if every occurrence COUNT allows already falls before time
+        return count != null && occurrences(start, start, time).size() >= count;
+    }
+
+    private LocalDateTime limit(LocalDateTime to) {
+        return until != null && until.isBefore(to) ? until : to;
+    }
+
+    private List<LocalDateTime> candidates(LocalDateTime start, int period) {
+        long step = (long) period * interval;
+        return switch (frequency) {
+            case DAILY -> List.of(start.plusDays(step));
+            // Always offset from the start so clamped month ends do not drift
+            case MONTHLY -> List.of(start.plusMonths(step));
+            case WEEKLY -> {
+                if (byDay.isEmpty()) {
+                    yield List.of(start.plusWeeks(step));
+                }
+                LocalDateTime weekStart = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(step);
+                List<LocalDateTime> days = new ArrayList<>(byDay.size());
+                for (DayOfWeek day : byDay) {
+                    days.add(weekStart.with(TemporalAdjusters.nextOrSame(day)));
+                }
+                yield days;
+            }
+        };
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public record Occurrence(int index, LocalDateTime dateTime) {}
+}
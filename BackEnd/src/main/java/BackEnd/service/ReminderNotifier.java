@@ -0,0 +1,19 @@
+package BackEnd.service;
+
+import BackEnd.dto.ReminderMessage;
+
+import java.util.List;
+
+/**
+ * Delivery channel for appointment reminders. Implementations receive
+ * reminders in batches and should send a batch over one connection where the
+ * transport allows it.
+ */
+public interface ReminderNotifier {
+
+    /**
+     * @return the reminders that could not be delivered; they are released
+     * for another attempt
+     */
+    List<ReminderMessage> send(List<ReminderMessage> batch);
+}
@@ -0,0 +1,173 @@
+package BackEnd.service;
+
+import BackEnd.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-collection change counters used as ETags for the read endpoints. A GET
+ * builds its ETag from the counters of every collection its body draws on and
+ * can answer {@code If-None-Match} with 304 before touching the database.
+ *
+ * <p>A change bumps the counter when it is flushed and again once the
+ * transaction completes. The first bump stops clients from keeping their
+ * cached copy while the write is in flight; the second makes sure an ETag
+ * handed out alongside pre-commit data is not reused for the committed
+ * state.
+ *
+ * <p>The counters are shared by all nodes through the resource_versions
+ * table in the shared database. Local changes count at once and are added to
+ * the shared row, and the other nodes' changes picked up, by a sync every
+ * {@code healthhub.etag.sync-ms}; so a write on another node retires this
+ * node's tags within about two sync intervals. Until a local change has been
+ * synced the tag carries this node's id and its unsynced count, so no other
+ * node can issue the same tag for different data. If syncing stops working
+ * for longer than {@code healthhub.etag.max-staleness-ms} every tag is unique
+ * and nothing is answered with 304.
+ *
+ * <p>Counters are shared by all clinics, so a write in one clinic also
+ * retires the others' tags; the tag itself names the clinic so one clinic's
+ * tag never validates another's cached body.
+ */
+@Service
+public class ResourceVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceVersionService.class);
+
+    public static final String USERS = "users";
+    public static final String DIET_PLANS = "diet_plans";
+    public static final String HEALTH_DATA = "health_data";
+    public static final String PRESCRIPTIONS = "prescriptions";
+    public static final String APPOINTMENTS = "appointments";
+
+    private static final String BUMP_SQL = "INSERT INTO resource_versions (collection, version) VALUES (?, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxStalenessNanos;
+    private final String node = Long.toString(System.currentTimeMillis(), 36);
+    // Local changes not yet added to the shared counters
+    private final Map<String, AtomicLong> unsynced = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> shared = Map.of();
+    // System.nanoTime() of the last successful sync; 0 until the first one
+    private volatile long syncedAt;
+    private final AtomicLong uniqueTags = new AtomicLong();
+
+    public ResourceVersionService(JdbcTemplate jdbcTemplate,
+                                  @Value("${healthhub.etag.max-staleness-ms:5000}") long maxStalenessMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMs);
+        // The first sync bumps everything: a node that died with changes still unsynced is covered by its restart
+        for (String collection : new String[] {USERS, DIET_PLANS, HEALTH_DATA, PRESCRIPTIONS, APPOINTMENTS}) {
+            counter(collection).set(1);
+        }
+    }
+
+    /**
+     * Records a change to a collection. Call this for writes that bypass the
+     * entity listener (bulk JPQL, JdbcTemplate).
+     */
+    public void changed(String collection) {
+        counter(collection).incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> collections = new HashSet<>();
+            pending = collections;
+            TransactionSynchronizationManager.bindResource(this, collections);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResourceVersionService.this);
+                    // Rolled back too: a tag issued mid-transaction may describe rows that never committed
+                    collections.forEach(name -> counter(name).incrementAndGet());
+                }
+            });
+        }
+        pending.add(collection);
+    }
+
+    /**
+     * Adds this node's changes to the shared counters, then reads everyone's.
+     * Local counts are only dropped once the shared versions that include
+     * them are in place, so a tag never goes back to describing older data.
+     */
+    @Scheduled(fixedDelayString = "${healthhub.etag.sync-ms:500}")
+    public void sync() {
+        // The counters live in the shared database whichever clinic wrote
+        TenantContext.runAs(null, () -> {
+            try {
+                Map<String, Long> published = new HashMap<>();
+                unsynced.forEach((collection, count) -> {
+                    long changes = count.get();
+                    if (changes > 0) {
+                        jdbcTemplate.update(BUMP_SQL, collection);
+                        published.put(collection, changes);
+                    }
+                });
+                Map<String, Long> versions = new HashMap<>();
+                jdbcTemplate.query("SELECT collection, version FROM resource_versions",
+                        (RowCallbackHandler) row -> versions.put(row.getString(1), row.getLong(2)));
+                shared = versions;
+                published.forEach((collection, changes) -> counter(collection).addAndGet(-changes));
+                syncedAt = System.nanoTime();
+            } catch (DataAccessException e) {
+                log.warn("Resource version sync failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Strong ETag over the given collections for the current clinic, e.g.
+     * {@code "default.12.4"}, or {@code "default.12.4~lq3k1x.0.1"} while this
+     * node has a change to the second collection that is not synced yet.
+     * Callers pass the same collections in the same order for a given URL.
+     */
+    public String etag(String... collections) {
+        StringBuilder tag = new StringBuilder("\"").append(TenantContext.currentOrDefault());
+        long synced = syncedAt;
+        if (synced == 0 || System.nanoTime() - synced > maxStalenessNanos) {
+            // Other nodes' writes may be missing from the counters: never validate a cached copy
+            return tag.append(".unsynced-").append(node).append('.').append(uniqueTags.incrementAndGet())
+                    .append('"').toString();
+        }
+        Map<String, Long> versions = shared;
+        long[] local = new long[collections.length];
+        boolean unsyncedChanges = false;
+        for (int i = 0; i < collections.length; i++) {
+            tag.append('.').append(versions.getOrDefault(collections[i], 0L));
+            local[i] = counter(collections[i]).get();
+            unsyncedChanges |= local[i] > 0;
+        }
+        if (unsyncedChanges) {
+            tag.append('~').append(node);
+            for (long changes : local) {
+                tag.append('.').append(changes);
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    private AtomicLong counter(String collection) {
+        return unsynced.computeIfAbsent(collection, name -> new AtomicLong());
+    }
+}
@@ -0,0 +1,89 @@
+package BackEnd.service;
+
+import BackEnd.model.User;
+import BackEnd.repository.UserRepository;
+import BackEnd.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Explicit eviction and statistics for the second-level cache regions holding
+ * {@link User} rows and the role lookup queries.
+ */
+@Service
+public class UserCacheService {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    @Autowired
+    public UserCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    // Drop a single user plus every cached role lookup, since a role or
+    // status change can move the user in or out of those result sets
+    public void evictUser(Long userId) {
+        if (userId != null) {
+            // Cache keys carry the tenant; evictEntityData(Class, id) builds one without it and would miss
+            EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(User.class);
+            EntityDataAccess access = persister.getCacheAccessStrategy();
+            if (access != null) {
+                access.evict(access.generateCacheKey(userId, persister, sessionFactory,
+                        TenantContext.currentOrDefault()));
+            }
+        }
+        evictRoleQueries();
+    }
+
+    public void evictAllUsers() {
+        sessionFactory.getCache().evictEntityData(User.class);
+        evictRoleQueries();
+    }
+
+    public void evictRoleQueries() {
+        sessionFactory.getCache().evictQueryRegion(UserRepository.ROLE_QUERY_REGION);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, toMap(region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("secondLevel", toMap(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), -1));
+        result.put("queries", toMap(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), -1));
+        result.put("regions", regions);
+        return result;
+    }
+
+    private Map<String, Object> toMap(long hits, long misses, long puts, long size) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", puts);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        if (size >= 0) {
+            stats.put("size", size);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,95 @@
+package BackEnd.service;
+
+import BackEnd.event.EntityChangeEvent;
+import BackEnd.exception.UserNotFoundException;
+import BackEnd.model.User;
+import BackEnd.repository.AppointmentRepository;
+import BackEnd.repository.AppointmentSeriesRepository;
+import BackEnd.repository.DietPlanRepository;
+import BackEnd.repository.HealthDataRepository;
+import BackEnd.repository.PrescriptionRepository;
+import BackEnd.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes users softly: the user and their appointments get a deleted_at
+ * and drop out of every query, their series stop and a dietitian's
+ * patients are unassigned, all in a handful of bulk statements whatever the
+ * user's history. {@link BackEnd.job.UserPurgeJob} removes the rows later.
+ * Health data belongs to the user alone and goes straight away, so it is
+ * never served for a deleted account.
+ *
+ * <p>Prescriptions and diet plans are clinical records and are never
+ * deleted with a user, so users who still have any cannot be deleted.
+ */
+@Service
+public class UserDeletionService {
+
+    private final UserRepository userRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentSeriesRepository seriesRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final DietPlanRepository dietPlanRepository;
+    private final HealthDataRepository healthDataRepository;
+    private final ClinicalSearchService searchService;
+    private final ResourceVersionService resourceVersions;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserDeletionService(UserRepository userRepository,
+                               AppointmentRepository appointmentRepository,
+                               AppointmentSeriesRepository seriesRepository,
+                               PrescriptionRepository prescriptionRepository,
+                               DietPlanRepository dietPlanRepository,
+                               HealthDataRepository healthDataRepository,
+                               ClinicalSearchService searchService,
+                               ResourceVersionService resourceVersions,
+                               ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.seriesRepository = seriesRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.dietPlanRepository = dietPlanRepository;
+        this.healthDataRepository = healthDataRepository;
+        this.searchService = searchService;
+        this.resourceVersions = resourceVersions;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return appointments hidden along with the user
+     * @throws UserNotFoundException if there is no such user, or it is already deleted
+     * @throws IllegalStateException if the user still has prescriptions or diet plans
+     */
+    @Transactional
+    public int delete(Long id) {
+        User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+        if (prescriptionRepository.existsByPatientIdOrDoctorId(id, id)
+                || dietPlanRepository.existsByPatientIdOrDietitianId(id, id)) {
+            throw new IllegalStateException("User " + id + " still has prescriptions or diet plans");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        user.setDeletedAt(now);
+        // Each bulk statement flushes the change above first
+        int hidden = appointmentRepository.hideForUser(id, now);
+        seriesRepository.cancelForUser(id);
+        userRepository.unassignDietitian(id, now);
+        List<Long> healthData = healthDataRepository.findIdsByUserId(id);
+        if (!healthData.isEmpty()) {
+            healthDataRepository.deleteByUserId(id);
+            healthData.forEach(healthDataId -> searchService.remove(ClinicalSearchService.TYPE_HEALTH_DATA, healthDataId));
+            resourceVersions.changed(ResourceVersionService.HEALTH_DATA);
+        }
+        if (hidden > 0) {
+            resourceVersions.changed(ResourceVersionService.APPOINTMENTS);
+        }
+        // One change for the user; consumers treat its hidden appointments as gone with it
+        eventPublisher.publishEvent(new EntityChangeEvent("user", "delete", id, null, null, null, user.getStatus()));
+        return hidden;
+    }
+}
@@ -0,0 +1,160 @@
+package BackEnd.service;
+
+import BackEnd.bulkhead.Bulkhead;
+import BackEnd.dto.UserSummary;
+import BackEnd.model.User;
+import BackEnd.repository.FieldProjection;
+import BackEnd.repository.FieldProjectionRepository;
+import BackEnd.repository.UserRepository;
+import BackEnd.repository.UserSpecifications;
+import BackEnd.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Filtered, keyset-paginated user listing for the admin and receptionist
+ * screens. Pages are ordered by id and continue from the last id seen, so
+ * page 1,000 costs the same as page one. The total is only counted for the
+ * first page of a filter and cached briefly; later pages reuse what the
+ * client already has. With a sparse fieldset only the requested columns are
+ * selected. Screens that show other records' people ask for just those ids
+ * instead of listing the directory.
+ */
+@Service
+public class UserDirectoryService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // Same properties as UserSummary, selectable one by one; the dietitian is only its id here
+    public static final FieldProjection<User> FIELDS = FieldProjection.of(User.class)
+            .field("fullName")
+            .field("email")
+            .field("role")
+            .field("phone")
+            .field("age")
+            .field("status")
+            .field("assignedDietitianId", "assignedDietitian.id")
+            .field("createdAt")
+            .field("updatedAt")
+            .build();
+
+    public record Filter(String role, String status, String query, List<Long> ids) {
+
+        public Filter {
+            role = normalize(role);
+            status = normalize(status);
+            query = query != null && !query.isBlank() ? query.trim() : null;
+            ids = ids != null && !ids.isEmpty() ? List.copyOf(new TreeSet<>(ids)) : null;
+            if (ids != null && ids.size() > MAX_LIMIT) {
+                throw new IllegalArgumentException("At most " + MAX_LIMIT + " ids per request");
+            }
+        }
+
+        private static String normalize(String value) {
+            return value != null && !value.isBlank() ? value.trim().toLowerCase(Locale.ROOT) : null;
+        }
+
+        String cacheKey() {
+            return role + '|' + status + '|' + (query != null ? query.toLowerCase(Locale.ROOT) : null) + '|' + ids;
+        }
+    }
+
+    /**
+     * @param nextAfterId pass back as {@code afterId} for the next page; null on the last page
+     * @param total       matching users, only computed for the first page
+     */
+    public record Page<T>(List<T> users, Long nextAfterId, Long total) {
+    }
+
+    private final UserRepository userRepository;
+    private final FieldProjectionRepository projections;
+    private final Cache<String, Long> totals;
+
+    public UserDirectoryService(UserRepository userRepository,
+                                FieldProjectionRepository projections,
+                                @Value("${healthhub.users.count-ttl-seconds:60}") long countTtlSeconds) {
+        this.userRepository = userRepository;
+        this.projections = projections;
+        this.totals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(countTtlSeconds))
+                .maximumSize(1_000)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
+    public Page<UserSummary> search(Filter filter, Long afterId, Integer limit) {
+        int size = size(limit);
+        Specification<User> spec = specification(filter);
+
+        // One extra row tells us whether there is a next page without counting; the
+        // dietitians are joined in rather than loaded one by one
+        List<User> rows = userRepository.findBy(pageSpec(spec, afterId),
+                query -> query.sortBy(Sort.by("id")).project("assignedDietitian").limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<UserSummary> users = rows.stream().limit(size).map(UserSummary::from).toList();
+        Long nextAfterId = hasMore ? users.get(users.size() - 1).id() : null;
+        return new Page<>(users, nextAfterId, total(filter, spec, afterId));
+    }
+
+    /**
+     * Same page as {@link #search(Filter, Long, Integer)}, selecting only
+     * {@code fields} (from {@link #FIELDS}) for each user.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.CLINICAL_READS)
+    public Page<Map<String, Object>> search(Filter filter, Long afterId, Integer limit, List<String> fields) {
+        int size = size(limit);
+        Specification<User> spec = specification(filter);
+
+        List<Map<String, Object>> rows = projections.findAll(FIELDS, fields, pageSpec(spec, afterId),
+                Sort.by("id"), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<Map<String, Object>> users = hasMore ? rows.subList(0, size) : rows;
+        Long nextAfterId = hasMore ? (Long) users.get(users.size() - 1).get(FieldProjection.ID) : null;
+        return new Page<>(users, nextAfterId, total(filter, spec, afterId));
+    }
+
+    private static int size(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static Specification<User> pageSpec(Specification<User> spec, Long afterId) {
+        return afterId != null ? spec.and(UserSpecifications.idAfter(afterId)) : spec;
+    }
+
+    private Long total(Filter filter, Specification<User> spec, Long afterId) {
+        return afterId == null
+                ? totals.get(TenantContext.currentOrDefault() + '|' + filter.cacheKey(), key -> userRepository.count(spec))
+                : null;
+    }
+
+    private static Specification<User> specification(Filter filter) {
+        Specification<User> spec = Specification.unrestricted();
+        if (filter.role() != null) {
+            spec = spec.and(UserSpecifications.hasRole(filter.role()));
+        }
+        if (filter.status() != null) {
+            spec = spec.and(UserSpecifications.hasStatus(filter.status()));
+        }
+        if (filter.query() != null) {
+            spec = spec.and(UserSpecifications.nameOrEmailStartsWith(filter.query()));
+        }
+        if (filter.ids() != null) {
+            spec = spec.and(UserSpecifications.idIn(filter.ids()));
+        }
+        return spec;
+    }
+}
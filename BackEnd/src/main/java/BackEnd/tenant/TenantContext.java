@@ -0,0 +1,80 @@
+package BackEnd.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The clinic (tenant) the current thread is working for. Set per request by
+ * {@link BackEnd.filter.TenantFilter}; background work that should only see
+ * one clinic wraps itself in {@link #callAs}. With no tenant set, Hibernate
+ * runs as the root tenant and sees every clinic in the shared database.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final int MAX_LENGTH = 64;
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    // Null outside a request and outside callAs/runAs
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static String currentOrDefault() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static void set(String tenant) {
+        if (!isValid(tenant)) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenant);
+        }
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callAs(String tenant, Supplier<T> work) {
+        String previous = CURRENT.get();
+        if (tenant != null) {
+            set(tenant);
+        } else {
+            CURRENT.remove();
+        }
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable work) {
+        callAs(tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Lowercase letters, digits, '-' and '_': the id ends up in SQL, cache keys and topic names
+    public static boolean isValid(String tenant) {
+        if (tenant == null || tenant.isEmpty() || tenant.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < tenant.length(); i++) {
+            char c = tenant.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package BackEnd.tenant;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Lets jobs and maintenance code reach every database the routing layer
+ * knows about: the shared one (as the root tenant, so all clinics in it are
+ * visible) and each dedicated clinic database (as that clinic).
+ */
+@Component
+public class TenantDatabases {
+
+    private final TenantRoutingDataSource routingDataSource;
+
+    public TenantDatabases(TenantRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    public boolean isDedicated(String tenant) {
+        return routingDataSource.isDedicated(tenant);
+    }
+
+    // The database a clinic's connections go to: its own id when dedicated, "shared" otherwise
+    public String databaseOf(String tenant) {
+        return routingDataSource.routeFor(tenant);
+    }
+
+    public Set<String> dedicatedTenants() {
+        return routingDataSource.getDedicatedTenants();
+    }
+
+    /**
+     * Runs {@code work} once per database, on the calling thread, with
+     * {@link TenantContext} set so connections route to that database. A
+     * failure in one database is rethrown after the others have run.
+     */
+    public void forEachDatabase(Runnable work) {
+        RuntimeException failure = null;
+        try {
+            TenantContext.runAs(null, work);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (String tenant : routingDataSource.getDedicatedTenants()) {
+            try {
+                TenantContext.runAs(tenant, work);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
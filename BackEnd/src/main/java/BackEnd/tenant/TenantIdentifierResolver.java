@@ -0,0 +1,31 @@
+package BackEnd.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Feeds {@link TenantContext} to Hibernate's {@code @TenantId} filtering.
+ * Threads without a tenant (schedulers, startup, flushers) get the root
+ * tenant, which Hibernate does not filter, so jobs keep working across
+ * every clinic in a database.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    public static final String ROOT_TENANT = "*";
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String tenant = TenantContext.current();
+        return tenant != null ? tenant : ROOT_TENANT;
+    }
+
+    // Spring binds sessions per transaction, and jobs switch tenant between transactions on one thread
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return ROOT_TENANT.equals(tenantId);
+    }
+}
@@ -0,0 +1,38 @@
+package BackEnd.tenant;
+
+import BackEnd.datasource.DatabaseEndpoint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code healthhub.tenants.dedicated.<tenant>.url/username/password}: clinics
+ * that live in their own database or schema instead of the shared one,
+ * optionally with {@code replicas[n].url/username/password} for reads.
+ */
+public class TenantProperties {
+
+    private Map<String, Dedicated> dedicated = new LinkedHashMap<>();
+
+    public Map<String, Dedicated> getDedicated() {
+        return dedicated;
+    }
+
+    public void setDedicated(Map<String, Dedicated> dedicated) {
+        this.dedicated = dedicated;
+    }
+
+    public static class Dedicated extends DatabaseEndpoint {
+        private List<DatabaseEndpoint> replicas = new ArrayList<>();
+
+        public List<DatabaseEndpoint> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<DatabaseEndpoint> replicas) {
+            this.replicas = replicas;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package BackEnd.tenant;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hands out connections to a tenant's dedicated database (or schema) when
+ * one is configured under {@code healthhub.tenants.dedicated.<tenant>}, and
+ * to the shared database otherwise. Moving a large clinic off the shared
+ * database is a configuration change: copy its rows over, add the entry,
+ * restart.
+ *
+ * <p>The choice is made when a connection is taken, i.e. at the start of a
+ * transaction, from {@link TenantContext}.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String SHARED = "shared";
+
+    private final Set<String> dedicatedTenants;
+
+    public TenantRoutingDataSource(DataSource shared, Map<String, DataSource> dedicated) {
+        Map<Object, Object> targets = new HashMap<>(dedicated);
+        targets.put(SHARED, shared);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shared);
+        setLenientFallback(false);
+        this.dedicatedTenants = Set.copyOf(dedicated.keySet());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return routeFor(TenantContext.current());
+    }
+
+    public String routeFor(String tenant) {
+        return tenant != null && dedicatedTenants.contains(tenant) ? tenant : SHARED;
+    }
+
+    public boolean isDedicated(String tenant) {
+        return tenant != null && dedicatedTenants.contains(tenant);
+    }
+
+    public Set<String> getDedicatedTenants() {
+        return dedicatedTenants;
+    }
+
+    // Picked up as the bean's destroy method: the routing layer owns its pools
+    public void close() throws Exception {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
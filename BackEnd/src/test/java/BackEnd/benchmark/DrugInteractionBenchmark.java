@@ -0,0 +1,91 @@
+package BackEnd.benchmark;
+
+import BackEnd.service.DrugInteractionIndex;
+import BackEnd.service.DrugInteractionIndex.Severity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full interaction check against a synthetic 10k-drug, 500k-pair
+ * dataset: a 5-medication prescription checked pairwise and against 10 drugs
+ * from the patient's other active prescriptions. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=BackEnd.benchmark.DrugInteractionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class DrugInteractionBenchmark {
+
+    private static final int DRUGS = 10_000;
+    private static final int PAIRS = 500_000;
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private DrugInteractionIndex index;
+    private String[] newMedications;
+    private String[] activeMedications;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        DrugInteractionIndex.Builder builder = DrugInteractionIndex.builder();
+        for (int i = 0; i < PAIRS; i++) {
+            int a = random.nextInt(DRUGS);
+            int b = random.nextInt(DRUGS);
+            if (a == b) {
+                b = (b + 1) % DRUGS;
+            }
+            builder.add("drug" + a, "drug" + b, SEVERITIES[random.nextInt(SEVERITIES.length)], "synthetic");
+        }
+        index = builder.build();
+
+        newMedications = new String[5];
+        for (int i = 0; i < newMedications.length; i++) {
+            newMedications[i] = "Drug" + random.nextInt(DRUGS) + " 500mg";
+        }
+        activeMedications = new String[10];
+        for (int i = 0; i < activeMedications.length; i++) {
+            activeMedications[i] = "drug" + random.nextInt(DRUGS);
+        }
+    }
+
+    @Benchmark
+    public void checkPrescription(Blackhole blackhole) {
+        int[] ids = new int[newMedications.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = index.drugId(newMedications[i]);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = i + 1; j < ids.length; j++) {
+                blackhole.consume(index.severity(ids[i], ids[j]));
+            }
+        }
+        for (String active : activeMedications) {
+            int existing = index.drugId(active);
+            for (int id : ids) {
+                blackhole.consume(index.severity(id, existing));
+            }
+        }
+    }
+
+    @Benchmark
+    public Severity singleLookup() {
+        return index.severity(index.drugId(newMedications[0]), index.drugId(activeMedications[0]));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DrugInteractionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package BackEnd.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old synchronous println logging with the async SLF4J pipeline
+ * under contention. The async case encodes with the logstash JSON encoder the
+ * application logs with (logback-spring.xml), writing to a file instead of
+ * stdout. Unlike production it never discards: discardingThreshold is 0 and
+ * producers block on a full queue, so the score is the rate at which events
+ * are actually encoded and written, not the rate at which they are dropped.
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=BackEnd.benchmark.LoggingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+
+    private PrintStream stdoutLike;
+    private LoggerContext loggerContext;
+    private org.slf4j.Logger asyncLogger;
+    private File printFile;
+    private File logFile;
+
+    private final Long appointmentId = 42L;
+    private final String status = "scheduled";
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        printFile = File.createTempFile("println-bench", ".log");
+        logFile = File.createTempFile("async-bench", ".log");
+
+        // System.out is a synchronized, line-flushing PrintStream
+        stdoutLike = new PrintStream(new FileOutputStream(printFile), true);
+
+        loggerContext = new LoggerContext();
+        // A standalone context has no MDC adapter, and every append would fail without one
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        // StructuredLogEncoder reads its settings from the Spring Environment, as under Spring Boot
+        loggerContext.putObject(Environment.class.getName(), new StandardEnvironment());
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setFormat("logstash");
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setIncludeCallerData(false);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(false);
+        async.addAppender(file);
+        async.start();
+
+        ch.qos.logback.classic.Logger logger = loggerContext.getLogger("BackEnd.benchmark");
+        logger.setAdditive(false);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.addAppender(async);
+        asyncLogger = logger;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stdoutLike.close();
+        loggerContext.stop();
+        printFile.delete();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void synchronousPrintln() {
+        stdoutLike.println("Updating status from " + status + " to completed for appointment " + appointmentId);
+    }
+
+    @Benchmark
+    public void asyncInfo() {
+        asyncLogger.info("Appointment {} status {} -> {}", appointmentId, status, "completed");
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        asyncLogger.debug("Appointment {} status {} -> {}", appointmentId, status, "completed");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
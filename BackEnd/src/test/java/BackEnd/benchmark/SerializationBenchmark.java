@@ -0,0 +1,150 @@
+package BackEnd.benchmark;
+
+import BackEnd.dto.UserListResponse;
+import BackEnd.dto.UserSummary;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a 1,000-user list response three ways: the old
+ * {@code HashMap<String,Object>} per row, an identity-tracked bean shaped
+ * like the old {@code @JsonIdentityInfo} entity, and the {@link UserSummary}
+ * records, the last both with and without Blackbird. {@code main} runs with
+ * the GC profiler, so the allocation rate (gc.alloc.rate.norm, bytes per
+ * operation) is reported next to throughput. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=BackEnd.benchmark.SerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class SerializationBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final OutputStream SINK = OutputStream.nullOutputStream();
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+    public static class TrackedUser {
+        public Long id;
+        public String fullName;
+        public String email;
+        public String role;
+        public String phone;
+        public Integer age;
+        public String status;
+        public LocalDateTime createdAt;
+        public LocalDateTime updatedAt;
+    }
+
+    private ObjectMapper plainMapper;
+    private ObjectMapper blackbirdMapper;
+    private Map<String, Object> mapPayload;
+    private Map<String, Object> trackedPayload;
+    private UserListResponse<UserSummary> recordPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plainMapper = newMapper();
+        blackbirdMapper = newMapper().registerModule(new BlackbirdModule());
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Map<String, Object>> rows = new ArrayList<>(USERS);
+        List<TrackedUser> tracked = new ArrayList<>(USERS);
+        List<UserSummary> summaries = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            long id = i + 1;
+            String name = "Patient Number " + i;
+            String email = "patient" + i + "@example.com";
+            String phone = "+1555" + (1_000_000 + i);
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", id);
+            row.put("fullName", name);
+            row.put("email", email);
+            row.put("role", "user");
+            row.put("phone", phone);
+            row.put("status", "active");
+            rows.add(row);
+
+            TrackedUser user = new TrackedUser();
+            user.id = id;
+            user.fullName = name;
+            user.email = email;
+            user.role = "user";
+            user.phone = phone;
+            user.age = 20 + i % 60;
+            user.status = "active";
+            user.createdAt = now;
+            user.updatedAt = now;
+            tracked.add(user);
+
+            summaries.add(new UserSummary(id, name, email, "user", phone, 20 + i % 60, "active", null, now, now));
+        }
+
+        mapPayload = new HashMap<>();
+        mapPayload.put("success", true);
+        mapPayload.put("users", rows);
+        trackedPayload = new HashMap<>();
+        trackedPayload.put("success", true);
+        trackedPayload.put("users", tracked);
+        recordPayload = new UserListResponse<>(true, summaries, null, (long) USERS);
+    }
+
+    private static ObjectMapper newMapper() {
+        // Same date handling Spring Boot applies to its shared mapper
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                // The shared sink must survive every call
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    @Benchmark
+    public void hashMapRows() throws IOException {
+        plainMapper.writeValue(SINK, mapPayload);
+    }
+
+    @Benchmark
+    public void identityTrackedBeans() throws IOException {
+        plainMapper.writeValue(SINK, trackedPayload);
+    }
+
+    @Benchmark
+    public void records() throws IOException {
+        plainMapper.writeValue(SINK, recordPayload);
+    }
+
+    @Benchmark
+    public void recordsBlackbird() throws IOException {
+        blackbirdMapper.writeValue(SINK, recordPayload);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SerializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
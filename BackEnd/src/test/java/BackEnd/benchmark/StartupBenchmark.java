@@ -0,0 +1,136 @@
+package BackEnd.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: launches the packaged application and measures from
+ * process start until it answers an HTTP request (any status; a pod that
+ * answers can take traffic). Three launches are compared: the plain jar, the
+ * faststart profile with AOT, and the same with the CDS archive. The jar must
+ * be built with {@code -Pfaststart}, which also produces the archive, and the
+ * database must be reachable as for a normal start. Run with:
+ * <pre>
+ * mvn -Pfaststart verify -DskipStartupBenchmark=false
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"default", "faststart", "faststart-cds"})
+    public String launch;
+
+    @Param("target/BackEnd-0.0.1-SNAPSHOT.jar")
+    public String jar;
+
+    @Param("target/cds")
+    public String cdsDir;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private Process process;
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new IllegalStateException("No response within " + TIMEOUT);
+    }
+
+    // Stopping the application is not part of the measurement
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String launchJar = jar;
+        if (launch.startsWith("faststart")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (launch.equals("faststart-cds")) {
+            Path extracted = Path.of(cdsDir);
+            if (!Files.exists(extracted.resolve("application.jsa"))) {
+                throw new IllegalStateException("No CDS archive in " + extracted + "; build with -Pfaststart");
+            }
+            command.add("-XX:SharedArchiveFile=" + extracted.resolve("application.jsa"));
+            launchJar = extracted.resolve(Path.of(jar).getFileName()).toString();
+        }
+        command.add("-jar");
+        command.add(launchJar);
+        command.add("--server.port=" + port);
+        if (launch.startsWith("faststart")) {
+            command.add("--spring.profiles.active=faststart");
+        }
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Optional arguments: the packaged jar, then the CDS directory
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName());
+        if (args.length > 0) {
+            options.param("jar", args[0]);
+        }
+        if (args.length > 1) {
+            options.param("cdsDir", args[1]);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package BackEnd.bulkhead;
+
+import BackEnd.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadAspectTest {
+
+	public static class Clinic {
+
+		final CountDownLatch exportStarted = new CountDownLatch(1);
+		final CountDownLatch finishExport = new CountDownLatch(1);
+		Clinic self;
+
+		@Bulkhead(Bulkhead.BULK)
+		public void export() throws InterruptedException {
+			exportStarted.countDown();
+			finishExport.await();
+		}
+
+		@Bulkhead(Bulkhead.BOOKING)
+		public String book() {
+			return "booked";
+		}
+
+		@Bulkhead(Bulkhead.BOOKING)
+		public String bookAndRead() {
+			return self.read();
+		}
+
+		@Bulkhead(Bulkhead.CLINICAL_READS)
+		public String read() {
+			return "read";
+		}
+	}
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private Clinic target;
+	private Clinic clinic;
+
+	@BeforeEach
+	void setUp() {
+		BulkheadProperties properties = new BulkheadProperties();
+		properties.getLimits().put(Bulkhead.BULK, limits(1, 50));
+		properties.getLimits().put(Bulkhead.BOOKING, limits(1, 50));
+		properties.getLimits().put(Bulkhead.CLINICAL_READS, limits(1, 50));
+		target = new Clinic();
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new BulkheadAspect(new BulkheadRegistry(properties, meterRegistry)));
+		clinic = factory.getProxy();
+		target.self = clinic;
+	}
+
+	@AfterEach
+	void tearDown() {
+		target.finishExport.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void bookingIsUnaffectedByAFullBulkBulkhead() throws Exception {
+		Future<?> export = executor.submit(() -> {
+			clinic.export();
+			return null;
+		});
+		assertThat(target.exportStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(clinic.book()).isEqualTo("booked");
+
+		assertThatThrownBy(clinic::export)
+				.isInstanceOf(BulkheadFullException.class)
+				.hasMessageContaining(Bulkhead.BULK);
+		assertThat(meterRegistry.get("bulkhead.rejected").tag("bulkhead", Bulkhead.BULK).counter().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.get("bulkhead.active").tag("bulkhead", Bulkhead.BULK).gauge().value())
+				.isEqualTo(1);
+
+		target.finishExport.countDown();
+		export.get(5, TimeUnit.SECONDS);
+		assertThat(meterRegistry.get("bulkhead.active").tag("bulkhead", Bulkhead.BULK).gauge().value())
+				.isZero();
+	}
+
+	@Test
+	void nestedCallRunsUnderTheOuterPermit() {
+		assertThat(clinic.bookAndRead()).isEqualTo("read");
+		assertThat(meterRegistry.get("bulkhead.wait").tag("bulkhead", Bulkhead.CLINICAL_READS).timer().count())
+				.isZero();
+	}
+
+	private static BulkheadProperties.Limits limits(int maxConcurrent, long maxWaitMs) {
+		BulkheadProperties.Limits limits = new BulkheadProperties.Limits();
+		limits.setMaxConcurrent(maxConcurrent);
+		limits.setMaxWaitMs(maxWaitMs);
+		return limits;
+	}
+}
@@ -0,0 +1,193 @@
+package BackEnd.datasource;
+
+import BackEnd.tenant.TenantRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded H2 databases stand in for a primary and its replica. They do
+ * not replicate, so the tests copy the heartbeat row by hand to play the
+ * replication stream, and each database holds a marker row naming itself.
+ * Transactions run through Hibernate's JpaTransactionManager, as in the app.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+	private JdbcTemplate primary;
+	private JdbcTemplate replicaDb;
+	private Replica replica;
+	private ReplicaMonitor monitor;
+	private JdbcTemplate jdbc;
+	private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource primaryDs = h2();
+		DriverManagerDataSource replicaDs = h2();
+		primary = new JdbcTemplate(primaryDs);
+		replicaDb = new JdbcTemplate(replicaDs);
+		primary.execute("CREATE TABLE marker (name VARCHAR(20))");
+		primary.update("INSERT INTO marker VALUES ('primary')");
+		replicaDb.execute("CREATE TABLE marker (name VARCHAR(20))");
+		replicaDb.update("INSERT INTO marker VALUES ('replica')");
+
+		replica = new Replica("shared-replica-1", replicaDs);
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(TenantRoutingDataSource.SHARED,
+				primaryDs, List.of(replica), new ReadYourWritesTracker(60_000));
+		routing.afterPropertiesSet();
+		TenantRoutingDataSource tenantRouting = new TenantRoutingDataSource(routing, Map.of());
+		tenantRouting.afterPropertiesSet();
+		monitor = new ReplicaMonitor(tenantRouting, new SimpleMeterRegistry(), 2_000);
+
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(tenantRouting);
+		entityManagerFactory = entityManagerFactory(dataSource);
+		JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+		jdbc = new JdbcTemplate(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		entityManagerFactory.destroy();
+	}
+
+	@Test
+	void readOnlyTransactionsUseCaughtUpReplica() {
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+
+		monitor.check();
+		replicateHeartbeat(0);
+		monitor.check();
+
+		assertThat(replica.getState()).isEqualTo(Replica.State.UP);
+		assertThat(readOnlyTarget()).isEqualTo("replica");
+		assertThat(readWrite.<String>execute(status -> marker())).isEqualTo("primary");
+		assertThat(jdbc.queryForObject("SELECT name FROM marker", String.class)).isEqualTo("primary");
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() {
+		monitor.check();
+		replicateHeartbeat(10_000);
+		monitor.check();
+
+		assertThat(replica.getState()).isEqualTo(Replica.State.LAGGING);
+		assertThat(replica.getLagMs()).isGreaterThanOrEqualTo(10_000);
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToPrimary() {
+		monitor.check();
+		replicateHeartbeat(0);
+		monitor.check();
+		replicaDb.execute("DROP TABLE replication_heartbeat");
+		monitor.check();
+
+		assertThat(replica.getState()).isEqualTo(Replica.State.DOWN);
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+	}
+
+	@Test
+	void writerReadsFromPrimaryUntilWindowPasses() {
+		monitor.check();
+		replicateHeartbeat(0);
+		monitor.check();
+
+		MockHttpServletResponse writeResponse = newRequest();
+		readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET name = 'primary'"));
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+		Cookie pin = writeResponse.getCookie(ReadYourWritesTracker.COOKIE);
+		assertThat(pin).isNotNull();
+
+		newRequest(pin);
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+
+		newRequest();
+		assertThat(readOnlyTarget()).isEqualTo("replica");
+
+		newRequest(new Cookie(ReadYourWritesTracker.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+		assertThat(readOnlyTarget()).isEqualTo("replica");
+	}
+
+	@Test
+	void readOnlyTransactionDoesNotPin() {
+		monitor.check();
+		replicateHeartbeat(0);
+		monitor.check();
+
+		MockHttpServletResponse response = newRequest();
+		assertThat(readOnlyTarget()).isEqualTo("replica");
+		assertThat(response.getCookie(ReadYourWritesTracker.COOKIE)).isNull();
+	}
+
+	private String readOnlyTarget() {
+		return readOnly.execute(status -> marker());
+	}
+
+	private String marker() {
+		return jdbc.queryForObject("SELECT name FROM marker", String.class);
+	}
+
+	// Copies the primary's heartbeat to the replica, as replication would, aged by lagMs
+	private void replicateHeartbeat(long lagMs) {
+		long beat = primary.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+		replicaDb.execute(ReplicaMonitor.CREATE_SQL);
+		replicaDb.update("DELETE FROM replication_heartbeat");
+		replicaDb.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beat - lagMs);
+	}
+
+	// A fresh request carrying the given cookies; returns its response
+	private static MockHttpServletResponse newRequest(Cookie... cookies) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		if (cookies.length > 0) {
+			request.setCookies(cookies);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+		return response;
+	}
+
+	// No entities: the tests only need Hibernate to run the transactions
+	private static LocalContainerEntityManagerFactoryBean entityManagerFactory(LazyConnectionDataSourceProxy dataSource) {
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setPackagesToScan(ReadWriteRoutingDataSourceTest.class.getPackageName());
+		Properties properties = new Properties();
+		properties.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+		properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+		factory.setJpaProperties(properties);
+		factory.afterPropertiesSet();
+		return factory;
+	}
+
+	private static DriverManagerDataSource h2() {
+		return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+	}
+}
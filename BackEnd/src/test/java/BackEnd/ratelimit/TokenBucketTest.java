@@ -0,0 +1,70 @@
+package BackEnd.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void allowsABurstOfCapacityThenRefillsOneTokenPerInterval() {
+		// 5 per 10 s: one token every 2 s
+		TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(10), 0);
+		for (int i = 0; i < 5; i++) {
+			assertThat(bucket.tryTake(0)).isZero();
+		}
+		assertThat(bucket.tryTake(0)).isEqualTo(2 * SECOND);
+		assertThat(bucket.tryTake(SECOND)).isEqualTo(SECOND);
+
+		assertThat(bucket.tryTake(2 * SECOND)).isZero();
+		assertThat(bucket.tryTake(2 * SECOND)).isPositive();
+	}
+
+	@Test
+	void idleBucketRefillsOnlyToCapacity() {
+		TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+		long later = 3_600 * SECOND;
+		for (int i = 0; i < 3; i++) {
+			assertThat(bucket.tryTake(later)).isZero();
+		}
+		assertThat(bucket.tryTake(later)).isPositive();
+	}
+
+	@Test
+	void concurrentTakersNeverExceedCapacity() throws Exception {
+		TokenBucket bucket = new TokenBucket(1_000, Duration.ofHours(1), 0);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Integer>> takers = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				takers.add(() -> {
+					int taken = 0;
+					for (int i = 0; i < 500; i++) {
+						if (bucket.tryTake(0) == 0) {
+							taken++;
+						}
+					}
+					return taken;
+				});
+			}
+			int total = 0;
+			for (Future<Integer> result : executor.invokeAll(takers)) {
+				total += result.get();
+			}
+			assertThat(total).isEqualTo(1_000);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package BackEnd.service;
+
+import BackEnd.dto.ReminderMessage;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailReminderNotifierTest {
+
+	@RegisterExtension
+	static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private EmailReminderNotifier notifier;
+
+	@BeforeEach
+	void setUp() {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+		notifier = new EmailReminderNotifier(mailSender, "reminders@healthhub.test");
+	}
+
+	@Test
+	void sendsWholeBatch() throws Exception {
+		LocalDateTime when = LocalDateTime.of(2030, 3, 4, 9, 30);
+		List<ReminderMessage> batch = List.of(
+				new ReminderMessage(1L, 60, "ann@example.com", "Ann", "Dr. Perera", "checkup", when),
+				new ReminderMessage(2L, 60, "bob@example.com", "Bob", "Dr. Perera", null, when.plusHours(1)),
+				new ReminderMessage(3L, 1440, "cara@example.com", "Cara", "Dr. Silva", "follow-up", when));
+
+		List<ReminderMessage> failed = notifier.send(batch);
+
+		assertThat(failed).isEmpty();
+		assertThat(smtp.waitForIncomingEmail(5000, 3)).isTrue();
+		MimeMessage[] received = smtp.getReceivedMessages();
+		assertThat(received).extracting(message -> message.getAllRecipients()[0].toString())
+				.containsExactlyInAnyOrder("ann@example.com", "bob@example.com", "cara@example.com");
+		assertThat(received[0].getSubject()).startsWith("Reminder:");
+	}
+
+	@Test
+	void skipsRemindersWithoutAddress() {
+		List<ReminderMessage> failed = notifier.send(List.of(
+				new ReminderMessage(4L, 60, null, "Dan", "Dr. Silva", "checkup", LocalDateTime.now().plusHours(1))));
+
+		assertThat(failed).isEmpty();
+		assertThat(smtp.getReceivedMessages()).isEmpty();
+	}
+
+	@Test
+	void reportsWholeBatchWhenServerIsUnreachable() {
+		JavaMailSenderImpl unreachable = new JavaMailSenderImpl();
+		unreachable.setHost("localhost");
+		unreachable.setPort(1);
+		EmailReminderNotifier offline = new EmailReminderNotifier(unreachable, "reminders@healthhub.test");
+		List<ReminderMessage> batch = List.of(
+				new ReminderMessage(5L, 60, "eve@example.com", "Eve", "Dr. Silva", "checkup", LocalDateTime.now().plusHours(1)));
+
+		assertThat(offline.send(batch)).hasSize(1);
+	}
+}
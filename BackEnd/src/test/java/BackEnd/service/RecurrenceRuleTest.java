@@ -0,0 +1,103 @@
+package BackEnd.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+	private static final LocalDateTime FAR = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+	@Test
+	void weeklyByDayExpandsEveryListedDayInOrder() {
+		// 2025-01-06 is a Monday
+		LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=FR,MO,WE;COUNT=5");
+
+		assertThat(dates(rule.occurrences(start, start, FAR))).containsExactly(
+				start, start.plusDays(2), start.plusDays(4), start.plusDays(7), start.plusDays(9));
+	}
+
+	@Test
+	void weeklyByDaySkipsDaysBeforeTheStartWithoutCountingThem() {
+		// Starts on a Wednesday: that week's Monday is not an occurrence and does not use up COUNT
+		LocalDateTime start = LocalDateTime.of(2025, 1, 8, 9, 0);
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=3");
+
+		List<RecurrenceRule.Occurrence> occurrences = rule.occurrences(start, start, FAR);
+		assertThat(dates(occurrences)).containsExactly(start, start.plusDays(5), start.plusDays(7));
+		assertThat(occurrences).extracting(RecurrenceRule.Occurrence::index).containsExactly(0, 1, 2);
+	}
+
+	@Test
+	void monthlyFromTheLastDayClampsToShorterMonthsWithoutDrifting() {
+		LocalDateTime start = LocalDateTime.of(2024, 1, 31, 10, 0);
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=5");
+
+		assertThat(dates(rule.occurrences(start, start, FAR))).containsExactly(
+				start,
+				LocalDateTime.of(2024, 2, 29, 10, 0),
+				LocalDateTime.of(2024, 3, 31, 10, 0),
+				LocalDateTime.of(2024, 4, 30, 10, 0),
+				LocalDateTime.of(2024, 5, 31, 10, 0));
+	}
+
+	@Test
+	void countIsHonouredAcrossMaterializationWindows() {
+		LocalDateTime start = LocalDateTime.of(2025, 3, 1, 8, 30);
+		LocalDateTime firstWindowEnd = start.plusDays(3);
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;COUNT=5");
+
+		List<RecurrenceRule.Occurrence> first = rule.occurrences(start, start, firstWindowEnd);
+		List<RecurrenceRule.Occurrence> second = rule.occurrences(start, firstWindowEnd, start.plusDays(30));
+
+		assertThat(first).extracting(RecurrenceRule.Occurrence::index).containsExactly(0, 1, 2);
+		assertThat(second).extracting(RecurrenceRule.Occurrence::index).containsExactly(3, 4);
+		assertThat(dates(second)).containsExactly(start.plusDays(3), start.plusDays(4));
+		assertThat(rule.endsBefore(start, firstWindowEnd)).isFalse();
+		assertThat(rule.endsBefore(start, start.plusDays(5))).isTrue();
+	}
+
+	@Test
+	void openEndedRuleKeepsGoingPastMaxCount() {
+		LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+		LocalDateTime from = start.plusYears(3);
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY");
+
+		List<RecurrenceRule.Occurrence> occurrences = rule.occurrences(start, from, from.plusWeeks(1));
+
+		assertThat(occurrences).hasSize(7);
+		assertThat(occurrences.get(0).index()).isEqualTo((int) ChronoUnit.DAYS.between(start, from))
+				.isGreaterThan(RecurrenceRule.MAX_COUNT);
+		assertThat(rule.endsBefore(start, from)).isFalse();
+	}
+
+	@Test
+	void untilIncludesTheWholeDay() {
+		LocalDateTime start = LocalDateTime.of(2025, 6, 2, 17, 0);
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;UNTIL=20250606");
+
+		assertThat(dates(rule.occurrences(start, start, FAR))).containsExactly(
+				start, start.plusDays(2), start.plusDays(4));
+		assertThat(rule.endsBefore(start, LocalDateTime.of(2025, 6, 7, 0, 0))).isTrue();
+	}
+
+	@Test
+	void rejectsCountAboveTheLimitAndByDayOnNonWeeklyRules() {
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=" + (RecurrenceRule.MAX_COUNT + 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=3;UNTIL=20250101"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static List<LocalDateTime> dates(List<RecurrenceRule.Occurrence> occurrences) {
+		return occurrences.stream().map(RecurrenceRule.Occurrence::dateTime).toList();
+	}
+}
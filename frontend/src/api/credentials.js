@@ -0,0 +1,18 @@
+import axios from 'axios';
+
+const API_ORIGIN = 'http://localhost:8080';
+
+// The API sets a short-lived cookie after a write so the next reads see it
+// (they stay on the primary database). It is a different origin, so every
+// call must opt in to sending cookies; this makes that the default.
+const nativeFetch = window.fetch.bind(window);
+
+window.fetch = (input, init = {}) => {
+  const url = input instanceof Request ? input.url : String(input);
+  if (url.startsWith(API_ORIGIN) && init.credentials === undefined) {
+    return nativeFetch(input, { ...init, credentials: 'include' });
+  }
+  return nativeFetch(input, init);
+};
+
+axios.defaults.withCredentials = true;
@@ -0,0 +1,56 @@
+const USERS_URL = 'http://localhost:8080/api/users';
+export const PAGE_SIZE = 50;
+// Server cap on limit and on ids per request
+const MAX_PAGE_SIZE = 500;
+
+async function getUsers(params, init) {
+  const response = await fetch(`${USERS_URL}?${params}`, init);
+  if (!response.ok) {
+    const errorText = await response.text();
+    throw new Error(`Failed to fetch users: ${response.status} ${errorText}`);
+  }
+  const data = await response.json();
+  if (data.success === false) {
+    throw new Error(data.message || 'Failed to load users');
+  }
+  return data;
+}
+
+// Loads one keyset page of users matching the filters ({ role, status, q }).
+// Pass the returned nextAfterId back as afterId for the next page; total is
+// only returned for the first page of a filter.
+export async function fetchUsersPage(filters = {}, { afterId = null, limit = PAGE_SIZE } = {}, init = {}) {
+  const params = new URLSearchParams({ limit });
+  Object.entries(filters).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== '') {
+      params.set(key, value);
+    }
+  });
+  if (afterId !== null) {
+    params.set('afterId', afterId);
+  }
+  const data = await getUsers(params, init);
+  return {
+    users: data.users || [],
+    nextAfterId: data.nextAfterId ?? null,
+    total: data.total ?? null,
+  };
+}
+
+// Number of users matching the filters, without loading them
+export async function countUsers(filters = {}, init = {}) {
+  const { total } = await fetchUsersPage(filters, { limit: 1 }, init);
+  return total ?? 0;
+}
+
+// Loads just the users with these ids, e.g. the people a list of records refers to
+export async function fetchUsersByIds(ids, init = {}) {
+  const unique = [...new Set(ids.filter(id => id !== undefined && id !== null && id !== '').map(String))];
+  const chunks = [];
+  for (let i = 0; i < unique.length; i += MAX_PAGE_SIZE) {
+    chunks.push(unique.slice(i, i + MAX_PAGE_SIZE));
+  }
+  const pages = await Promise.all(chunks.map(chunk =>
+    getUsers(new URLSearchParams({ ids: chunk.join(','), limit: chunk.length }), init)));
+  return pages.flatMap(data => data.users || []);
+}
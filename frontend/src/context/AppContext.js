@@ -1,4 +1,5 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
+import { fetchUsersPage, countUsers } from '../api/users';
 
 const AppContext = createContext();
 
@@ -18,8 +19,14 @@ export const AppProvider = ({ children }) => {
   // Notifications state
   const [notifications, setNotifications] = useState([]);
 
-  // Users data (fetched for admin)
+  // Users data (fetched for admin): the loaded pages of the current filter, and directory-wide counts
   const [users, setUsers] = useState([]);
+  const [usersFilters, setUsersFilters] = useState({});
+  const [usersNextAfterId, setUsersNextAfterId] = useState(null);
+  const [usersTotal, setUsersTotal] = useState(0);
+  const [userCounts, setUserCounts] = useState({
+    total: 0, active: 0, user: 0, doctor: 0, dietitian: 0, receptionist: 0, admin: 0,
+  });
 
   // Audit logs
   const [auditLogs, setAuditLogs] = useState([]);
@@ -354,37 +361,78 @@ export const AppProvider = ({ children }) => {
   };
 
   // User management (admin)
-  // Load all users (admin)
-  const fetchUsers = async () => {
+  const toListedUser = (u) => ({
+    id: u.id,
+    name: u.fullName,
+    email: u.email,
+    role: u.role,
+    phone: u.phone,
+    age: u.age,
+    status: u.status,
+    createdAt: u.createdAt ? new Date(u.createdAt) : null,
+  });
+
+  // Load the first page of users matching the filters ({ role, status, q }), replacing the list
+  const fetchUsers = async (filters = {}) => {
     try {
-      const res = await fetch('http://localhost:8080/api/users');
-      const data = await res.json();
-      if (data.success) {
-        const mapped = (data.users || []).map(u => ({
-          id: u.id,
-          name: u.fullName,
-          email: u.email,
-          role: u.role,
-          phone: u.phone,
-          age: u.age,
-          status: u.status,
-          createdAt: u.createdAt ? new Date(u.createdAt) : null,
-        }));
-        setUsers(mapped);
-        return mapped;
-      } else {
-        throw new Error(data.message || 'Failed to load users');
-      }
+      const page = await fetchUsersPage(filters);
+      const mapped = page.users.map(toListedUser);
+      setUsersFilters(filters);
+      setUsers(mapped);
+      setUsersNextAfterId(page.nextAfterId);
+      setUsersTotal(page.total ?? mapped.length);
+      return mapped;
     } catch (e) {
       console.error('Fetch users error:', e);
       throw e;
     }
   };
 
-  // Auto-load users when an admin signs in
+  // Append the next page of the current filter
+  const loadMoreUsers = async () => {
+    if (usersNextAfterId === null) {
+      return [];
+    }
+    try {
+      const page = await fetchUsersPage(usersFilters, { afterId: usersNextAfterId });
+      const mapped = page.users.map(toListedUser);
+      setUsers(prevUsers => [...prevUsers, ...mapped]);
+      setUsersNextAfterId(page.nextAfterId);
+      return mapped;
+    } catch (e) {
+      console.error('Load more users error:', e);
+      throw e;
+    }
+  };
+
+  // Directory-wide counts for the dashboard cards; the server caches each one briefly
+  const fetchUserCounts = async () => {
+    try {
+      const [total, active, patients, doctors, dietitians, receptionists, admins] = await Promise.all([
+        countUsers(),
+        countUsers({ status: 'active' }),
+        countUsers({ role: 'user' }),
+        countUsers({ role: 'doctor' }),
+        countUsers({ role: 'dietitian' }),
+        countUsers({ role: 'receptionist' }),
+        countUsers({ role: 'admin' }),
+      ]);
+      const counts = {
+        total, active, user: patients, doctor: doctors, dietitian: dietitians, receptionist: receptionists, admin: admins,
+      };
+      setUserCounts(counts);
+      return counts;
+    } catch (e) {
+      console.error('Fetch user counts error:', e);
+      throw e;
+    }
+  };
+
+  // Auto-load the first page and the counts when an admin signs in
   useEffect(() => {
     if (isAuthenticated && user?.role === 'admin') {
       fetchUsers().catch(() => {});
+      fetchUserCounts().catch(() => {});
     }
   }, [isAuthenticated, user?.role]);
 
@@ -625,6 +673,12 @@ export const AppProvider = ({ children }) => {
     
     // Users (admin)
     users,
+    usersTotal,
+    hasMoreUsers: usersNextAfterId !== null,
+    userCounts,
+    fetchUsers,
+    loadMoreUsers,
+    fetchUserCounts,
     createUser,
     updateUser,
     updateUserStatus,
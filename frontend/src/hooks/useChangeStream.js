@@ -0,0 +1,44 @@
+import { useEffect, useRef } from 'react';
+
+const STREAM_URL = 'http://localhost:8080/api/events/stream';
+
+// Subscribes to the backend change stream and calls onChange (debounced) when
+// a relevant record changes or the server asks the client to resync.
+// EventSource reconnects on its own after errors and server timeouts.
+export default function useChangeStream(params, onChange, { debounceMs = 500, enabled = true } = {}) {
+  const callbackRef = useRef(onChange);
+  callbackRef.current = onChange;
+
+  const query = new URLSearchParams(
+    Object.entries(params || {}).filter(([, value]) => value !== undefined && value !== null && value !== false)
+  ).toString();
+
+  useEffect(() => {
+    if (!enabled || !query || typeof EventSource === 'undefined') {
+      return undefined;
+    }
+
+    let timer = null;
+    const trigger = (event) => {
+      clearTimeout(timer);
+      timer = setTimeout(() => {
+        let data = null;
+        try {
+          data = event.data ? JSON.parse(event.data) : null;
+        } catch (e) {
+          data = null;
+        }
+        callbackRef.current(data, event.type);
+      }, debounceMs);
+    };
+
+    const source = new EventSource(`${STREAM_URL}?${query}`, { withCredentials: true });
+    source.addEventListener('change', trigger);
+    source.addEventListener('resync', trigger);
+
+    return () => {
+      clearTimeout(timer);
+      source.close();
+    };
+  }, [query, debounceMs, enabled]);
+}
@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { useApp } from '../context/AppContext';
 import Card from '../components/Card';
 import Button from '../components/Button';
@@ -6,11 +6,18 @@ import Table from '../components/Table';
 import Badge from '../components/Badge';
 import Modal from '../components/Modal';
 import Select from '../components/Select';
-import { Users, Shield, Trash2, Edit, Ban, CheckCircle, Download, Plus } from 'lucide-react';
+import Input from '../components/Input';
+import { Users, Shield, Trash2, Edit, Ban, CheckCircle, Download, Plus, Search } from 'lucide-react';
 import { toast } from 'react-toastify';
 
 const AdminDashboard = () => {
-  const { users, updateUserStatus, updateUserRole, deleteUser, createUser } = useApp();
+  const {
+    users, usersTotal, hasMoreUsers, userCounts, fetchUsers, loadMoreUsers, fetchUserCounts,
+    updateUserStatus, updateUserRole, deleteUser, createUser,
+  } = useApp();
+  const [searchTerm, setSearchTerm] = useState('');
+  const [roleFilter, setRoleFilter] = useState('');
+  const [loadingMore, setLoadingMore] = useState(false);
   const [selectedUser, setSelectedUser] = useState(null);
   const [showEditModal, setShowEditModal] = useState(false);
   const [showDeleteModal, setShowDeleteModal] = useState(false);
@@ -26,6 +33,27 @@ const AdminDashboard = () => {
     status: 'active'
   });
 
+  // The server filters and pages the list; wait for typing to pause before asking it
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      fetchUsers({ q: searchTerm.trim(), role: roleFilter }).catch(() => {
+        toast.error('Failed to load users');
+      });
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm, roleFilter]);
+
+  const handleLoadMore = async () => {
+    setLoadingMore(true);
+    try {
+      await loadMoreUsers();
+    } catch (error) {
+      toast.error('Failed to load more users');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleEditUser = (user) => {
     setSelectedUser(user);
     setEditForm({ role: user.role, status: user.status });
@@ -49,8 +77,9 @@ const AdminDashboard = () => {
     setSelectedUser(null);
   };
 
-  const confirmDelete = () => {
-    deleteUser(selectedUser.id);
+  const confirmDelete = async () => {
+    await deleteUser(selectedUser.id);
+    fetchUserCounts().catch(() => {});
     toast.success('User deleted successfully');
     setShowDeleteModal(false);
     setSelectedUser(null);
@@ -71,6 +100,7 @@ const AdminDashboard = () => {
       };
       
       await createUser(userData);
+      fetchUserCounts().catch(() => {});
       toast.success('User created successfully');
       setShowAddModal(false);
       setNewUser({
@@ -120,7 +150,10 @@ const AdminDashboard = () => {
       // Add report info
       doc.setFontSize(10);
       doc.text(`Generated on: ${new Date().toLocaleString()}`, margin, 35);
-      doc.text(`Total Users: ${users.length}`, margin, 40);
+      doc.text(`Total Users: ${userCounts.total}`, margin, 40);
+      if (users.length < userCounts.total) {
+        doc.text(`Listed below: the ${users.length} users loaded on screen`, margin, 45);
+      }
       
       // Add stats cards
       let yPos = 50;
@@ -134,13 +167,13 @@ const AdminDashboard = () => {
       doc.text('Total Users', margin + 10, yPos + 10);
       doc.setFontSize(18);
       doc.setFont('helvetica', 'bold');
-      doc.text(users.length.toString(), margin + 10, yPos + 22);
+      doc.text(userCounts.total.toString(), margin + 10, yPos + 22);
       
       doc.setFillColor(40, 167, 69);
       doc.roundedRect(margin * 2 + cardWidth, yPos, cardWidth, 30, 3, 3, 'F');
       doc.text('Active Users', margin * 2 + cardWidth + 10, yPos + 10);
       doc.setFontSize(18);
-      doc.text(users.filter(u => u.status === 'active').length.toString(), margin * 2 + cardWidth + 10, yPos + 22);
+      doc.text(userCounts.active.toString(), margin * 2 + cardWidth + 10, yPos + 22);
       
       // Second row of cards
       yPos += 40;
@@ -148,13 +181,13 @@ const AdminDashboard = () => {
       doc.roundedRect(margin, yPos, cardWidth, 30, 3, 3, 'F');
       doc.text('Doctors', margin + 10, yPos + 10);
       doc.setFontSize(18);
-      doc.text(users.filter(u => u.role === 'doctor').length.toString(), margin + 10, yPos + 22);
+      doc.text(userCounts.doctor.toString(), margin + 10, yPos + 22);
       
       doc.setFillColor(255, 193, 7);
       doc.roundedRect(margin * 2 + cardWidth, yPos, cardWidth, 30, 3, 3, 'F');
       doc.text('Dietitians', margin * 2 + cardWidth + 10, yPos + 10);
       doc.setFontSize(18);
-      doc.text(users.filter(u => u.role === 'dietitian').length.toString(), margin * 2 + cardWidth + 10, yPos + 22);
+      doc.text(userCounts.dietitian.toString(), margin * 2 + cardWidth + 10, yPos + 22);
       
       // Reset text color and position for table
       yPos += 50;
@@ -524,12 +557,12 @@ const AdminDashboard = () => {
   ];
 
   const stats = {
-    totalUsers: users.length,
-    activeUsers: users.filter(u => u.status === 'active').length,
-    doctors: users.filter(u => u.role === 'doctor').length,
-    dietitians: users.filter(u => u.role === 'dietitian').length,
-    receptionists: users.filter(u => u.role === 'receptionist').length,
-    admins: users.filter(u => u.role === 'admin').length,
+    totalUsers: userCounts.total,
+    activeUsers: userCounts.active,
+    doctors: userCounts.doctor,
+    dietitians: userCounts.dietitian,
+    receptionists: userCounts.receptionist,
+    admins: userCounts.admin,
   };
 
   return (
@@ -678,7 +711,35 @@ const AdminDashboard = () => {
             Add User
           </Button>
         </div>
+        <div className="flex flex-col sm:flex-row gap-4">
+          <Input
+            name="userSearch"
+            value={searchTerm}
+            onChange={(e) => setSearchTerm(e.target.value)}
+            placeholder="Search by name or email"
+            icon={Search}
+            className="flex-1"
+          />
+          <Select
+            name="roleFilter"
+            value={roleFilter}
+            onChange={(e) => setRoleFilter(e.target.value)}
+            options={roleOptions}
+            placeholder="All roles"
+            className="sm:w-56"
+          />
+        </div>
         <Table columns={columns} data={users} />
+        <div className="flex justify-between items-center mt-4">
+          <p className="text-sm text-gray-500">
+            Showing {users.length} of {usersTotal} users
+          </p>
+          {hasMoreUsers && (
+            <Button size="sm" variant="secondary" onClick={handleLoadMore} disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </Button>
+          )}
+        </div>
       </Card>
 
       {/* Edit User Modal */}
@@ -11,7 +11,7 @@ import autoTable from 'jspdf-autotable';
 import { toast } from 'react-toastify';
 
 const Dashboard = () => {
-  const { user, users, notifications, appointments, dietPlans, reports } = useApp();
+  const { user, userCounts, notifications, appointments, dietPlans, reports } = useApp();
   const navigate = useNavigate();
   const [healthData, setHealthData] = useState([]);
   const [searchTerm, setSearchTerm] = useState('');
@@ -695,7 +695,7 @@ const Dashboard = () => {
             <div>
               <p className="text-sm text-gray-600">Patients</p>
               <p className="text-2xl font-bold text-gray-900">
-                {users.filter(u => u.role === 'user').length}
+                {userCounts.user}
               </p>
             </div>
           </div>
@@ -750,7 +750,7 @@ const Dashboard = () => {
             <div>
               <p className="text-sm text-gray-600">Patients</p>
               <p className="text-2xl font-bold text-gray-900">
-                {users.filter(u => u.role === 'user').length}
+                {userCounts.user}
               </p>
             </div>
           </div>
@@ -38,7 +38,7 @@ const ScheduleCheckup = () => {
   useEffect(() => {
     const fetchDoctors = async () => {
       try {
-        const response = await fetch('http://localhost:8080/api/users');
+        const response = await fetch('http://localhost:8080/api/users?role=doctor&limit=500');
         const data = await response.json();
         if (data.success) {
           // Filter users to only include those with role 'doctor'
@@ -1,5 +1,7 @@
 import React, { useState, useEffect, useMemo, useCallback } from 'react';
 import { useApp } from '../../context/AppContext';
+import useChangeStream from '../../hooks/useChangeStream';
+import { fetchUsersByIds, fetchUsersPage } from '../../api/users';
 import { format, parseISO } from 'date-fns';
 import { Search, Calendar, Clock, User, Phone, Mail, Filter, Plus, Edit, Trash2, Check, X, RefreshCw, Eye, Download } from 'lucide-react';
 import { toast } from 'react-toastify';
@@ -19,7 +21,8 @@ const AppointmentManagement = () => {
   // State for managing appointments, filters, and UI
   const [appointments, setAppointments] = useState([]);
   const [generatingReport, setGeneratingReport] = useState(false);
-  const [users, setUsers] = useState(new Map()); // Map of all users by ID
+  const [users, setUsers] = useState(new Map()); // Map of the users on screen, by ID
+  const [patientSearch, setPatientSearch] = useState('');
   const [patients, setPatients] = useState([]);
   const [doctors, setDoctors] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -32,6 +35,15 @@ const AppointmentManagement = () => {
   const [isEditing, setIsEditing] = useState(false);
   const [isDeleting, setIsDeleting] = useState(false);
 
+  const usersRequestInit = () => ({
+    method: 'GET',
+    headers: {
+      'Content-Type': 'application/json',
+      'Authorization': `Bearer ${localStorage.getItem('token')}`
+    },
+    credentials: 'include'
+  });
+
   // Fetch appointments from the backend
   const fetchAppointments = useCallback(async () => {
     console.log('Fetching appointments...');
@@ -69,29 +81,18 @@ const AppointmentManagement = () => {
       setAppointments(appointmentsList);
       console.log(`Successfully loaded ${appointmentsList.length} appointments`);
       
-      // Now fetch users to get patient and doctor information
+      // Now fetch just the patients and doctors these appointments refer to,
+      // plus the first page of doctors for the form; patients are searched
       try {
-        const token = localStorage.getItem('token');
-        const usersResponse = await fetch('http://localhost:8080/api/users', {
-          method: 'GET',
-          headers: {
-            'Content-Type': 'application/json',
-            'Authorization': `Bearer ${token}`
-          },
-          credentials: 'include'
-        });
-        
-        if (!usersResponse.ok) {
-          const errorText = await usersResponse.text();
-          console.error('Failed to fetch users:', usersResponse.status, errorText);
-          throw new Error(`Failed to fetch users: ${usersResponse.status} ${errorText}`);
-        }
-        
-        const responseData = await usersResponse.json();
-        console.log('Users data:', responseData);
-        
-        // Handle the response format from the backend
-        const usersList = responseData.users || [];
+        const referencedIds = appointmentsList.flatMap(appt => [
+          appt.patientId || appt.patient?.id,
+          appt.doctorId || appt.doctor?.id,
+        ]);
+        const [referenced, doctorPage] = await Promise.all([
+          fetchUsersByIds(referencedIds, usersRequestInit()),
+          fetchUsersPage({ role: 'doctor' }, { limit: 100 }, usersRequestInit()),
+        ]);
+        const usersList = [...referenced, ...doctorPage.users];
         
         // Map of user IDs to user objects for quick lookup
         const usersMap = new Map();
@@ -100,13 +101,14 @@ const AppointmentManagement = () => {
             usersMap.set(String(user.id), user);
           }
         });
+        const uniqueUsers = [...usersMap.values()];
         
         // Filter users by role
-        const patientsList = usersList.filter(u => 
+        const patientsList = uniqueUsers.filter(u => 
           u.role && ['user', 'patient', 'USER', 'PATIENT'].includes(u.role)
         );
         
-        const doctorsList = usersList.filter(u => 
+        const doctorsList = uniqueUsers.filter(u => 
           u.role && ['doctor', 'DOCTOR'].includes(u.role)
         );
         
@@ -129,6 +131,26 @@ const AppointmentManagement = () => {
     }
   }, [user?.id]);
 
+  // Patients matching the search box are added to the form's choices
+  useEffect(() => {
+    const query = patientSearch.trim();
+    if (!query) {
+      return undefined;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const page = await fetchUsersPage({ role: 'user', q: query }, { limit: 20 }, usersRequestInit());
+        setPatients(prev => {
+          const known = new Set(prev.map(p => String(p.id)));
+          return [...prev, ...page.users.filter(p => !known.has(String(p.id)))];
+        });
+      } catch (error) {
+        console.error('Error searching patients:', error);
+      }
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [patientSearch]);
+
   // Fetch data on component mount
   useEffect(() => {
     const fetchData = async () => {
@@ -143,6 +165,18 @@ const AppointmentManagement = () => {
     
     fetchData();
   }, [user?.id]); // Only depend on user.id
+
+  // Re-fetch when an appointment this viewer can see changes instead of polling.
+  // Doctors and patients only hear about their own; the front desk hears about
+  // every appointment, but not about prescriptions or diet plans.
+  const appointmentStream = user?.role === 'doctor' ? { doctorId: user.id }
+    : user?.role === 'user' ? { patientId: user.id }
+    : { entity: 'appointment,appointment_series' };
+  useChangeStream(appointmentStream, (change) => {
+    if (!change || change.entity === 'appointment' || change.entity === 'appointment_series') {
+      fetchAppointments();
+    }
+  }, { enabled: !!user?.id });
   
   // Create a new appointment
   const createAppointment = async (appointmentData) => {
@@ -1517,6 +1551,12 @@ const AppointmentManagement = () => {
                   <label className="block text-sm font-medium text-gray-700 dark:text-gray-300 mb-1">
                     Select Patient *
                   </label>
+                  <Input
+                    value={patientSearch}
+                    onChange={(e) => setPatientSearch(e.target.value)}
+                    placeholder="Search patients by name or email"
+                    icon={Search}
+                  />
                   <Select
                     value={selectedAppointment.patientId || ''}
                     onChange={(e) => {
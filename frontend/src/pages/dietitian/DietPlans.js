@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useCallback } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
 import { 
   FaPlus, 
@@ -23,11 +23,14 @@ import {
   FaChartLine
 } from 'react-icons/fa';
 import ViewDietPlan from './components/ViewDietPlan';
+import { useApp } from '../../context/AppContext';
+import useChangeStream from '../../hooks/useChangeStream';
 import { ToastContainer, toast } from 'react-toastify';
 import 'react-toastify/dist/ReactToastify.css';
 
 const DietPlans = () => {
   const navigate = useNavigate();
+  const { user } = useApp();
   const [showCreateForm, setShowCreateForm] = useState(false);
   const [loading, setLoading] = useState(false);
   const [patients, setPatients] = useState([]);
@@ -62,7 +65,7 @@ const DietPlans = () => {
     const fetchPatients = async () => {
       try {
         // Fetch users from the backend API
-        const response = await fetch('http://localhost:8080/api/users');
+        const response = await fetch('http://localhost:8080/api/users?role=user&limit=500');
         if (!response.ok) {
           throw new Error(`HTTP error! status: ${response.status}`);
         }
@@ -255,53 +258,61 @@ const DietPlans = () => {
   };
 
   // Fetch diet plans from API
-  useEffect(() => {
-    const fetchDietPlans = async () => {
-      try {
-        // Get the current user (dietitian) from localStorage
-        const currentUser = JSON.parse(localStorage.getItem('user'));
-        if (!currentUser || !currentUser.id) {
-          throw new Error('User not authenticated');
-        }
+  const fetchDietPlans = useCallback(async () => {
+    try {
+      // Get the current user (dietitian) from localStorage
+      const currentUser = JSON.parse(localStorage.getItem('user'));
+      if (!currentUser || !currentUser.id) {
+        throw new Error('User not authenticated');
+      }
 
-        // Fetch plans for the current dietitian
-        const response = await fetch(`http://localhost:8080/api/diet-plans/dietitian/${currentUser.id}`);
+      // Fetch plans for the current dietitian
+      const response = await fetch(`http://localhost:8080/api/diet-plans/dietitian/${currentUser.id}`);
 
-        if (!response.ok) {
-          throw new Error(`HTTP error! status: ${response.status}`);
-        }
+      if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+      }
 
-        const result = await response.json();
-        const data = result.data || []; // Extract data from the response
-        
-        // Transform the API response to match the expected format
-        const formattedPlans = data.map(plan => ({
-          id: plan.id,
-          title: plan.title,
-          patient: plan.patientName || `Patient ${plan.patientId}`,
-          created: plan.createdAt || new Date().toISOString(),
-          status: plan.status || 'Draft',
-          calories: plan.dailyCalories || 0,
-          protein: plan.protein || 0,
-          carbs: plan.carbs || 0,
-          fat: plan.fat || 0,
-          description: plan.description || '',
-          patientId: plan.patientId
-        }));
+      const result = await response.json();
+      const data = result.data || []; // Extract data from the response
+      
+      // Transform the API response to match the expected format
+      const formattedPlans = data.map(plan => ({
+        id: plan.id,
+        title: plan.title,
+        patient: plan.patientName || `Patient ${plan.patientId}`,
+        created: plan.createdAt || new Date().toISOString(),
+        status: plan.status || 'Draft',
+        calories: plan.dailyCalories || 0,
+        protein: plan.protein || 0,
+        carbs: plan.carbs || 0,
+        fat: plan.fat || 0,
+        description: plan.description || '',
+        patientId: plan.patientId
+      }));
 
-        setPlans(formattedPlans);
-        setError(null);
-      } catch (err) {
-        console.error('Error fetching diet plans:', err);
-        setError('Failed to load diet plans. Please try again later.');
-        toast.error('Failed to load diet plans');
-      } finally {
-        setIsLoading(false);
-      }
-    };
+      setPlans(formattedPlans);
+      setError(null);
+    } catch (err) {
+      console.error('Error fetching diet plans:', err);
+      setError('Failed to load diet plans. Please try again later.');
+      toast.error('Failed to load diet plans');
+    } finally {
+      setIsLoading(false);
+    }
+  }, []);
 
+  useEffect(() => {
     fetchDietPlans();
-  }, []);
+  }, [fetchDietPlans]);
+
+  // Re-fetch when one of this dietitian's plans changes, e.g. a plan another
+  // session created or deleted, instead of waiting for a reload
+  useChangeStream({ dietitianId: user?.id }, (change) => {
+    if (!change || change.entity === 'diet_plan') {
+      fetchDietPlans();
+    }
+  }, { enabled: !!user?.id });
 
 
   const filteredPlans = plans.filter(plan => {
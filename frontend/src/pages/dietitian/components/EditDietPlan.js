@@ -55,7 +55,7 @@ const EditDietPlan = () => {
       try {
         // Fetch patients first
         console.log('Fetching patients...');
-        const patientsResponse = await fetch('http://localhost:8080/api/users?role=user');
+        const patientsResponse = await fetch('http://localhost:8080/api/users?role=user&limit=500');
         if (!patientsResponse.ok) {
           const errorText = await patientsResponse.text();
           console.error('Failed to fetch patients:', patientsResponse.status, errorText);
@@ -36,6 +36,9 @@ const PrescriptionForm = ({ isEditing = false, initialData = null, onSave, onCan
   const [showPatientDropdown, setShowPatientDropdown] = useState(false);
   const [isLoadingPatients, setIsLoadingPatients] = useState(false);
   
+  // Medication name suggestions from the catalog autocomplete endpoint
+  const [medicationSuggestions, setMedicationSuggestions] = useState([]);
+  
   // Fetch patients who have had appointments with the current doctor
   useEffect(() => {
     const fetchPatients = async () => {
@@ -186,6 +189,29 @@ const PrescriptionForm = ({ isEditing = false, initialData = null, onSave, onCan
       ...prev,
       medications: updatedMedications
     }));
+    
+    if (field === 'name') {
+      fetchMedicationSuggestions(value);
+    }
+  };
+
+  // Fetch catalog suggestions for a medication name prefix
+  const fetchMedicationSuggestions = async (prefix) => {
+    if (!prefix || prefix.trim().length < 2) {
+      setMedicationSuggestions([]);
+      return;
+    }
+    try {
+      const response = await fetch(
+        `${API_URL}/medications/autocomplete?q=${encodeURIComponent(prefix)}&limit=8`
+      );
+      if (response.ok) {
+        setMedicationSuggestions(await response.json());
+      }
+    } catch (error) {
+      // Suggestions are optional; the field still accepts free text
+      setMedicationSuggestions([]);
+    }
   };
 
   // Add a new medication field
@@ -554,12 +580,18 @@ const PrescriptionForm = ({ isEditing = false, initialData = null, onSave, onCan
                           <input
                             type="text"
                             value={medication.name}
+                            list={`medication-suggestions-${index}`}
                             onChange={(e) => handleMedicationChange(index, 'name', e.target.value)}
                             className={`shadow-sm focus:ring-blue-500 focus:border-blue-500 block w-full sm:text-sm border-gray-300 rounded-md ${
                               errors[`medication-${index}-name`] ? 'border-red-300' : ''
                             }`}
                             placeholder="e.g., Amoxicillin, Ibuprofen"
                           />
+                          <datalist id={`medication-suggestions-${index}`}>
+                            {medicationSuggestions.map(suggestion => (
+                              <option key={suggestion.id} value={suggestion.name} />
+                            ))}
+                          </datalist>
                           {errors[`medication-${index}-name`] && (
                             <p className="mt-1 text-sm text-red-600">{errors[`medication-${index}-name`]}</p>
                           )}
@@ -16,7 +16,7 @@ export default function Doctors() {
     const fetchDoctors = async () => {
       try {
         const token = localStorage.getItem('token');
-        const response = await fetch('http://localhost:8080/api/users', {
+        const response = await fetch('http://localhost:8080/api/users?role=doctor&limit=500', {
           headers: {
             'Authorization': `Bearer ${token}`,
             'Content-Type': 'application/json'